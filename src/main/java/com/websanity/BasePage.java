@@ -1,14 +1,31 @@
 package com.websanity;
 
+import com.microsoft.playwright.Frame;
+import com.microsoft.playwright.Locator;
 import com.microsoft.playwright.Page;
+import com.microsoft.playwright.PlaywrightException;
+import com.microsoft.playwright.Response;
+import com.microsoft.playwright.TimeoutError;
+import com.microsoft.playwright.options.LoadState;
+import com.microsoft.playwright.options.WaitForSelectorState;
+import com.websanity.utils.AdaptiveTimeouts;
+import com.websanity.utils.FrameNetworkTracker;
+import com.websanity.utils.SelectOptions;
+import com.websanity.utils.TestTimings;
 import lombok.extern.slf4j.Slf4j;
 
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Consumer;
+import java.util.function.Function;
 
 /**
  * Base Page Object class with common page methods
+ *
+ * Page objects never sleep for a fixed time - they wait for a condition with a deadline instead:
+ * a network response, a locator state, a JS predicate, a frame navigation, an idle frame or a refreshed set of rows.
+ * The time spent in these waits is booked per page object method (see TestTimings).
  */
 @Slf4j
 public abstract class BasePage {
@@ -21,9 +38,18 @@ public abstract class BasePage {
 
     public void navigate(String url) {
         // Use DOMCONTENTLOADED wait state - works better with redirects and automation masking
-        page.navigate(url, new Page.NavigateOptions()
+        // Timeout is learned per environment from previous navigations to the same path (see AdaptiveTimeouts)
+        AdaptiveTimeouts.run("navigate:" + getPath(url), 60000, timeoutMs -> page.navigate(url, new Page.NavigateOptions()
                 .setWaitUntil(com.microsoft.playwright.options.WaitUntilState.DOMCONTENTLOADED)
-                .setTimeout(60000));
+                .setTimeout(timeoutMs)));
+    }
+
+    private static String getPath(String url) {
+        try {
+            return java.net.URI.create(url).getPath();
+        } catch (IllegalArgumentException e) {
+            return url;
+        }
     }
 
     public String getTitle() {
@@ -36,8 +62,8 @@ public abstract class BasePage {
 
     public void refreshPage() {
         log.info("Refreshing page");
+        // reload() returns after the load event, i.e. including all frames of a frameset
         page.reload();
-        page.waitForTimeout(2000);
     }
 
     public void waitForPageLoad() {
@@ -48,6 +74,196 @@ public abstract class BasePage {
         page.screenshot(new Page.ScreenshotOptions().setPath(java.nio.file.Paths.get(path)));
     }
 
+    /**
+     * Select the option of an enum constant from the cached option list of the select box (see SelectOptions)
+     * @param option value or label of the constant's option (e.g. Country::getCode)
+     */
+    protected <E extends Enum<E>> void selectEnumOption(Locator select, E constant, Function<E, String> option) {
+        SelectOptions.select(select, constant, option);
+    }
+
+    /**
+     * @param notOptions sentinel constants that are not options of this select box (e.g. Country.ALL_COUNTRIES),
+     *                   left out of the enum drift check
+     */
+    protected <E extends Enum<E>> void selectEnumOption(Locator select, E constant, Function<E, String> option, Set<E> notOptions) {
+        SelectOptions.select(select, constant, option, notOptions);
+    }
+
+    // ===== Condition-based waits =====
+
+    /**
+     * Default deadline of the condition-based waits
+     */
+    protected static final double DEFAULT_WAIT_TIMEOUT_MS = 30000;
+
+    /**
+     * Run an action and wait for a response whose URL matches the glob (e.g. "**&#47;findUsers*")
+     */
+    protected Response waitForResponse(String urlPattern, Runnable action) {
+        return waitForResponse(urlPattern, DEFAULT_WAIT_TIMEOUT_MS, action);
+    }
+
+    protected Response waitForResponse(String urlPattern, double timeoutMs, Runnable action) {
+        return TestTimings.measureWait(() ->
+                page.waitForResponse(urlPattern, new Page.WaitForResponseOptions().setTimeout(timeoutMs), action));
+    }
+
+    /**
+     * Wait for a locator to be attached/detached/visible/hidden
+     */
+    protected void waitForState(Locator locator, WaitForSelectorState state) {
+        waitForState(locator, state, DEFAULT_WAIT_TIMEOUT_MS);
+    }
+
+    protected void waitForState(Locator locator, WaitForSelectorState state, double timeoutMs) {
+        TestTimings.measureWait(() -> locator.waitFor(new Locator.WaitForOptions().setState(state).setTimeout(timeoutMs)));
+    }
+
+    /**
+     * Wait for a JS predicate (e.g. "() => document.readyState === 'complete'") to become truthy
+     * @param frameName frame to evaluate in (e.g. "text"), or null for the main frame
+     */
+    protected void waitForJs(String frameName, String jsPredicate) {
+        waitForJs(frameName, jsPredicate, DEFAULT_WAIT_TIMEOUT_MS);
+    }
+
+    protected void waitForJs(String frameName, String jsPredicate, double timeoutMs) {
+        Frame frame = frameName == null ? page.mainFrame() : page.frame(frameName);
+        if (frame == null) {
+            throw new IllegalStateException("Frame '" + frameName + "' not found on " + page.url());
+        }
+        TestTimings.measureWait(() -> frame.waitForFunction(jsPredicate, null, new Frame.WaitForFunctionOptions().setTimeout(timeoutMs)));
+    }
+
+    /**
+     * Run an action and wait until the named frame navigated and its DOM is loaded
+     * (teleadmin forms submit into frame[name='text'])
+     */
+    protected void waitForFrameNavigation(String frameName, Runnable action) {
+        waitForFrameNavigation(frameName, DEFAULT_WAIT_TIMEOUT_MS, action);
+    }
+
+    protected void waitForFrameNavigation(String frameName, double timeoutMs, Runnable action) {
+        boolean[] navigated = {false};
+        Consumer<Frame> listener = frame -> {
+            if (frameName.equals(frame.name())) {
+                navigated[0] = true;
+            }
+        };
+        page.onFrameNavigated(listener);
+        try {
+            action.run();
+            TestTimings.measureWait(() -> page.waitForCondition(() -> navigated[0], new Page.WaitForConditionOptions().setTimeout(timeoutMs)));
+        } finally {
+            page.offFrameNavigated(listener);
+        }
+        Frame frame = page.frame(frameName);
+        if (frame != null) {
+            TestTimings.measureWait(() -> frame.waitForLoadState(LoadState.DOMCONTENTLOADED, new Frame.WaitForLoadStateOptions().setTimeout(timeoutMs)));
+        }
+    }
+
+    /**
+     * Run an action that may reload the named frame (e.g. a select with onchange submit)
+     * and wait for that reload, but not longer than timeoutMs if none starts
+     * @return true if the frame navigated
+     */
+    protected boolean waitForOptionalFrameNavigation(String frameName, double timeoutMs, Runnable action) {
+        try {
+            waitForFrameNavigation(frameName, timeoutMs, action);
+            return true;
+        } catch (TimeoutError e) {
+            log.debug("Frame '{}' did not navigate within {} ms", frameName, timeoutMs);
+            return false;
+        }
+    }
+
+    /**
+     * Run an action that loads the named frame (e.g. a teleadmin menu click reloading frame[name='text'])
+     * and wait until the frame had traffic and no request of it was in flight for the quiet period
+     * (see FrameNetworkTracker)
+     */
+    protected void waitForFrameIdle(String frameName, Runnable action) {
+        waitForFrameIdle(frameName, FrameNetworkTracker.DEFAULT_IDLE_MS, DEFAULT_WAIT_TIMEOUT_MS, action);
+    }
+
+    protected void waitForFrameIdle(String frameName, long idleMs, double timeoutMs, Runnable action) {
+        FrameNetworkTracker tracker = FrameNetworkTracker.of(page);
+        long eventsBefore = tracker.getEventCount(frameName);
+        action.run();
+        TestTimings.measureWait(() -> tracker.waitForIdle(page, frameName, eventsBefore, idleMs, timeoutMs));
+    }
+
+    /**
+     * Run an action that re-renders a list/table and wait until it shows new elements:
+     * current elements are marked stale first, then we wait for an element without the mark.
+     * Works for both XHR redraws and full frame reloads.
+     *
+     * @param items locator of the re-rendered elements (e.g. table rows)
+     */
+    protected void waitForRefresh(Locator items, Runnable action) {
+        waitForRefresh(items, DEFAULT_WAIT_TIMEOUT_MS, action);
+    }
+
+    protected void waitForRefresh(Locator items, double timeoutMs, Runnable action) {
+        items.evaluateAll("elements => elements.forEach(e => e.setAttribute('data-stale', 'true'))");
+        action.run();
+        TestTimings.measureWait(() -> page.waitForCondition(() -> hasFreshElement(items), new Page.WaitForConditionOptions().setTimeout(timeoutMs)));
+    }
+
+    private static boolean hasFreshElement(Locator items) {
+        try {
+            return Boolean.TRUE.equals(items.evaluateAll("elements => elements.some(e => !e.hasAttribute('data-stale'))"));
+        } catch (PlaywrightException e) {
+            return false; // frame is navigating
+        }
+    }
+
+    /**
+     * Element that is visible once the page is ready to use (e.g. the main button of the page)
+     * Waited for when the page is opened as a popup; null means DOM content loaded is enough
+     */
+    protected Locator getReadyLocator() {
+        return null;
+    }
+
+    /**
+     * Run an action that opens a new tab and return its page object once it is ready:
+     * DOM content loaded, the page object's ready locator visible and dialogs of the tab accepted
+     *
+     * @param pageObjectFactory page object constructor, e.g. CompanyArchiveManagementPage::new
+     */
+    protected <T extends BasePage> T openPopup(Runnable action, Function<Page, T> pageObjectFactory) {
+        Page popup = page.waitForPopup(new Page.WaitForPopupOptions().setTimeout(DEFAULT_WAIT_TIMEOUT_MS), action);
+        TestTimings.measureWait(() -> popup.waitForLoadState(LoadState.DOMCONTENTLOADED,
+                new Page.WaitForLoadStateOptions().setTimeout(DEFAULT_WAIT_TIMEOUT_MS)));
+
+        T pageObject = pageObjectFactory.apply(popup);
+        pageObject.setupAlertHandler();
+        popup.onClose(BasePage::cleanupDialogHandler);
+
+        Locator readyLocator = pageObject.getReadyLocator();
+        if (readyLocator != null) {
+            waitForState(readyLocator, WaitForSelectorState.VISIBLE);
+        }
+        return pageObject;
+    }
+
+    /**
+     * Page object of the given type for this page - created once per Page and reused (see PageObjects)
+     */
+    protected <T extends BasePage> T pageObject(Class<T> type) {
+        return PageObjects.get(page, type);
+    }
+
+    /**
+     * Click a checkbox and wait until its checked state has flipped
+     */
+    protected void toggleCheckbox(Locator checkbox) {
+        checkbox.setChecked(!checkbox.isChecked());
+    }
+
     /**
      * Sets up alert handler that will automatically handle any alerts that appear
      * This should be called BEFORE an action that might trigger alerts
@@ -0,0 +1,77 @@
+package com.websanity;
+
+import com.microsoft.playwright.Page;
+import lombok.extern.slf4j.Slf4j;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Registry of page objects per Page: each page object type is created once per Page and reused afterwards
+ *
+ * Navigation methods (MenuPage.clickFindUsersButton() etc.) used to construct a new page object on every call,
+ * building all of its locators again.
+ * Page objects keep no per-visit state - their locators are re-resolved on every action - so one instance per
+ * Page is enough. The instances of a Page are released when the page closes.
+ *
+ * Locators are still created in the page object constructors: in Playwright Java a Locator is a client-side
+ * selector holder (no driver message), so with one construction per Page there is nothing left to defer.
+ *
+ * Page objects need a public constructor taking the Page.
+ */
+@Slf4j
+public final class PageObjects {
+
+    private static final Map<Page, Map<Class<?>, BasePage>> registry = new ConcurrentHashMap<>();
+
+    private PageObjects() {
+    }
+
+    /**
+     * Page object of the given type for the page, created on first request
+     */
+    public static <T extends BasePage> T get(Page page, Class<T> type) {
+        Map<Class<?>, BasePage> pageObjects = registry.computeIfAbsent(page, PageObjects::register);
+        BasePage pageObject = pageObjects.get(type);
+        if (pageObject == null) {
+            // Not computeIfAbsent: a constructor may itself ask for another page object of the same page
+            BasePage created = create(page, type);
+            pageObject = pageObjects.putIfAbsent(type, created);
+            if (pageObject == null) {
+                pageObject = created;
+            }
+        }
+        return type.cast(pageObject);
+    }
+
+    /**
+     * Number of pages with cached page objects (pages that are still open)
+     */
+    public static int size() {
+        return registry.size();
+    }
+
+    private static Map<Class<?>, BasePage> register(Page page) {
+        page.onClose(closedPage -> {
+            Map<Class<?>, BasePage> released = registry.remove(closedPage);
+            if (released != null) {
+                log.debug("Released {} page object(s) of a closed page", released.size());
+            }
+        });
+        return new ConcurrentHashMap<>();
+    }
+
+    private static <T extends BasePage> T create(Page page, Class<T> type) {
+        try {
+            return type.getConstructor(Page.class).newInstance(page);
+        } catch (InvocationTargetException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Could not create " + type.getSimpleName(), e.getCause());
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException(type.getSimpleName() + " needs a public constructor taking a Page", e);
+        }
+    }
+}
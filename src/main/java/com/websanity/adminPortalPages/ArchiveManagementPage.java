@@ -2,9 +2,14 @@ package com.websanity.adminPortalPages;
 
 import com.microsoft.playwright.Locator;
 import com.microsoft.playwright.Page;
+import com.microsoft.playwright.TimeoutError;
+import com.microsoft.playwright.options.WaitForSelectorState;
 import com.websanity.BasePage;
+import com.websanity.utils.TableSnapshot;
 import lombok.extern.slf4j.Slf4j;
 
+import java.util.List;
+
 @Slf4j
 public class ArchiveManagementPage extends BasePage {
 
@@ -41,18 +46,11 @@ public class ArchiveManagementPage extends BasePage {
         this.successMessage = page.locator("#successMsg");
     }
 
-    /**
-     * Get header text by index (0-based)
-     */
-    public String getHeaderText(int index) {
-        return tableHeaders.nth(index).textContent().trim();
-    }
-
     /**
      * Verify all table headers match expected values
      */
     public boolean verifyAllHeadersOfArchivePlansTable() {
-        page.waitForTimeout(1000);
+        waitForState(tableHeaders.first(), WaitForSelectorState.VISIBLE);
         String[] expectedHeaders = {
             "Source",
             "Destination",
@@ -63,9 +61,11 @@ public class ArchiveManagementPage extends BasePage {
             "Actions"
         };
 
+        // All headers in one call
+        List<String> actualHeaders = tableHeaders.allTextContents().stream().map(String::trim).toList();
         for (int i = 0; i < expectedHeaders.length; i++) {
-            String actualHeader = getHeaderText(i);
-            if (!actualHeader.equals(expectedHeaders[i])) {
+            String actualHeader = i < actualHeaders.size() ? actualHeaders.get(i) : null;
+            if (!expectedHeaders[i].equals(actualHeader)) {
                 System.err.println("Header mismatch at index " + i + ": expected '" + expectedHeaders[i] + "' but got '" + actualHeader + "'");
                 return false;
             }
@@ -74,31 +74,12 @@ public class ArchiveManagementPage extends BasePage {
     }
 
     /**
-     * Get Source column value from first row
-     */
-    public String getSourceFromFirstRow() {
-        return firstRow.locator("td").nth(0).textContent().trim();
-    }
-
-    /**
-     * Get Destination column value from first row
-     */
-    public String getDestinationFromFirstRow() {
-        return firstRow.locator("td").nth(1).textContent().trim();
-    }
-
-    /**
-     * Get Email column value from first row
+     * Read the archive plans table in one round trip (0 = Source, 1 = Destination, 2 = Email, 4 = Number Of Assigned Users)
+     * Waits for the first plan row to be rendered
      */
-    public String getEmailFromFirstRow() {
-        return firstRow.locator("td").nth(2).textContent().trim();
-    }
-
-    /**
-     * Get Number Of Assigned Users column value from first row
-     */
-    public String getNumberOfAssignedUsersFromFirstRow() {
-        return firstRow.locator("td").nth(4).textContent().trim();
+    public TableSnapshot getArchivePlansSnapshot() {
+        waitForState(firstRow, WaitForSelectorState.VISIBLE);
+        return TableSnapshot.of(archivePlansTable);
     }
 
     /**
@@ -122,12 +103,18 @@ public class ArchiveManagementPage extends BasePage {
         return verifyAssignButtonExists() && verifyUnassignButtonExists();
     }
 
+    private void waitForSuccessMessageQuietly() {
+        try {
+            waitForState(successMessage, WaitForSelectorState.VISIBLE, 10000);
+        } catch (TimeoutError e) {
+            log.warn("Success message did not appear within 10000 ms");
+        }
+    }
+
     private void waitForLoadingToDisappear() {
         try {
             // Wait for loading overlay to become hidden (max 10 seconds)
-            loadingOverlay.waitFor(new Locator.WaitForOptions()
-                    .setState(com.microsoft.playwright.options.WaitForSelectorState.HIDDEN)
-                    .setTimeout(10000));
+            waitForState(loadingOverlay, WaitForSelectorState.HIDDEN, 10000);
         } catch (Exception e) {
             // If element doesn't appear or already hidden, continue
             log.debug("Loading overlay not found or already hidden");
@@ -141,7 +128,9 @@ public class ArchiveManagementPage extends BasePage {
         log.info("Clicking Assign button");
         firstRow.locator("input[value='Assign']").click();
         waitForLoadingToDisappear();
-        page.waitForTimeout(1000);
+        log.info("Waiting for Assign Users Table to be visible");
+        waitForState(assignActionUsersTable, WaitForSelectorState.VISIBLE, 10000);
+        waitForState(numOfAssignedUsersLabel, WaitForSelectorState.VISIBLE, 10000);
         return this;
     }
 
@@ -153,10 +142,8 @@ public class ArchiveManagementPage extends BasePage {
         firstRow.locator("input[value='Unassign']").click();
         waitForLoadingToDisappear();
         log.info("Waiting for Unassign Users Table to be visible");
-        unassignActionUsersTable.waitFor(new Locator.WaitForOptions()
-                .setState(com.microsoft.playwright.options.WaitForSelectorState.VISIBLE)
-                .setTimeout(10000));
-        page.waitForTimeout(1000);
+        waitForState(unassignActionUsersTable, WaitForSelectorState.VISIBLE, 10000);
+        waitForState(numOfAssignedUsersLabel, WaitForSelectorState.VISIBLE, 10000);
         return this;
     }
 
@@ -195,8 +182,9 @@ public class ArchiveManagementPage extends BasePage {
      * Click the search submit button
      */
     public ArchiveManagementPage clickSearchButton() {
+        // The search shows the loading overlay until the users table is redrawn
         searchSubmitButton.click();
-        page.waitForTimeout(1000);
+        waitForLoadingToDisappear();
         return this;
     }
 
@@ -210,38 +198,12 @@ public class ArchiveManagementPage extends BasePage {
     // ========== Assign Action Users Table Methods ==========
 
     /**
-     * Get First Name from first row of assignAction users table
-     */
-    public String getFirstNameFromAssignActionFirstRow() {
-        return assignActionFirstRow.locator("td").nth(1).textContent().trim();
-    }
-
-    /**
-     * Get Last Name from first row of assignAction users table
-     */
-    public String getLastNameFromAssignActionFirstRow() {
-        return assignActionFirstRow.locator("td").nth(2).textContent().trim();
-    }
-
-    /**
-     * Get Username from first row of assignAction users table
-     */
-    public String getUsernameFromAssignActionFirstRow() {
-        return assignActionFirstRow.locator("td").nth(3).textContent().trim();
-    }
-
-    /**
-     * Get Email from first row of assignAction users table
-     */
-    public String getEmailFromAssignActionFirstRow() {
-        return assignActionFirstRow.locator("td").nth(4).textContent().trim();
-    }
-
-    /**
-     * Get Mobile from first row of assignAction users table
+     * Read the assignAction users table in one round trip (1 = First Name, 2 = Last Name, 3 = Username, 4 = Email, 5 = Mobile)
+     * Waits for the first user row to be rendered
      */
-    public String getMobileFromAssignActionFirstRow() {
-        return assignActionFirstRow.locator("td").nth(5).textContent().trim();
+    public TableSnapshot getAssignActionUsersSnapshot() {
+        waitForState(assignActionFirstRow, WaitForSelectorState.VISIBLE);
+        return TableSnapshot.of(assignActionUsersTable);
     }
 
     /**
@@ -252,13 +214,6 @@ public class ArchiveManagementPage extends BasePage {
         return this;
     }
 
-    /**
-     * Verify that the first row checkbox is checked in assignAction users table
-     */
-    public boolean isAssignActionFirstRowCheckboxChecked() {
-        return assignActionFirstRow.locator("input[type='checkbox']").isChecked();
-    }
-
     /**
      * Get the number of rows in assignAction users table (excluding header)
      */
@@ -284,7 +239,7 @@ public class ArchiveManagementPage extends BasePage {
         log.info("Clicking 'Assign users' button");
         assignUsersButton.click();
         waitForLoadingToDisappear();
-        page.waitForTimeout(3000);
+        waitForSuccessMessageQuietly();
         return this;
     }
 
@@ -298,38 +253,12 @@ public class ArchiveManagementPage extends BasePage {
     // ========== Unassign Action Users Table Methods ==========
 
     /**
-     * Get First Name from first row of unassignAction users table
-     */
-    public String getFirstNameFromUnassignActionFirstRow() {
-        return unassignActionFirstRow.locator("td").nth(1).textContent().trim();
-    }
-
-    /**
-     * Get Last Name from first row of unassignAction users table
+     * Read the unassignAction users table in one round trip (1 = First Name, 2 = Last Name, 3 = Username, 4 = Email, 5 = Mobile)
+     * Waits for the first user row to be rendered
      */
-    public String getLastNameFromUnassignActionFirstRow() {
-        return unassignActionFirstRow.locator("td").nth(2).textContent().trim();
-    }
-
-    /**
-     * Get Username from first row of unassignAction users table
-     */
-    public String getUsernameFromUnassignActionFirstRow() {
-        return unassignActionFirstRow.locator("td").nth(3).textContent().trim();
-    }
-
-    /**
-     * Get Email from first row of unassignAction users table
-     */
-    public String getEmailFromUnassignActionFirstRow() {
-        return unassignActionFirstRow.locator("td").nth(4).textContent().trim();
-    }
-
-    /**
-     * Get Mobile from first row of unassignAction users table
-     */
-    public String getMobileFromUnassignActionFirstRow() {
-        return unassignActionFirstRow.locator("td").nth(5).textContent().trim();
+    public TableSnapshot getUnassignActionUsersSnapshot() {
+        waitForState(unassignActionFirstRow, WaitForSelectorState.VISIBLE);
+        return TableSnapshot.of(unassignActionUsersTable);
     }
 
     /**
@@ -340,13 +269,6 @@ public class ArchiveManagementPage extends BasePage {
         return this;
     }
 
-    /**
-     * Verify that the first row checkbox is checked in unassignAction users table
-     */
-    public boolean isUnassignActionFirstRowCheckboxChecked() {
-        return unassignActionFirstRow.locator("input[type='checkbox']").isChecked();
-    }
-
     /**
      * Get the number of rows in unassignAction users table (excluding header)
      */
@@ -372,7 +294,7 @@ public class ArchiveManagementPage extends BasePage {
         log.info("Clicking 'Unassign users' button");
         unassignUsersButton.click();
         waitForLoadingToDisappear();
-        page.waitForTimeout(3000);
+        waitForSuccessMessageQuietly();
         return this;
     }
 
@@ -401,9 +323,7 @@ public class ArchiveManagementPage extends BasePage {
      * Wait for success message to appear and verify it's visible
      */
     public ArchiveManagementPage waitForSuccessMessage() {
-        successMessage.waitFor(new Locator.WaitForOptions()
-                .setState(com.microsoft.playwright.options.WaitForSelectorState.VISIBLE)
-                .setTimeout(10000));
+        waitForState(successMessage, WaitForSelectorState.VISIBLE, 10000);
         return this;
     }
 }
@@ -2,6 +2,7 @@ package com.websanity.adminPortalPages;
 
 import com.microsoft.playwright.Locator;
 import com.microsoft.playwright.Page;
+import com.microsoft.playwright.options.WaitForSelectorState;
 import com.websanity.BasePage;
 import lombok.extern.slf4j.Slf4j;
 
@@ -43,7 +44,7 @@ public class ComposeMessagePage extends BasePage {
         toInput.fill(recipient);
 
         log.info("Waiting for assist container to appear");
-        assistContainer.waitFor(new Locator.WaitForOptions().setState(com.microsoft.playwright.options.WaitForSelectorState.VISIBLE));
+        waitForState(assistContainer, WaitForSelectorState.VISIBLE);
 
         log.info("Clicking on assist container div");
         assistContainerDiv.first().click();
@@ -89,8 +90,7 @@ public class ComposeMessagePage extends BasePage {
      */
     public ComposeMessagePage waitForSubjectInputToBeVisible() {
         log.info("Waiting for Subject input to be visible");
-        subjectInput.waitFor(new Locator.WaitForOptions()
-                .setState(com.microsoft.playwright.options.WaitForSelectorState.VISIBLE));
+        waitForState(subjectInput, WaitForSelectorState.VISIBLE);
         return this;
     }
 
@@ -100,9 +100,7 @@ public class ComposeMessagePage extends BasePage {
     private void waitForLoadingToDisappear() {
         try {
             // Wait for loading overlay to become hidden (max 10 seconds)
-            loadingOverlay.waitFor(new Locator.WaitForOptions()
-                    .setState(com.microsoft.playwright.options.WaitForSelectorState.HIDDEN)
-                    .setTimeout(10000));
+            waitForState(loadingOverlay, WaitForSelectorState.HIDDEN, 10000);
         } catch (Exception e) {
             // If element doesn't appear or already hidden, continue
             log.debug("Loading overlay not found or already hidden");
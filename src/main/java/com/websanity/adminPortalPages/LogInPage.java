@@ -2,13 +2,18 @@ package com.websanity.adminPortalPages;
 
 import com.microsoft.playwright.Locator;
 import com.microsoft.playwright.Page;
+import com.microsoft.playwright.options.WaitForSelectorState;
 import com.websanity.BasePage;
+import com.websanity.utils.AdaptiveTimeouts;
 import com.websanity.utils.ConfigLoader;
 import com.websanity.utils.EmailHelper;
+import com.websanity.utils.ImapStorePool;
+import com.websanity.utils.NetworkMode;
 import com.websanity.utils.TestUsers;
 import lombok.extern.slf4j.Slf4j;
 
 import java.util.Date;
+import java.util.function.BinaryOperator;
 
 @Slf4j
 public class LogInPage extends BasePage {
@@ -58,7 +63,8 @@ public class LogInPage extends BasePage {
 
     public LogInPage waitForEmailButton() {
         log.info("Waiting for Email button to appear...");
-        emailButton.waitFor(new Locator.WaitForOptions().setTimeout(10000));
+        AdaptiveTimeouts.run("admin.login.emailButton", 10000,
+                timeoutMs -> waitForState(emailButton, WaitForSelectorState.VISIBLE, timeoutMs));
         return this;
     }
 
@@ -91,7 +97,8 @@ public class LogInPage extends BasePage {
      */
     public LogInPage waitForMfaPage() {
         log.info("Waiting for MFA code input page...");
-        mfaCodeInput.waitFor(new Locator.WaitForOptions().setTimeout(10000));
+        AdaptiveTimeouts.run("admin.login.mfaPage", 10000,
+                timeoutMs -> waitForState(mfaCodeInput, WaitForSelectorState.VISIBLE, timeoutMs));
         return this;
     }
 
@@ -102,6 +109,28 @@ public class LogInPage extends BasePage {
      * @param afterTimestamp Only search for emails received after this timestamp
      */
     public LogInPage fillMfaCodeFromEmail(Date afterTimestamp) {
+        return fillMfaCodeFromEmail("received after: " + afterTimestamp,
+                (email, appPassword) -> EmailHelper.getMfaCodeAfterTimestamp(email, appPassword, afterTimestamp));
+    }
+
+    /**
+     * Get MFA code from email and fill it automatically
+     * Uses credentials from config.properties
+     *
+     * @param uidWatermark Only search for emails that arrived after the inbox watermark (see recordInboxWatermark)
+     */
+    public LogInPage fillMfaCodeFromEmail(long uidWatermark) {
+        return fillMfaCodeFromEmail("with UID >= " + uidWatermark,
+                (email, appPassword) -> EmailHelper.getMfaCodeAfterWatermark(email, appPassword, uidWatermark));
+    }
+
+    private LogInPage fillMfaCodeFromEmail(String search, BinaryOperator<String> mfaCodeReader) {
+        if (NetworkMode.current() == NetworkMode.REPLAY) {
+            // Recorded MFA request is matched with the code masked, any 6-digit value works
+            log.info("📼 HAR replay - using placeholder MFA code instead of reading email");
+            return fillMfaCode("000000");
+        }
+
         log.info("📧 Retrieving MFA code from email...");
 
         String email = ConfigLoader.getTestEmail();
@@ -114,12 +143,13 @@ public class LogInPage extends BasePage {
             throw new RuntimeException("Email credentials not configured in config.properties");
         }
 
-        log.info("⏳ Searching for MFA email received after: {}", afterTimestamp);
+        log.info("⏳ Searching for MFA email {}", search);
 
         String mfaCode;
         try {
-            // Get code from the most recent email received AFTER the given timestamp
-            mfaCode = EmailHelper.getMfaCodeAfterTimestamp(email, appPassword, afterTimestamp);
+            long start = System.currentTimeMillis();
+            mfaCode = mfaCodeReader.apply(email, appPassword);
+            AdaptiveTimeouts.record("admin.login.mfaEmail", System.currentTimeMillis() - start);
             log.info("✅ MFA code retrieved: {}", mfaCode);
         } catch (Exception e) {
             log.error("❌ Failed to retrieve MFA code", e);
@@ -129,12 +159,38 @@ public class LogInPage extends BasePage {
         return fillMfaCode(mfaCode);
     }
 
+    /**
+     * Read the inbox watermark (UIDNEXT) right before the MFA email is requested
+     * @return the watermark, 0 in HAR replay (no email is read)
+     */
+    private long recordInboxWatermark() {
+        if (NetworkMode.current() == NetworkMode.REPLAY) {
+            return 0;
+        }
+        return EmailHelper.getInboxWatermark(ConfigLoader.getTestEmail(), ConfigLoader.getEmailAppPassword());
+    }
+
+    /**
+     * Connect to Gmail in the background while the login form is being filled - the MFA email is read on this connection
+     */
+    private void prewarmEmailConnection() {
+        if (NetworkMode.current() == NetworkMode.REPLAY) {
+            return;
+        }
+        try {
+            ImapStorePool.prewarm(ConfigLoader.getTestEmail(), ConfigLoader.getEmailAppPassword());
+        } catch (RuntimeException e) {
+            log.debug("Email connection not prewarmed: {}", e.getMessage());
+        }
+    }
+
     /**
      * Complete login with MFA - gets code from email automatically
      */
     public MenuPage loginToAdminPortalWithAutoUser() {
 
         log.info("Starting login with MFA for user: {}", TestUsers.getAdminPortalSanityManager().getUsername());
+        prewarmEmailConnection();
         navigate(MANAGER_PORTAL_URL);
         fillUsername(TestUsers.getAdminPortalSanityManager().getUsername());
         fillPassword(TestUsers.getAdminPortalSanityManager().getPassword());
@@ -143,15 +199,13 @@ public class LogInPage extends BasePage {
         // Wait for Email button to appear and click it to select email verification method
         waitForEmailButton();
 
-        // Record timestamp BEFORE clicking Email button with 10 second buffer
-        // (subtract 10 seconds to handle Gmail timestamp precision issues)
-        Date beforeEmailRequest = new Date(System.currentTimeMillis() - 10000);
-        log.info("🕐 Timestamp for email search: {} (10 seconds before now)", beforeEmailRequest);
+        // Record the inbox watermark BEFORE clicking Email button - the MFA email gets a UID at or above it
+        long inboxWatermark = recordInboxWatermark();
 
         clickEmailButton();
 
         waitForMfaPage();
-        fillMfaCodeFromEmail(beforeEmailRequest); // Will wait for email in a loop until it arrives
+        fillMfaCodeFromEmail(inboxWatermark); // Will wait for the email until it arrives
 
         // Click Continue and wait for navigation to complete
         log.info("Clicking Continue button and waiting for navigation...");
@@ -160,8 +214,9 @@ public class LogInPage extends BasePage {
         // Wait for navigation to complete - the page should redirect to the admin portal
         // We wait for the URL to change away from the Auth0 login pages
         try {
-            page.waitForURL(url -> !url.contains("auth.telemessage.com"),
-                new Page.WaitForURLOptions().setTimeout(60000)); // Увеличен до 60 секунд
+            AdaptiveTimeouts.run("admin.login.redirectAfterMfa", 60000,
+                timeoutMs -> page.waitForURL(url -> !url.contains("auth.telemessage.com"),
+                    new Page.WaitForURLOptions().setTimeout(timeoutMs)));
             log.info("Navigation completed, URL: {}", page.url());
         } catch (Exception e) {
             log.error("Navigation timeout or error after MFA. Current URL: {}", page.url());
@@ -172,7 +227,7 @@ public class LogInPage extends BasePage {
         page.waitForLoadState();
         log.info("Login with MFA completed");
 
-        return new MenuPage(page);
+        return pageObject(MenuPage.class);
     }
 
 }
@@ -2,6 +2,7 @@ package com.websanity.adminPortalPages;
 
 import com.microsoft.playwright.Locator;
 import com.microsoft.playwright.Page;
+import com.microsoft.playwright.options.WaitForSelectorState;
 import com.websanity.BasePage;
 import lombok.extern.slf4j.Slf4j;
 
@@ -95,7 +96,7 @@ public class MenuPage extends BasePage {
         log.info("Clicking Compose Message button");
         composeMessageBtn.click();
         waitForLoadingToDisappear();
-        return new ComposeMessagePage(page);
+        return pageObject(ComposeMessagePage.class);
     }
 
     /**
@@ -104,9 +105,7 @@ public class MenuPage extends BasePage {
     private void waitForLoadingToDisappear() {
         try {
             // Wait for loading overlay to become hidden (max 10 seconds)
-            loadingOverlay.waitFor(new Locator.WaitForOptions()
-                    .setState(com.microsoft.playwright.options.WaitForSelectorState.HIDDEN)
-                    .setTimeout(10000));
+            waitForState(loadingOverlay, WaitForSelectorState.HIDDEN, 10000);
         } catch (Exception e) {
             // If element doesn't appear or already hidden, continue
             log.debug("Loading overlay not found or already hidden");
@@ -140,7 +139,7 @@ public class MenuPage extends BasePage {
         log.info("Clicking Sent Items menu item");
         sentItemsBtn.click();
         waitForLoadingToDisappear();
-        return new SentItemsPage(page);
+        return pageObject(SentItemsPage.class);
     }
 
     /**
@@ -150,7 +149,7 @@ public class MenuPage extends BasePage {
         log.info("Clicking My Contacts menu item");
         myContactsBtn.click();
         waitForLoadingToDisappear();
-        return new MyContactsPage(page);
+        return pageObject(MyContactsPage.class);
     }
 
     /**
@@ -180,7 +179,7 @@ public class MenuPage extends BasePage {
         log.info("Clicking User Management menu item");
         userManagementBtn.click();
         waitForLoadingToDisappear();
-        return new UserManagementPage(page);
+        return pageObject(UserManagementPage.class);
     }
 
     /**
@@ -190,8 +189,8 @@ public class MenuPage extends BasePage {
         log.info("Clicking Archive Management menu item");
         archiveManagementBtn.click();
         waitForLoadingToDisappear();
-        page.waitForTimeout(2000);
-        return new ArchiveManagementPage(page);
+        waitForState(page.locator("#contentTable"), WaitForSelectorState.VISIBLE);
+        return pageObject(ArchiveManagementPage.class);
     }
 
     /**
@@ -241,8 +240,10 @@ public class MenuPage extends BasePage {
         log.info("Clicking Messenger App Settings");
         messengerAppSettingsBtn.click();
         waitForLoadingToDisappear();
-        page.waitForTimeout(3000);
-        return new MessengerAppSettingsPage(page);
+        // Checkbox states are read right away - wait until the settings form is rendered
+        waitForState(page.locator("#updateBtn"), WaitForSelectorState.VISIBLE);
+        waitForState(page.locator("#disableScreenCapture_visible"), WaitForSelectorState.ATTACHED);
+        return pageObject(MessengerAppSettingsPage.class);
     }
 
     /**
@@ -252,8 +253,8 @@ public class MenuPage extends BasePage {
         log.info("Clicking Message Settings");
         messageSettingsBtn.click();
         waitForLoadingToDisappear();
-        page.waitForTimeout(1000);
-        return new MessageSettingsPage(page);
+        waitForState(page.locator("#flowId1"), WaitForSelectorState.ATTACHED);
+        return pageObject(MessageSettingsPage.class);
     }
 
     /**
@@ -263,7 +264,7 @@ public class MenuPage extends BasePage {
         log.info("Clicking Advanced Settings");
         advancedSettingsBtn.click();
         waitForLoadingToDisappear();
-        page.waitForTimeout(1000);
+        page.waitForLoadState();
         return this;
     }
 
@@ -276,7 +277,7 @@ public class MenuPage extends BasePage {
         log.info("Current URL: {}", page.url());
 
         try {
-            userManagementBtn.waitFor(new Locator.WaitForOptions().setTimeout(30000));
+            waitForState(userManagementBtn, WaitForSelectorState.VISIBLE, 30000);
             log.info("User Management button is visible, continue test");
         } catch (Exception e) {
             log.error("Failed to find User Management button. Current URL: {}", page.url());
@@ -298,7 +299,7 @@ public class MenuPage extends BasePage {
         page.waitForLoadState();
 
         log.info("Waiting for User Management button to be visible...");
-        userManagementBtn.waitFor(new Locator.WaitForOptions().setTimeout(30000));
+        waitForState(userManagementBtn, WaitForSelectorState.VISIBLE, 30000);
         log.info("User Management button is visible, proceeding to close popups");
 
         if (isUserManagementVisible()) {
@@ -310,9 +311,7 @@ public class MenuPage extends BasePage {
 
                 try {
                     // Wait for popup to appear with timeout
-                    popUpAfterLogin.waitFor(new Locator.WaitForOptions()
-                            .setState(com.microsoft.playwright.options.WaitForSelectorState.VISIBLE)
-                            .setTimeout(4000));
+                    waitForState(popUpAfterLogin, WaitForSelectorState.VISIBLE, 4000);
 
                     if (isPopUpDisplayed()) {
                         log.info("Pop-up #{} appeared. Attempting to close...", closedPopups + 1);
@@ -320,16 +319,11 @@ public class MenuPage extends BasePage {
 
                         // Wait for popup to disappear
                         try {
-                            popUpAfterLogin.waitFor(new Locator.WaitForOptions()
-                                    .setState(com.microsoft.playwright.options.WaitForSelectorState.HIDDEN)
-                                    .setTimeout(3000));
+                            waitForState(popUpAfterLogin, WaitForSelectorState.HIDDEN, 3000);
                             log.info("Pop-up #{} was closed successfully.", ++closedPopups);
                         } catch (Exception e) {
                             log.warn("Pop-up did not disappear after clicking close button");
                         }
-
-                        // Wait a bit before checking for next popup
-                        page.waitForTimeout(1000);
                     }
                 } catch (Exception e) {
                     log.info("No popup appeared within timeout. Ending popup close procedure.");
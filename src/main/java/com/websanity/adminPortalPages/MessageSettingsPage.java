@@ -2,6 +2,7 @@ package com.websanity.adminPortalPages;
 
 import com.microsoft.playwright.Locator;
 import com.microsoft.playwright.Page;
+import com.microsoft.playwright.options.WaitForSelectorState;
 import com.websanity.BasePage;
 import lombok.extern.slf4j.Slf4j;
 
@@ -116,9 +117,7 @@ public class MessageSettingsPage extends BasePage {
     // Wait until success message is visible
     public MessageSettingsPage waitForSuccessMsgVisible() {
         log.info("Waiting for success message to be visible");
-        successMsg.waitFor(new Locator.WaitForOptions()
-                .setState(com.microsoft.playwright.options.WaitForSelectorState.VISIBLE)
-                .setTimeout(10000));
+        waitForState(successMsg, WaitForSelectorState.VISIBLE, 10000);
         log.info("Success message is now visible");
         return this;
     }
@@ -126,9 +125,7 @@ public class MessageSettingsPage extends BasePage {
     // Wait until success message is not visible (hidden)
     public MessageSettingsPage waitForSuccessMsgNotVisible() {
         log.info("Waiting for success message to be hidden");
-        successMsg.waitFor(new Locator.WaitForOptions()
-                .setState(com.microsoft.playwright.options.WaitForSelectorState.HIDDEN)
-                .setTimeout(20000));
+        waitForState(successMsg, WaitForSelectorState.HIDDEN, 20000);
         log.info("Success message is now hidden");
         return this;
     }
@@ -2,9 +2,15 @@ package com.websanity.adminPortalPages;
 
 import com.microsoft.playwright.Locator;
 import com.microsoft.playwright.Page;
+import com.microsoft.playwright.TimeoutError;
+import com.microsoft.playwright.options.WaitForSelectorState;
 import com.websanity.BasePage;
+import com.websanity.enums.MessengerAppSetting;
+import com.websanity.utils.CheckboxMatrix;
 import lombok.extern.slf4j.Slf4j;
 
+import java.util.Map;
+
 @Slf4j
 public class MessengerAppSettingsPage extends BasePage {
 
@@ -190,71 +196,31 @@ public class MessengerAppSettingsPage extends BasePage {
         return disableDistributionOfNewVersions.isChecked();
     }
 
+    /**
+     * Read the state of every security option checkbox in one call
+     */
+    public Map<MessengerAppSetting, Boolean> getSettings() {
+        return CheckboxMatrix.read(page.locator("body"), MessengerAppSetting.class);
+    }
+
+    /**
+     * Click only the checkboxes whose state differs from the desired one (in one call, not saved)
+     * @return states before and after the clicks
+     */
+    public CheckboxMatrix.Result<MessengerAppSetting> applySettings(Map<MessengerAppSetting, Boolean> desired) {
+        return CheckboxMatrix.apply(page.locator("body"), MessengerAppSetting.class, desired);
+    }
+
     /**
      * Disable all checkboxes if they are enabled and save settings
      */
     public MessengerAppSettingsPage disableAllCheckboxes() {
         log.info("Disabling all checkboxes if they are enabled");
-        boolean anyCheckboxWasDisabled = false;
-
-        if (isDisableScreenCaptureChecked()) {
-            log.info("Disable Screen Capture is checked, unchecking it");
-            clickDisableScreenCapture();
-            anyCheckboxWasDisabled = true;
-        }
-
-        if (isDisableCopyChecked()) {
-            log.info("Disable Copy is checked, unchecking it");
-            clickDisableCopy();
-            anyCheckboxWasDisabled = true;
-        }
-
-        if (isDisableShareMediaChecked()) {
-            log.info("Disable Share Media is checked, unchecking it");
-            clickDisableShareMedia();
-            anyCheckboxWasDisabled = true;
-        }
-
-        if (isDisableNotificationPreviewChecked()) {
-            log.info("Disable Notification's Preview is checked, unchecking it");
-            clickDisableNotificationPreview();
-            anyCheckboxWasDisabled = true;
-        }
-
-        if (isDisableAttachmentsChecked()) {
-            log.info("Disable Attachments is checked, unchecking it");
-            clickDisableAttachments();
-            anyCheckboxWasDisabled = true;
-        }
-
-        if (isDisableLocalContactsChecked()) {
-            log.info("Disable Local Contacts is checked, unchecking it");
-            clickDisableLocalContacts();
-            anyCheckboxWasDisabled = true;
-        }
+        CheckboxMatrix.Result<MessengerAppSetting> result = applySettings(CheckboxMatrix.all(MessengerAppSetting.class, false));
 
-        if (isDisableNativePhoneDialerChecked()) {
-            log.info("Disable Native Phone Dialer is checked, unchecking it");
-            clickDisableNativePhoneDialer();
-            anyCheckboxWasDisabled = true;
-        }
-
-        if (isDisableBackUpAndRestoreChecked()) {
-            log.info("Disable Back Up and Restore is checked, unchecking it");
-            clickDisableBackUpAndRestore();
-            anyCheckboxWasDisabled = true;
-        }
-
-        if (isDisableDistributionOfNewVersionsChecked()) {
-            log.info("Disable Distribution of New Versions is checked, unchecking it");
-            clickDisableDistributionOfNewVersions();
-            anyCheckboxWasDisabled = true;
-        }
-
-        if (anyCheckboxWasDisabled) {
+        if (result.isChanged()) {
             log.info("At least one checkbox was disabled, now saving changes");
             clickSave();
-            page.waitForTimeout(5000);
         } else {
             log.info("No checkboxes were enabled");
         }
@@ -267,9 +233,14 @@ public class MessengerAppSettingsPage extends BasePage {
      */
     public MessengerAppSettingsPage clickSave() {
         log.info("Clicking Save button");
-        page.waitForTimeout(3000);
+        waitForState(loadingOverlay, WaitForSelectorState.HIDDEN);
         saveBtn.click();
-        page.waitForTimeout(1500);
+        try {
+            waitForState(successMsg, WaitForSelectorState.VISIBLE, 10000);
+        } catch (TimeoutError e) {
+            log.warn("Success message did not appear within 10000 ms after saving");
+        }
+        waitForState(loadingOverlay, WaitForSelectorState.HIDDEN);
         return this;
     }
 
@@ -285,8 +256,8 @@ public class MessengerAppSettingsPage extends BasePage {
      */
     public MessengerAppSettingsPage waitForSuccessMessage() {
         log.info("Waiting for success message to appear");
-        successMsg.waitFor(new Locator.WaitForOptions().setState(com.microsoft.playwright.options.WaitForSelectorState.VISIBLE).setTimeout(10000));
-        page.waitForTimeout(500); // Additional wait to ensure settings are persisted
+        waitForState(successMsg, WaitForSelectorState.VISIBLE, 10000);
+        waitForState(loadingOverlay, WaitForSelectorState.HIDDEN);
         return this;
     }
 
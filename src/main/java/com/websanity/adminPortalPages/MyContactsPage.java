@@ -2,10 +2,20 @@ package com.websanity.adminPortalPages;
 
 import com.microsoft.playwright.Locator;
 import com.microsoft.playwright.Page;
+import com.microsoft.playwright.TimeoutError;
+import com.microsoft.playwright.options.WaitForSelectorState;
 import com.websanity.BasePage;
 import com.websanity.enums.Country;
+import com.websanity.models.ContactParams;
+import com.websanity.utils.FormFiller;
+import com.websanity.utils.FormFiller.Field;
+import com.websanity.utils.TableSnapshot;
+import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 
+import java.util.List;
+import java.util.Set;
+
 @Slf4j
 public class MyContactsPage extends BasePage {
 
@@ -46,6 +56,31 @@ public class MyContactsPage extends BasePage {
     private final Locator moreBtn;
     private final Locator deleteSelectedContactBtn;
 
+    // New contact form fields filled by fillAll (country selects are matched by label)
+    private static final List<Field<ContactParams>> CONTACT_FORM = List.of(
+            Field.text("firstName", "#firstName", ContactParams::getFirstName),
+            Field.text("lastName", "#lastName", ContactParams::getLastName),
+            Field.text("jobTitle", "#jobtitle", ContactParams::getJobTitle),
+            Field.select("mobileCountry", "#mobileCountry1", ContactParams::getMobileCountry, Country::getDisplayName),
+            Field.text("mobileTelephone", "#mobileTelephone1", ContactParams::getMobileTelephone),
+            Field.select("homeCountry", "#homeCountry1", ContactParams::getHomeCountry, Country::getDisplayName),
+            Field.text("homeTelephone", "#homeTelephone1", ContactParams::getHomeTelephone),
+            Field.select("businessCountry", "#businessCountry1", ContactParams::getBusinessCountry, Country::getDisplayName),
+            Field.text("businessTelephone", "#businessTelephone1", ContactParams::getBusinessTelephone),
+            Field.text("businessExt", "#businessExt1", ContactParams::getBusinessExt),
+            Field.select("faxCountry", "#faxCountry1", ContactParams::getFaxCountry, Country::getDisplayName),
+            Field.text("faxTelephone", "#faxTelephone1", ContactParams::getFaxTelephone),
+            Field.text("communicationEmail", "#communicationEmail", ContactParams::getCommunicationEmail),
+            Field.text("company", "#company", ContactParams::getCompany),
+            Field.text("department", "#department", ContactParams::getDepartment)
+    );
+
+    /**
+     * How the last fillAll applied the fields (one browser call or per field)
+     */
+    @Getter
+    private FormFiller.Result lastFillResult;
+
     public MyContactsPage(Page page) {
         super(page);
         this.newBtn = page.locator("li.createNewSubMenu, li.newSubmenu");
@@ -107,6 +142,17 @@ public class MyContactsPage extends BasePage {
         return this;
     }
 
+    /**
+     * Fill every contact form field that has a value in ContactParams
+     * in one browser call with per-field fallback - see FormFiller
+     * @param contact Contact data
+     * @return AdminPortalMyContactsPage
+     */
+    public MyContactsPage fillAll(ContactParams contact) {
+        lastFillResult = FormFiller.fill(page.locator("body"), CONTACT_FORM, contact);
+        return this;
+    }
+
     /**
      * Fill First Name input
      * @param firstName First name value
@@ -147,7 +193,7 @@ public class MyContactsPage extends BasePage {
      */
     public MyContactsPage selectMobileCountry(Country country) {
         log.info("Selecting Mobile Country: {}", country.getDisplayName());
-        mobileCountry1Select.selectOption(country.getDisplayName());
+        selectEnumOption(mobileCountry1Select, country, Country::getDisplayName, Set.of(Country.ALL_COUNTRIES));
         return this;
     }
 
@@ -158,7 +204,7 @@ public class MyContactsPage extends BasePage {
      */
     public MyContactsPage selectHomeCountry(Country country) {
         log.info("Selecting Home Country: {}", country.getDisplayName());
-        homeCountry1Select.selectOption(country.getDisplayName());
+        selectEnumOption(homeCountry1Select, country, Country::getDisplayName, Set.of(Country.ALL_COUNTRIES));
         return this;
     }
 
@@ -169,7 +215,7 @@ public class MyContactsPage extends BasePage {
      */
     public MyContactsPage selectBusinessCountry(Country country) {
         log.info("Selecting Business Country: {}", country.getDisplayName());
-        businessCountry1Select.selectOption(country.getDisplayName());
+        selectEnumOption(businessCountry1Select, country, Country::getDisplayName, Set.of(Country.ALL_COUNTRIES));
         return this;
     }
 
@@ -180,7 +226,7 @@ public class MyContactsPage extends BasePage {
      */
     public MyContactsPage selectFaxCountry(Country country) {
         log.info("Selecting Fax Country: {}", country.getDisplayName());
-        faxCountry1Select.selectOption(country.getDisplayName());
+        selectEnumOption(faxCountry1Select, country, Country::getDisplayName, Set.of(Country.ALL_COUNTRIES));
         return this;
     }
 
@@ -279,7 +325,12 @@ public class MyContactsPage extends BasePage {
     public MyContactsPage clickSaveBtn() {
         log.info("Clicking Save button");
         saveBtn.click();
-        page.waitForTimeout(1000);
+        waitForLoadingToDisappear();
+        try {
+            waitForState(successMsg, WaitForSelectorState.VISIBLE, 10000);
+        } catch (TimeoutError e) {
+            log.warn("Success message did not appear within 10000 ms after saving");
+        }
         return this;
     }
 
@@ -339,8 +390,7 @@ public class MyContactsPage extends BasePage {
      */
     public MyContactsPage waitForContactsListToLoad() {
         log.info("Waiting for contacts list table to load");
-        contactsListTable.waitFor(new Locator.WaitForOptions()
-                .setState(com.microsoft.playwright.options.WaitForSelectorState.VISIBLE));
+        waitForState(contactsListTable, WaitForSelectorState.VISIBLE);
         return this;
     }
 
@@ -355,13 +405,12 @@ public class MyContactsPage extends BasePage {
     }
 
     /**
-     * Get text from specific cell in the first contact row
-     * @param cellIndex 0-based index (0=checkbox, 1=name, 2=department, 3=mobile, 4=home, 5=business, 6=fax, 7=email, 8=groups)
-     * @return Text content of the cell
+     * Read the contacts list (name, department, phones, email of every contact) in one round trip
+     * Waits for the first contact row to be rendered
      */
-    public String getFirstContactCellText(int cellIndex) {
-        log.info("Getting text from cell {} in first contact row", cellIndex);
-        return firstContactRow.locator("td").nth(cellIndex).textContent().trim();
+    public TableSnapshot getContactsSnapshot() {
+        waitForState(firstContactRow, WaitForSelectorState.VISIBLE);
+        return TableSnapshot.of(contactsListTable, "tbody tr.atRow");
     }
 
     /**
@@ -380,7 +429,7 @@ public class MyContactsPage extends BasePage {
         log.info("Clicking Confirm Yes button");
         confirmYesBtn.click();
         waitForLoadingToDisappear();
-        page.waitForTimeout(500);
+        waitForState(confirmYesBtn, WaitForSelectorState.HIDDEN);
         return this;
     }
 
@@ -393,42 +442,6 @@ public class MyContactsPage extends BasePage {
         return firstContactRow.locator("td.department div").textContent().trim();
     }
 
-    /**
-     * Get first contact mobile phone
-     * @return Mobile phone (e.g., "972-58-5039568")
-     */
-    public String getFirstContactMobile() {
-        log.info("Getting first contact mobile phone");
-        return firstContactRow.locator("td.phoneCell").nth(0).locator("div").textContent().trim();
-    }
-
-    /**
-     * Get first contact home phone
-     * @return Home phone (e.g., "1-607-5039568")
-     */
-    public String getFirstContactHome() {
-        log.info("Getting first contact home phone");
-        return firstContactRow.locator("td.phoneCell").nth(1).locator("div").textContent().trim();
-    }
-
-    /**
-     * Get first contact business phone
-     * @return Business phone (e.g., "375-296-299929 Ext. 321")
-     */
-    public String getFirstContactBusiness() {
-        log.info("Getting first contact business phone");
-        return firstContactRow.locator("td.phoneCell").nth(2).locator("div").textContent().trim();
-    }
-
-    /**
-     * Get first contact fax phone
-     * @return Fax phone
-     */
-    public String getFirstContactFax() {
-        log.info("Getting first contact fax phone");
-        return firstContactRow.locator("td.phoneCell").nth(3).locator("div").textContent().trim();
-    }
-
     /**
      * Get first contact email
      * @return Email address (e.g., "webautcon5039568@gmail.com")
@@ -497,9 +510,7 @@ public class MyContactsPage extends BasePage {
      */
     private void waitForLoadingToDisappear() {
         try {
-            loadingOverlay.waitFor(new Locator.WaitForOptions()
-                    .setState(com.microsoft.playwright.options.WaitForSelectorState.HIDDEN)
-                    .setTimeout(10000));
+            waitForState(loadingOverlay, WaitForSelectorState.HIDDEN, 10000);
         } catch (Exception e) {
             log.debug("Loading overlay not found or already hidden");
         }
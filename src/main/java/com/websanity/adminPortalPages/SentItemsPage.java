@@ -2,7 +2,9 @@ package com.websanity.adminPortalPages;
 
 import com.microsoft.playwright.Locator;
 import com.microsoft.playwright.Page;
+import com.microsoft.playwright.options.WaitForSelectorState;
 import com.websanity.BasePage;
+import com.websanity.utils.TableSnapshot;
 import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
@@ -53,68 +55,11 @@ public class SentItemsPage extends BasePage {
     }
 
     /**
-     * Get text from specific cell in the first message row
-     * @param cellIndex 0-based index of the cell (0=checkbox, 1=type, 2=attachment, 3=status, 4=to, 5=message, 6=replies, 7=date)
-     * @return Text content of the cell
+     * Read the messages list in one round trip
+     * Cells: 0=checkbox, 1=type (image alt), 2=attachment, 3=status (image alt), 4=to, 5=message, 6=replies, 7=date
      */
-    public String getFirstMessageCellText(int cellIndex) {
-        log.info("Getting text from cell {} in first message row", cellIndex);
-        return firstMessageRow.locator("td").nth(cellIndex).textContent().trim();
-    }
-
-    /**
-     * Get recipient from the first message row (column 4)
-     * @return Recipient text
-     */
-    public String getFirstMessageRecipient() {
-        log.info("Getting recipient from first message row");
-        return getFirstMessageCellText(4);
-    }
-
-    /**
-     * Get message text from the first message row (column 5)
-     * @return Message text
-     */
-    public String getFirstMessageText() {
-        log.info("Getting message text from first message row");
-        return getFirstMessageCellText(5);
-    }
-
-    /**
-     * Get sent date from the first message row (column 7)
-     * @return Sent date text
-     */
-    public String getFirstMessageDate() {
-        log.info("Getting sent date from first message row");
-        return getFirstMessageCellText(7);
-    }
-
-    /**
-     * Get message type from the first message row (column 1)
-     * @return Message type alt text (e.g., "Text")
-     */
-    public String getFirstMessageType() {
-        log.info("Getting message type from first message row");
-        return firstMessageRow.locator("td").nth(1).locator("img").getAttribute("alt");
-    }
-
-    /**
-     * Get message status from the first message row (column 3)
-     * @return Status alt text (e.g., "Message delivered successfully...")
-     */
-    public String getFirstMessageStatus() {
-        log.info("Getting message status from first message row");
-        return firstMessageRow.locator("td").nth(3).locator("img").getAttribute("alt");
-    }
-
-    /**
-     * Check if the first message has an attachment (column 2)
-     * @return true if attachment icon is present, false otherwise
-     */
-    public boolean isFirstMessageHasAttachment() {
-        log.info("Checking if first message has attachment");
-        String cellText = getFirstMessageCellText(2).trim();
-        return !cellText.isEmpty() && !cellText.equals("&nbsp;");
+    public TableSnapshot getMessagesSnapshot() {
+        return TableSnapshot.of(messagesList, "tbody tr.rowEntryFolder");
     }
 
     /**
@@ -152,8 +97,7 @@ public class SentItemsPage extends BasePage {
      */
     public SentItemsPage waitForMessagesListToLoad() {
         log.info("Waiting for messages list to load");
-        messagesList.waitFor(new Locator.WaitForOptions()
-                .setState(com.microsoft.playwright.options.WaitForSelectorState.VISIBLE));
+        waitForState(messagesList, WaitForSelectorState.VISIBLE);
         return this;
     }
 
@@ -196,7 +140,7 @@ public class SentItemsPage extends BasePage {
         log.info("Clicking Confirm Yes button");
         confirmYesBtn.click();
         waitForLoadingToDisappear();
-        page.waitForTimeout(500);
+        waitForState(confirmYesBtn, WaitForSelectorState.HIDDEN);
         return this;
     }
 
@@ -217,9 +161,7 @@ public class SentItemsPage extends BasePage {
     private void waitForLoadingToDisappear() {
         try {
             // Wait for loading overlay to become hidden (max 10 seconds)
-            loadingOverlay.waitFor(new Locator.WaitForOptions()
-                    .setState(com.microsoft.playwright.options.WaitForSelectorState.HIDDEN)
-                    .setTimeout(10000));
+            waitForState(loadingOverlay, WaitForSelectorState.HIDDEN, 10000);
         } catch (Exception e) {
             // If element doesn't appear or already hidden, continue
             log.debug("Loading overlay not found or already hidden");
@@ -245,8 +187,7 @@ public class SentItemsPage extends BasePage {
      */
     public SentItemsPage waitForMessageDetailsToLoad() {
         log.info("Waiting for message details table to load");
-        messageVisibleTable.waitFor(new Locator.WaitForOptions()
-                .setState(com.microsoft.playwright.options.WaitForSelectorState.VISIBLE));
+        waitForState(messageVisibleTable, WaitForSelectorState.VISIBLE);
         return this;
     }
 
@@ -333,8 +274,7 @@ public class SentItemsPage extends BasePage {
      */
     public SentItemsPage waitForRecipientTableToLoad() {
         log.info("Waiting for recipient table to load");
-        recipientTable.waitFor(new Locator.WaitForOptions()
-                .setState(com.microsoft.playwright.options.WaitForSelectorState.VISIBLE));
+        waitForState(recipientTable, WaitForSelectorState.VISIBLE);
         return this;
     }
 
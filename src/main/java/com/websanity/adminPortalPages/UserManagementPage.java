@@ -2,10 +2,25 @@ package com.websanity.adminPortalPages;
 
 import com.microsoft.playwright.Locator;
 import com.microsoft.playwright.Page;
+import com.microsoft.playwright.TimeoutError;
+import com.microsoft.playwright.options.WaitForSelectorState;
 import com.websanity.BasePage;
+import com.websanity.enums.Country;
+import com.websanity.enums.Language;
+import com.websanity.enums.TimeZone;
 import com.websanity.enums.UserTypes;
+import com.websanity.models.UserParams;
+import com.websanity.utils.FormFiller;
+import com.websanity.utils.FormFiller.Field;
+import com.websanity.utils.FormSnapshot;
+import com.websanity.utils.TableSnapshot;
+import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
 @Slf4j
 public class UserManagementPage extends BasePage {
 
@@ -52,6 +67,31 @@ public class UserManagementPage extends BasePage {
     private final Locator updateBtnInBulkUpload;
     private final Locator deleteBtnInBulkUpload;
 
+    // Add/Edit user form fields filled by fillAll and read by getUserFormSnapshot
+    // (service level is selected separately - it reloads the form; language, country and time zone
+    // show the loading overlay, so each of them is filled on its own and waited for)
+    private static final List<Field<UserParams>> USER_FORM = List.of(
+            Field.text("firstName", "#firstName", UserParams::getFirstName),
+            Field.text("lastName", "#lastName", UserParams::getLastName),
+            Field.select("mobileCountryCode", "#mobileCountry1", UserParams::getMobileCountryCode, Country::getCode),
+            Field.text("mobilePhone", "#mobileTelephone1", user -> user.getMobilePhone() == null ? null
+                    : Objects.toString(user.getMobileArea(), "") + user.getMobilePhone()),
+            Field.text("email", "#communicationEmail", UserParams::getEmail),
+            Field.text("username", "#username", UserParams::getUsername),
+            Field.secret("password", "#password", UserParams::getPassword),
+            Field.text("uniqueCustomerCode", "#ucc", UserParams::getUniqueCustomerCode),
+            Field.select("language", "#languageID", UserParams::getLanguage, Language::getValue).reloadsForm(),
+            Field.select("country", "#countryID", UserParams::getCountry, Country::getCode).reloadsForm(),
+            Field.select("timeZone", "#timeZone", UserParams::getTimeZone, TimeZone::getValue).reloadsForm(),
+            Field.checkbox("addToGlobalAddressBook", "#gl_address_book", UserParams::getAddToGlobalAddressBook)
+    );
+
+    /**
+     * How the last fillAll applied the fields (one browser call or per field)
+     */
+    @Getter
+    private FormFiller.Result lastFillResult;
+
     public UserManagementPage(Page page) {
         super(page);
         this.addUserBtn = page.locator(".addUserSubmenu");
@@ -104,9 +144,7 @@ public class UserManagementPage extends BasePage {
     private void waitForLoadingToDisappear() {
         try {
             // Wait for loading overlay to become hidden (max 10 seconds)
-            loadingOverlay.waitFor(new Locator.WaitForOptions()
-                    .setState(com.microsoft.playwright.options.WaitForSelectorState.HIDDEN)
-                    .setTimeout(10000));
+            waitForState(loadingOverlay, WaitForSelectorState.HIDDEN, 10000);
         } catch (Exception e) {
             // If element doesn't appear or already hidden, continue
             log.debug("Loading overlay not found or already hidden");
@@ -140,7 +178,7 @@ public class UserManagementPage extends BasePage {
      */
     public UserManagementPage selectLanguage(com.websanity.enums.Language language) {
         log.info("Selecting language: {}", language.getDisplayName());
-        languageSelect.selectOption(language.getValue());
+        selectEnumOption(languageSelect, language, Language::getValue, Set.of(Language.EMPTY));
         waitForLoadingToDisappear();
         return this;
     }
@@ -167,7 +205,7 @@ public class UserManagementPage extends BasePage {
      */
     public UserManagementPage selectTimeZone(com.websanity.enums.TimeZone timeZone) {
         log.info("Selecting time zone: {}", timeZone.getDisplayName());
-        timeZoneSelect.selectOption(timeZone.getValue());
+        selectEnumOption(timeZoneSelect, timeZone, TimeZone::getValue);
         waitForLoadingToDisappear();
         return this;
     }
@@ -194,7 +232,7 @@ public class UserManagementPage extends BasePage {
      */
     public UserManagementPage selectCountry(com.websanity.enums.Country country) {
         log.info("Selecting country: {}", country.getDisplayName());
-        countrySelect.selectOption(country.getCode());
+        selectEnumOption(countrySelect, country, Country::getCode, Set.of(Country.ALL_COUNTRIES));
         waitForLoadingToDisappear();
         return this;
     }
@@ -215,6 +253,28 @@ public class UserManagementPage extends BasePage {
         }
     }
 
+    /**
+     * Fill every user form field that has a value in UserParams (mobile phone = area + number)
+     * Service level is selected first, the rest is filled in one browser call with per-field fallback - see FormFiller.
+     * Language, country and time zone are selected one by one, each followed by the loading overlay wait
+     */
+    public UserManagementPage fillAll(UserParams user) {
+        if (user.getUserType() != null) {
+            selectServiceLevel(user.getUserType());
+        }
+        lastFillResult = FormFiller.fill(page.locator("body"), USER_FORM, user, this::waitForLoadingToDisappear);
+        waitForLoadingToDisappear();
+        return this;
+    }
+
+    /**
+     * Read all user form fields in one call (e.g. after clickFirstUserUsername)
+     * Use assertMatches(expected UserParams) to verify them with one message listing every mismatch
+     */
+    public FormSnapshot<UserParams> getUserFormSnapshot() {
+        return FormSnapshot.of(page.locator("body"), USER_FORM);
+    }
+
     /**
      * Fill in first name
      * @param firstName The first name to fill in
@@ -244,7 +304,7 @@ public class UserManagementPage extends BasePage {
      */
     public UserManagementPage fillMobilePhone(com.websanity.enums.Country country, String phoneNumber) {
         log.info("Filling mobile phone: {} - {}", country.getDisplayName(), phoneNumber);
-        mobileCountrySelect.selectOption(country.getCode());
+        selectEnumOption(mobileCountrySelect, country, Country::getCode, Set.of(Country.ALL_COUNTRIES));
         mobileTelephoneInput.clear();
         mobileTelephoneInput.fill(phoneNumber);
         return this;
@@ -318,7 +378,14 @@ public class UserManagementPage extends BasePage {
     public UserManagementPage clickSaveBtn() {
         log.info("Clicking Save button");
         saveBtn.click();
-        page.waitForTimeout(1000);
+        waitForLoadingToDisappear();
+        try {
+            // Creating a user shows the success message, editing a user closes the form
+            page.waitForCondition(() -> successMsg.isVisible() || !saveBtn.isVisible(),
+                    new Page.WaitForConditionOptions().setTimeout(DEFAULT_WAIT_TIMEOUT_MS));
+        } catch (TimeoutError e) {
+            log.warn("No save result (success message or closed form) within {} ms", DEFAULT_WAIT_TIMEOUT_MS);
+        }
         return this;
     }
 
@@ -329,9 +396,7 @@ public class UserManagementPage extends BasePage {
         log.info("Clicking Save button");
         saveBtn.click();
         log.info("Waiting for Add User Summary popup to appear");
-        addUserSummaryPopUp.waitFor(new Locator.WaitForOptions()
-                .setState(com.microsoft.playwright.options.WaitForSelectorState.VISIBLE)
-                .setTimeout(30000));
+        waitForState(addUserSummaryPopUp, WaitForSelectorState.VISIBLE, 30000);
         return this;
     }
 
@@ -388,9 +453,7 @@ public class UserManagementPage extends BasePage {
         closeErrorsSummaryBtn.click();
 
         // Verify the popup is no longer visible
-        addUserSummaryPopUp.waitFor(new Locator.WaitForOptions()
-                .setState(com.microsoft.playwright.options.WaitForSelectorState.HIDDEN)
-                .setTimeout(5000));
+        waitForState(addUserSummaryPopUp, WaitForSelectorState.HIDDEN, 5000);
         log.info("Errors summary popup is now hidden");
 
         return this;
@@ -412,8 +475,12 @@ public class UserManagementPage extends BasePage {
      */
     public UserManagementPage clickSearchBtn() {
         log.info("Clicking Search Contacts Submit button");
-        searchBtn.click();
-        page.waitForTimeout(1000);
+        try {
+            waitForRefresh(contentTable.locator("tr"), searchBtn::click);
+        } catch (TimeoutError e) {
+            log.warn("Users table was not refreshed within {} ms", DEFAULT_WAIT_TIMEOUT_MS);
+        }
+        waitForLoadingToDisappear();
         return this;
     }
 
@@ -423,8 +490,8 @@ public class UserManagementPage extends BasePage {
      */
     public String getFirstUserFirstName() {
         try {
-            // Get second tr (index 1) - first data row, then get 5th td (index 4) - First Name column
-            String firstName = contentTable.locator("tr").nth(1).locator("td").nth(4).textContent().trim();
+            // 5th td (index 4) - First Name column
+            String firstName = getFirstUserRow().cell(4);
             log.info("First user first name: {}", firstName);
             return firstName;
         } catch (Exception e) {
@@ -439,8 +506,8 @@ public class UserManagementPage extends BasePage {
      */
     public String getFirstUserLastName() {
         try {
-            // Get second tr (index 1) - first data row, then get 6th td (index 5) - Last Name column
-            String lastName = contentTable.locator("tr").nth(1).locator("td").nth(5).textContent().trim();
+            // 6th td (index 5) - Last Name column
+            String lastName = getFirstUserRow().cell(5);
             log.info("First user last name: {}", lastName);
             return lastName;
         } catch (Exception e) {
@@ -455,8 +522,8 @@ public class UserManagementPage extends BasePage {
      */
     public String getFirstUserUsername() {
         try {
-            // Get second tr (index 1) - first data row, then get 7th td (index 6) - Username column
-            String username = contentTable.locator("tr").nth(1).locator("td").nth(6).textContent().trim();
+            // 7th td (index 6) - Username column
+            String username = getFirstUserRow().cell(6);
             log.info("First user username: {}", username);
             return username;
         } catch (Exception e) {
@@ -473,7 +540,7 @@ public class UserManagementPage extends BasePage {
             log.info("Clicking first user username");
             // Get second tr (index 1) - first data row, then get 7th td (index 6) - Username column
             contentTable.locator("tr").nth(1).locator("td").nth(6).click();
-            page.waitForTimeout(500);
+            waitForState(firstNameInput, WaitForSelectorState.VISIBLE);
             return this;
         } catch (Exception e) {
             log.error("Failed to click username: {}", e.getMessage());
@@ -487,8 +554,8 @@ public class UserManagementPage extends BasePage {
      */
     public String getFirstUserServiceLevel() {
         try {
-            // Get second tr (index 1) - first data row, then get 4th td (index 3) - Service Level column
-            String serviceLevel = contentTable.locator("tr").nth(1).locator("td").nth(3).textContent().trim();
+            // 4th td (index 3) - Service Level column
+            String serviceLevel = getFirstUserRow().cell(3);
             log.info("First user service level: {}", serviceLevel);
             return serviceLevel;
         } catch (Exception e) {
@@ -503,8 +570,8 @@ public class UserManagementPage extends BasePage {
      */
     public String getFirstUserEmail() {
         try {
-            // Get second tr (index 1) - first data row, then get 8th td (index 7) - Email column
-            String email = contentTable.locator("tr").nth(1).locator("td").nth(7).textContent().trim();
+            // 8th td (index 7) - Email column
+            String email = getFirstUserRow().cell(7);
             log.info("First user email: {}", email);
             return email;
         } catch (Exception e) {
@@ -519,8 +586,8 @@ public class UserManagementPage extends BasePage {
      */
     public String getFirstUserMobile() {
         try {
-            // Get second tr (index 1) - first data row, then get 9th td (index 8) - Mobile column
-            String mobile = contentTable.locator("tr").nth(1).locator("td").nth(8).textContent().trim();
+            // 9th td (index 8) - Mobile column
+            String mobile = getFirstUserRow().cell(8);
             log.info("First user mobile: {}", mobile);
             return mobile;
         } catch (Exception e) {
@@ -535,9 +602,8 @@ public class UserManagementPage extends BasePage {
      */
     public String getFirstUserStatus() {
         try {
-            // Get second tr (index 1) - first data row, then get 2nd td (index 1) - Status column
-            // Get the img element's title attribute
-            String status = contentTable.locator("tr").nth(1).locator("td").nth(1).locator("img").getAttribute("title");
+            // 2nd td (index 1) - Status column, the status is the title of its image
+            String status = getFirstUserRow().imageTitle(1);
             log.info("First user status: {}", status);
             return status;
         } catch (Exception e) {
@@ -567,7 +633,7 @@ public class UserManagementPage extends BasePage {
      */
     public boolean isFirstUserCheckboxSelected() {
         try {
-            boolean isChecked = contentTable.locator("tr").nth(1).locator("td").nth(0).locator("input[type='checkbox']").isChecked();
+            boolean isChecked = getFirstUserRow().isChecked();
             log.info("First user checkbox is checked: {}", isChecked);
             return isChecked;
         } catch (Exception e) {
@@ -636,7 +702,7 @@ public class UserManagementPage extends BasePage {
         log.info("Clicking Confirm Yes button");
         confirmYesBtn.click();
         waitForLoadingToDisappear();
-        page.waitForTimeout(500);
+        waitForState(confirmYesBtn, WaitForSelectorState.HIDDEN);
         return this;
     }
 
@@ -676,10 +742,9 @@ public class UserManagementPage extends BasePage {
      */
     public boolean isContentTableEmpty() {
         try {
-            int rowCount = contentTable.locator("tr").count();
-            // rowCount = 1 means only header row exists (no data rows)
-            boolean isEmpty = rowCount <= 1;
-            log.info("Content table is empty: {} (row count: {})", isEmpty, rowCount);
+            int rowCount = getUsersSnapshot().size();
+            boolean isEmpty = rowCount == 0;
+            log.info("Content table is empty: {} (data row count: {})", isEmpty, rowCount);
             return isEmpty;
         } catch (Exception e) {
             log.error("Failed to check if content table is empty: {}", e.getMessage());
@@ -735,9 +800,7 @@ public class UserManagementPage extends BasePage {
         addUsersBtn.click();
 
         // Wait for the Add Users from File popup to be visible
-        addUsersFromFilePopUp.waitFor(new Locator.WaitForOptions()
-                .setState(com.microsoft.playwright.options.WaitForSelectorState.VISIBLE)
-                .setTimeout(5000));
+        waitForState(addUsersFromFilePopUp, WaitForSelectorState.VISIBLE, 5000);
         log.info("Add Users from File popup is visible");
 
         return this;
@@ -751,9 +814,7 @@ public class UserManagementPage extends BasePage {
         updateUsersBtn.click();
 
         // Wait for the Add Users from File popup to be visible
-        addUsersFromFilePopUp.waitFor(new Locator.WaitForOptions()
-                .setState(com.microsoft.playwright.options.WaitForSelectorState.VISIBLE)
-                .setTimeout(5000));
+        waitForState(addUsersFromFilePopUp, WaitForSelectorState.VISIBLE, 5000);
         log.info("Add Users from File popup is visible");
 
         return this;
@@ -767,9 +828,7 @@ public class UserManagementPage extends BasePage {
         deleteUsersBtn.click();
 
         // Wait for the Add Users from File popup to be visible
-        addUsersFromFilePopUp.waitFor(new Locator.WaitForOptions()
-                .setState(com.microsoft.playwright.options.WaitForSelectorState.VISIBLE)
-                .setTimeout(5000));
+        waitForState(addUsersFromFilePopUp, WaitForSelectorState.VISIBLE, 5000);
         log.info("Add Users from File popup is visible");
         return this;
     }
@@ -781,7 +840,6 @@ public class UserManagementPage extends BasePage {
     public UserManagementPage selectBulkActionsServiceLevel(UserTypes userType) {
         log.info("Selecting bulk actions service level: {}", userType.getDisplayName());
         bulkActionsServiceLevelSelect.selectOption(userType.getValue());
-        page.waitForTimeout(500);
         return this;
     }
 
@@ -791,8 +849,8 @@ public class UserManagementPage extends BasePage {
      */
     public UserManagementPage uploadFile(String filePath) {
         log.info("Uploading file: {}", filePath);
+        // setInputFiles returns after the change event; the following button click waits for the button to be enabled
         fileUploadInput.setInputFiles(java.nio.file.Paths.get(filePath));
-        page.waitForTimeout(1000); // Wait for file to be processed
         return this;
     }
 
@@ -805,9 +863,7 @@ public class UserManagementPage extends BasePage {
         AddBtnInBulkUpload.click();
 
         // Wait for the bulk upload summary popup to be visible
-        addUserSummaryPopUp.waitFor(new Locator.WaitForOptions()
-                .setState(com.microsoft.playwright.options.WaitForSelectorState.VISIBLE)
-                .setTimeout(30000));
+        waitForState(addUserSummaryPopUp, WaitForSelectorState.VISIBLE, 30000);
         log.info("Bulk upload summary popup is visible");
 
         return this;
@@ -822,9 +878,7 @@ public class UserManagementPage extends BasePage {
         updateBtnInBulkUpload.click();
 
         // Wait for the bulk upload summary popup to be visible
-        addUserSummaryPopUp.waitFor(new Locator.WaitForOptions()
-                .setState(com.microsoft.playwright.options.WaitForSelectorState.VISIBLE)
-                .setTimeout(30000));
+        waitForState(addUserSummaryPopUp, WaitForSelectorState.VISIBLE, 30000);
         log.info("Bulk upload summary popup is visible");
 
         return this;
@@ -839,9 +893,7 @@ public class UserManagementPage extends BasePage {
         deleteBtnInBulkUpload.click();
 
         // Wait for the bulk upload summary popup to be visible
-        addUserSummaryPopUp.waitFor(new Locator.WaitForOptions()
-                .setState(com.microsoft.playwright.options.WaitForSelectorState.VISIBLE)
-                .setTimeout(30000));
+        waitForState(addUserSummaryPopUp, WaitForSelectorState.VISIBLE, 30000);
         log.info("Bulk upload summary popup is visible");
 
         return this;
@@ -889,6 +941,21 @@ public class UserManagementPage extends BasePage {
         }
     }
 
+    /**
+     * Read the users table (cell text, link titles, row checkboxes) in one round trip
+     */
+    public TableSnapshot getUsersSnapshot() {
+        return TableSnapshot.of(contentTable);
+    }
+
+    /**
+     * First data row of the users table
+     * @throws IndexOutOfBoundsException if the table has no users
+     */
+    private TableSnapshot.Row getFirstUserRow() {
+        return getUsersSnapshot().row(0);
+    }
+
     /**
      * Check if specific users exist in the content table by their usernames
      * @param usernames List of usernames to verify
@@ -898,18 +965,11 @@ public class UserManagementPage extends BasePage {
         log.info("Verifying {} users exist in the table", usernames.size());
 
         try {
-            // Get all username cells from the table (7th column, index 6)
-            Locator usernameLinks = contentTable.locator("tr td:nth-child(7) a");
-            int count = usernameLinks.count();
-
-            // Collect all usernames from the table
-            java.util.List<String> tableUsernames = new java.util.ArrayList<>();
-            for (int i = 0; i < count; i++) {
-                String username = usernameLinks.nth(i).getAttribute("title");
-                if (username != null && !username.isEmpty()) {
-                    tableUsernames.add(username);
-                }
-            }
+            // Username links are in the 7th column (index 6), the full username is in their title
+            java.util.List<String> tableUsernames = getUsersSnapshot().rows().stream()
+                    .map(row -> row.linkTitle(6))
+                    .filter(username -> username != null && !username.isEmpty())
+                    .toList();
 
             log.info("Found {} users in the table: {}", tableUsernames.size(), tableUsernames);
 
@@ -949,9 +1009,9 @@ public class UserManagementPage extends BasePage {
         log.info("Verifying that table contains only one user and it's a manager");
 
         try {
-            // Get all table rows (excluding header)
-            Locator tableRows = contentTable.locator("tr").filter(new Locator.FilterOptions().setHas(page.locator("td")));
-            int rowCount = tableRows.count();
+            // All data rows (excluding header) in one read
+            TableSnapshot users = getUsersSnapshot();
+            int rowCount = users.size();
 
             log.info("Found {} user(s) in the table", rowCount);
 
@@ -962,8 +1022,7 @@ public class UserManagementPage extends BasePage {
             }
 
             // Get the service level of the single user (4th column, index 3)
-            Locator serviceLevelCell = tableRows.first().locator("td:nth-child(4) a");
-            String serviceLevel = serviceLevelCell.getAttribute("title");
+            String serviceLevel = users.row(0).linkTitle(3);
 
             log.info("User service level: {}", serviceLevel);
 
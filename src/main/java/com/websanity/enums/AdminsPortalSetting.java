@@ -0,0 +1,34 @@
+package com.websanity.enums;
+
+import com.websanity.utils.CheckboxMatrix;
+import lombok.Getter;
+
+/**
+ * Checkboxes of the teleadmin Company Admin's Portal Settings page
+ * Declared in page order - "All Items" and "All Settings" come before the items they select
+ */
+@Getter
+public enum AdminsPortalSetting implements CheckboxMatrix.Setting {
+
+    ALL_ITEMS("#allItemsCheckbox", "All Items"),
+    COMPOSE("#composeCheckbox", "Compose"),
+    OUTBOX("#outboxCheckbox", "Outbox"),
+    SENT_ITEMS("#sentItemsCheckbox", "Sent Items"),
+    INBOX("#inboxCheckbox", "Inbox"),
+    ALL_SETTINGS("#allSettingsCheckbox", "All Settings"),
+    MESSENGER_APP_SETTINGS("#messengerAppSettingsCheckbox", "Messenger App Settings"),
+    ADVANCED_SETTINGS("#advancedSettingsCheckbox", "Advanced Settings"),
+    MESSAGE_SETTINGS("#messageSettingsCheckbox", "Message Settings"),
+    ARCHIVE_MANAGEMENT("#archiveManagementCheckbox", "Archive Management"),
+    DISPLAY_MY_CONTACTS("#displayMyContactsCheckbox", "Display My Contacts"),
+    DISPLAY_GLOBAL_CONTACTS("#displayGlobalContactsCheckbox", "Display Global Contacts"),
+    DISPLAY_MESSAGE_QUERY("#displayMessageQueryCheckbox", "Display Message Query");
+
+    private final String selector;
+    private final String displayName;
+
+    AdminsPortalSetting(String selector, String displayName) {
+        this.selector = selector;
+        this.displayName = displayName;
+    }
+}
@@ -0,0 +1,29 @@
+package com.websanity.enums;
+
+import com.websanity.utils.CheckboxMatrix;
+import lombok.Getter;
+
+/**
+ * Security option checkboxes of the admin portal Messenger App Settings page
+ */
+@Getter
+public enum MessengerAppSetting implements CheckboxMatrix.Setting {
+
+    DISABLE_SCREEN_CAPTURE("#disableScreenCapture_visible", "Disable Screen Capture (Android only)"),
+    DISABLE_COPY("#disableCopy_visible", "Disable Copy"),
+    DISABLE_SHARE_MEDIA("#disableShare_Media_visible", "Disable Share Media"),
+    DISABLE_NOTIFICATION_PREVIEW("#disable_Notification_Preview_visible", "Disable Notification's Preview"),
+    DISABLE_ATTACHMENTS("#disable_Attachments_visible", "Disable Attachments"),
+    DISABLE_LOCAL_CONTACTS("#disable_Local_Contacts_visible", "Disable Local Contacts"),
+    DISABLE_NATIVE_PHONE_DIALER("#disable_Native_Phone_Dialer_visible", "Disable Native Phone Dialer"),
+    DISABLE_BACK_UP_AND_RESTORE("#disable_Back_Up_And_Restore_visible", "Disable Back Up and Restore"),
+    DISABLE_DISTRIBUTION_OF_NEW_VERSIONS("#disable_Auto_Upgrade_Popup_visible", "Disable Distribution of New Versions");
+
+    private final String selector;
+    private final String displayName;
+
+    MessengerAppSetting(String selector, String displayName) {
+        this.selector = selector;
+        this.displayName = displayName;
+    }
+}
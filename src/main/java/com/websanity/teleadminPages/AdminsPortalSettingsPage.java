@@ -2,9 +2,14 @@ package com.websanity.teleadminPages;
 
 import com.microsoft.playwright.Locator;
 import com.microsoft.playwright.Page;
+import com.microsoft.playwright.options.WaitForSelectorState;
 import com.websanity.BasePage;
+import com.websanity.enums.AdminsPortalSetting;
+import com.websanity.utils.CheckboxMatrix;
 import lombok.extern.slf4j.Slf4j;
 
+import java.util.Map;
+
 @Slf4j
 public class AdminsPortalSettingsPage extends BasePage {
 
@@ -47,6 +52,14 @@ public class AdminsPortalSettingsPage extends BasePage {
         this.displayMessageQueryCheckbox = page.locator("#displayMessageQueryCheckbox");
     }
 
+    /**
+     * Page is ready when the Admin's Portal settings Save button is shown
+     */
+    @Override
+    protected Locator getReadyLocator() {
+        return saveAdminPortalSettingsBtn;
+    }
+
     // ========== All Items Checkbox ==========
 
     /**
@@ -294,6 +307,23 @@ public class AdminsPortalSettingsPage extends BasePage {
         return displayMessageQueryCheckbox.isChecked();
     }
 
+    // ========== All Checkboxes ==========
+
+    /**
+     * Read the state of every checkbox in one call
+     */
+    public Map<AdminsPortalSetting, Boolean> getSettings() {
+        return CheckboxMatrix.read(page.locator("body"), AdminsPortalSetting.class);
+    }
+
+    /**
+     * Click only the checkboxes whose state differs from the desired one (in one call, not saved)
+     * @return states before and after the clicks
+     */
+    public CheckboxMatrix.Result<AdminsPortalSetting> applySettings(Map<AdminsPortalSetting, Boolean> desired) {
+        return CheckboxMatrix.apply(page.locator("body"), AdminsPortalSetting.class, desired);
+    }
+
     // ========== Save Admin Portal Settings Button ==========
 
     /**
@@ -302,7 +332,7 @@ public class AdminsPortalSettingsPage extends BasePage {
     public AdminsPortalSettingsPage clickSaveAdminPortalSettingsBtn() {
         log.info("Clicking Save Admin Portal Settings button");
         saveAdminPortalSettingsBtn.click();
-        page.waitForTimeout(2000);
+        waitForState(adminPortalAlertSuccess, WaitForSelectorState.VISIBLE);
         return this;
     }
 
@@ -2,6 +2,7 @@ package com.websanity.teleadminPages;
 
 import com.microsoft.playwright.Locator;
 import com.microsoft.playwright.Page;
+import com.microsoft.playwright.options.WaitForSelectorState;
 import com.websanity.BasePage;
 import com.websanity.enums.SignatureTextInheritance;
 import com.websanity.enums.SignatureType;
@@ -37,6 +38,14 @@ public class ApplicationsSettingPage extends BasePage {
         this.saveCompanyLevelSettingsButton = page.locator("#save_company_level_settings");
     }
 
+    /**
+     * Page is ready when the Signature button or the company level settings Save button is shown
+     */
+    @Override
+    protected Locator getReadyLocator() {
+        return signatureButton.or(saveCompanyLevelSettingsButton).first();
+    }
+
     /**
      * Click on Signature button
      */
@@ -46,7 +55,7 @@ public class ApplicationsSettingPage extends BasePage {
 
         log.info("Waiting for Signature popup to appear");
         try {
-            signaturePopUp.waitFor(new Locator.WaitForOptions().setTimeout(30000));
+            waitForState(signaturePopUp, WaitForSelectorState.VISIBLE, 30000);
             log.info("Signature popup appeared successfully");
         } catch (Exception e) {
             String errorMsg = "Signature popup did not appear after clicking Signature button";
@@ -160,7 +169,7 @@ public class ApplicationsSettingPage extends BasePage {
     public ApplicationsSettingPage waitForSignatureSuccessAlert() {
         log.info("Waiting for signature success alert to appear");
         try {
-            signatureAlertSuccess.waitFor(new Locator.WaitForOptions().setTimeout(30000));
+            waitForState(signatureAlertSuccess, WaitForSelectorState.VISIBLE, 30000);
             log.info("Signature success alert appeared successfully");
         } catch (Exception e) {
             String errorMsg = "Signature success alert did not appear";
@@ -170,6 +179,15 @@ public class ApplicationsSettingPage extends BasePage {
         return this;
     }
 
+    /**
+     * Wait until the signature success alert is hidden again
+     */
+    public ApplicationsSettingPage waitForSignatureSuccessAlertToDisappear() {
+        log.info("Waiting for signature success alert to disappear");
+        waitForState(signatureAlertSuccess, WaitForSelectorState.HIDDEN);
+        return this;
+    }
+
     /**
      * Check if signature success alert is visible
      * @return true if visible, false otherwise
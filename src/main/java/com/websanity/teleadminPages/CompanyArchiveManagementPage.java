@@ -2,9 +2,13 @@ package com.websanity.teleadminPages;
 
 import com.microsoft.playwright.Locator;
 import com.microsoft.playwright.Page;
+import com.microsoft.playwright.options.WaitForSelectorState;
 import com.websanity.BasePage;
+import com.websanity.utils.TableSnapshot;
 import lombok.extern.slf4j.Slf4j;
 
+import java.util.Optional;
+
 @Slf4j
 public class CompanyArchiveManagementPage extends BasePage {
 
@@ -86,15 +90,21 @@ public class CompanyArchiveManagementPage extends BasePage {
         this.confirmActionYesButton = page.locator("#confirm-action");
     }
 
+    /**
+     * Page is ready when the Add New Source button is shown
+     */
+    @Override
+    protected Locator getReadyLocator() {
+        return addNewSourceButton;
+    }
+
     /**
      * Check if Company Archive Management page is opened
      * @return true if page is opened
      */
     public boolean isCompanyArchiveManagementPageOpened() {
         try {
-            addNewPlanButton.waitFor(new Locator.WaitForOptions()
-                    .setState(com.microsoft.playwright.options.WaitForSelectorState.VISIBLE)
-                    .setTimeout(30000));
+            waitForState(addNewPlanButton, WaitForSelectorState.VISIBLE, 30000);
             return true;
         } catch (Exception e) {
             log.error("Company Archive Management page did not open: " + e.getMessage());
@@ -110,9 +120,7 @@ public class CompanyArchiveManagementPage extends BasePage {
         addNewSourceButton.click();
 
         log.info("Waiting for Create Archive Source form to load");
-        sourceTypesListSelectBox.waitFor(new Locator.WaitForOptions()
-                .setState(com.microsoft.playwright.options.WaitForSelectorState.VISIBLE)
-                .setTimeout(30000));
+        waitForState(sourceTypesListSelectBox, WaitForSelectorState.VISIBLE, 30000);
 
         return this;
     }
@@ -218,6 +226,13 @@ public class CompanyArchiveManagementPage extends BasePage {
         return this;
     }
 
+    /**
+     * Read the source policies table (headers, cells, data-id of the rows) in one round trip
+     */
+    public TableSnapshot getSourcePoliciesSnapshot() {
+        return TableSnapshot.of(sourcePoliciesTable);
+    }
+
     /**
      * Get row by Source Policy ID
      * @param sourcePolicyId the ID to search for
@@ -456,9 +471,7 @@ public class CompanyArchiveManagementPage extends BasePage {
         addPolicyButton.click();
 
         log.info("Waiting for page to load after adding policy");
-        addNewPlanButton.waitFor(new Locator.WaitForOptions()
-                .setState(com.microsoft.playwright.options.WaitForSelectorState.VISIBLE)
-                .setTimeout(30000));
+        waitForState(addNewPlanButton, WaitForSelectorState.VISIBLE, 30000);
 
         return this;
     }
@@ -526,9 +539,7 @@ public class CompanyArchiveManagementPage extends BasePage {
         addPlanButton.click();
 
         log.info("Waiting for plans table to load after adding plan");
-        plansTable.waitFor(new Locator.WaitForOptions()
-                .setState(com.microsoft.playwright.options.WaitForSelectorState.VISIBLE)
-                .setTimeout(30000));
+        waitForState(plansTable, WaitForSelectorState.VISIBLE, 30000);
 
         return this;
     }
@@ -541,9 +552,7 @@ public class CompanyArchiveManagementPage extends BasePage {
         addSourceButton.click();
 
         log.info("Waiting for page to load after adding source");
-        addNewPlanButton.waitFor(new Locator.WaitForOptions()
-                .setState(com.microsoft.playwright.options.WaitForSelectorState.VISIBLE)
-                .setTimeout(30000));
+        waitForState(addNewPlanButton, WaitForSelectorState.VISIBLE, 30000);
 
         return this;
     }
@@ -579,6 +588,13 @@ public class CompanyArchiveManagementPage extends BasePage {
         return policiesTableHeaders.count();
     }
 
+    /**
+     * Read the policies table in one round trip
+     */
+    public TableSnapshot getPoliciesSnapshot() {
+        return TableSnapshot.of(policiesTable);
+    }
+
     /**
      * Get first row from policies table
      * @return Locator for the first row
@@ -693,6 +709,13 @@ public class CompanyArchiveManagementPage extends BasePage {
         return plansTableHeaders.count();
     }
 
+    /**
+     * Read the plans table in one round trip
+     */
+    public TableSnapshot getPlansSnapshot() {
+        return TableSnapshot.of(plansTable);
+    }
+
     /**
      * Get first row from plans table
      * @return Locator for the first row
@@ -753,7 +776,8 @@ public class CompanyArchiveManagementPage extends BasePage {
     public CompanyArchiveManagementPage clickFirstPlanRowManageUsersButton() {
         log.info("Clicking Manage Users button in first plan row");
         getFirstPlanRow().locator("button.manage-users").click();
-        page.waitForTimeout(1500);
+        // Modal loads the current assignments of the plan
+        waitForState(assignUsersTable.locator("tbody tr").first(), WaitForSelectorState.VISIBLE);
         return this;
     }
 
@@ -842,9 +866,7 @@ public class CompanyArchiveManagementPage extends BasePage {
      */
     public boolean waitForAssignUsersTableVisible() {
         try {
-            assignUsersTable.waitFor(new Locator.WaitForOptions()
-                    .setState(com.microsoft.playwright.options.WaitForSelectorState.VISIBLE)
-                    .setTimeout(30000));
+            waitForState(assignUsersTable, WaitForSelectorState.VISIBLE, 30000);
             return true;
         } catch (Exception e) {
             log.error("Assign Users table did not appear: " + e.getMessage());
@@ -870,9 +892,7 @@ public class CompanyArchiveManagementPage extends BasePage {
      */
     public boolean waitForAssignUsersSearchInputVisible() {
         try {
-            assignUsersSearchInput.waitFor(new Locator.WaitForOptions()
-                    .setState(com.microsoft.playwright.options.WaitForSelectorState.VISIBLE)
-                    .setTimeout(30000));
+            waitForState(assignUsersSearchInput, WaitForSelectorState.VISIBLE, 30000);
             return true;
         } catch (Exception e) {
             log.error("Assign Users search input did not appear: " + e.getMessage());
@@ -900,7 +920,12 @@ public class CompanyArchiveManagementPage extends BasePage {
         log.info("Filling Assign Users search field with: " + searchText);
         assignUsersSearchInput.clear();
         assignUsersSearchInput.fill(searchText);
-        page.waitForTimeout(1000); // Wait for search to complete
+        // Wait until the table shows only matching rows (or the "no matching records" row)
+        page.waitForCondition(() -> {
+            Locator rows = assignUsersTable.locator("tbody tr");
+            return rows.locator("td.dataTables_empty").count() > 0
+                    || rows.count() > 0 && rows.filter(new Locator.FilterOptions().setHasNotText(searchText)).count() == 0;
+        }, new Page.WaitForConditionOptions().setTimeout(DEFAULT_WAIT_TIMEOUT_MS));
         return this;
     }
 
@@ -918,7 +943,8 @@ public class CompanyArchiveManagementPage extends BasePage {
     public CompanyArchiveManagementPage clearAssignUsersSearch() {
         log.info("Clearing Assign Users search field");
         assignUsersSearchInput.clear();
-        page.waitForTimeout(1000); // Wait for search to clear
+        // Wait until DataTables shows all records again
+        waitForJs(null, "() => !window.jQuery || (info => info.recordsDisplay === info.recordsTotal)(jQuery('#assign-users').DataTable().page.info())");
         return this;
     }
 
@@ -952,8 +978,7 @@ public class CompanyArchiveManagementPage extends BasePage {
      */
     public CompanyArchiveManagementPage clickFirstUserCheckbox() {
         log.info("Clicking checkbox for first user in Assign Users table");
-        getFirstAssignUsersRow().locator("input.assign-plan-check").click();
-        page.waitForTimeout(500); // Wait for checkbox state to update
+        toggleCheckbox(getFirstAssignUsersRow().locator("input.assign-plan-check"));
         return this;
     }
 
@@ -963,8 +988,7 @@ public class CompanyArchiveManagementPage extends BasePage {
      */
     public CompanyArchiveManagementPage clickUserCheckboxById(String userId) {
         log.info("Clicking checkbox for user ID: " + userId);
-        assignUsersTable.locator("tr[data-id='" + userId + "'] input.assign-plan-check").click();
-        page.waitForTimeout(500); // Wait for checkbox state to update
+        toggleCheckbox(assignUsersTable.locator("tr[data-id='" + userId + "'] input.assign-plan-check"));
         return this;
     }
 
@@ -974,8 +998,7 @@ public class CompanyArchiveManagementPage extends BasePage {
      */
     public CompanyArchiveManagementPage clickUserCheckboxByIndex(int rowIndex) {
         log.info("Clicking checkbox for user at row index: " + rowIndex);
-        getAssignUsersRowByIndex(rowIndex).locator("input.assign-plan-check").click();
-        page.waitForTimeout(500); // Wait for checkbox state to update
+        toggleCheckbox(getAssignUsersRowByIndex(rowIndex).locator("input.assign-plan-check"));
         return this;
     }
 
@@ -984,8 +1007,7 @@ public class CompanyArchiveManagementPage extends BasePage {
      */
     public CompanyArchiveManagementPage clickSelectAllUsersCheckbox() {
         log.info("Clicking Select All checkbox in Assign Users table");
-        assignUsersSelectAllCheckbox.click();
-        page.waitForTimeout(500); // Wait for all checkboxes to update
+        toggleCheckbox(assignUsersSelectAllCheckbox);
         return this;
     }
 
@@ -1054,19 +1076,19 @@ public class CompanyArchiveManagementPage extends BasePage {
      */
     public boolean clickUserCheckboxByUsername(String username) {
         log.info("Searching for user by username: " + username);
-        Locator allRows = assignUsersTable.locator("tbody tr");
-        int rowCount = allRows.count();
-
-        for (int i = 0; i < rowCount; i++) {
-            Locator row = allRows.nth(i);
-            String currentUsername = row.locator(".user-username").textContent().trim();
-
-            if (currentUsername.equals(username)) {
-                log.info("Found user " + username + " at row " + i + ", clicking checkbox");
-                row.locator("input.assign-plan-check").click();
-                page.waitForTimeout(500);
-                return true;
-            }
+        // One read of the table; the row is then addressed by its data-id (or position)
+        Optional<TableSnapshot.Row> userRow = TableSnapshot.of(assignUsersTable, "tbody tr")
+                .findRow(row -> row.cells().stream().anyMatch(cell -> username.equals(cell.text())));
+
+        if (userRow.isPresent()) {
+            TableSnapshot.Row row = userRow.get();
+            String userId = row.data().get("id");
+            Locator rowLocator = userId != null && !userId.isEmpty()
+                    ? assignUsersTable.locator("tbody tr[data-id='" + userId + "']")
+                    : getAssignUsersRowByIndex(row.index());
+            log.info("Found user " + username + " at row " + row.index() + ", clicking checkbox");
+            toggleCheckbox(rowLocator.locator("input.assign-plan-check"));
+            return true;
         }
 
         log.warn("User with username " + username + " not found in Assign Users table");
@@ -1080,7 +1102,7 @@ public class CompanyArchiveManagementPage extends BasePage {
     public CompanyArchiveManagementPage clickAssignUsersApplyButton() {
         log.info("Clicking Apply button in Manage Users modal");
         assignUsersApplyButton.click();
-        page.waitForTimeout(1000); // Wait for modal to close and changes to apply
+        waitForState(confirmActionYesButton, WaitForSelectorState.VISIBLE); // Apply asks for confirmation
         return this;
     }
 
@@ -1129,7 +1151,7 @@ public class CompanyArchiveManagementPage extends BasePage {
     public CompanyArchiveManagementPage clickConfirmActionYesButton() {
         log.info("Clicking Yes button in confirmation dialog");
         confirmActionYesButton.click();
-        page.waitForTimeout(2000); // Wait for action to complete
+        waitForState(confirmActionYesButton, WaitForSelectorState.HIDDEN); // Dialog closes when the action is done
         return this;
     }
 
@@ -1139,9 +1161,7 @@ public class CompanyArchiveManagementPage extends BasePage {
      */
     public boolean waitForConfirmActionYesButtonVisible() {
         try {
-            confirmActionYesButton.waitFor(new Locator.WaitForOptions()
-                    .setState(com.microsoft.playwright.options.WaitForSelectorState.VISIBLE)
-                    .setTimeout(10000));
+            waitForState(confirmActionYesButton, WaitForSelectorState.VISIBLE, 10000);
             log.info("Yes confirmation button is now visible");
             return true;
         } catch (Exception e) {
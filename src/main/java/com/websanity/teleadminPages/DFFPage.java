@@ -3,6 +3,7 @@ package com.websanity.teleadminPages;
 import com.microsoft.playwright.FrameLocator;
 import com.microsoft.playwright.Locator;
 import com.microsoft.playwright.Page;
+import com.microsoft.playwright.options.WaitForSelectorState;
 import com.websanity.BasePage;
 import lombok.extern.slf4j.Slf4j;
 
@@ -61,7 +62,6 @@ public class DFFPage extends BasePage {
         log.info("Uploading file: {}", filePath);
         fileUploadInput.setInputFiles(java.nio.file.Paths.get(filePath));
         log.info("File uploaded successfully");
-        page.waitForTimeout(500);
         return this;
     }
 
@@ -81,8 +81,8 @@ public class DFFPage extends BasePage {
      */
     public DFFPage clickAddBtn() {
         log.info("Clicking Add/Import button");
-        addBtn.click();
-        page.waitForTimeout(2000);
+        // Import form is submitted into the text frame
+        waitForFrameNavigation("text", 60000, addBtn::click);
         return this;
     }
 
@@ -100,9 +100,7 @@ public class DFFPage extends BasePage {
      */
     public DFFPage waitForImportResultText() {
         log.info("Waiting for import result text to be visible");
-        importResultText.waitFor(new Locator.WaitForOptions()
-                .setState(com.microsoft.playwright.options.WaitForSelectorState.VISIBLE)
-                .setTimeout(10000));
+        waitForState(importResultText, WaitForSelectorState.VISIBLE, 10000);
         log.info("Import result text is now visible");
         return this;
     }
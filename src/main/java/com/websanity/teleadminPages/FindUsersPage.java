@@ -5,6 +5,7 @@ import com.microsoft.playwright.Locator;
 import com.microsoft.playwright.Page;
 import com.microsoft.playwright.options.WaitForSelectorState;
 import com.websanity.BasePage;
+import com.websanity.utils.TableSnapshot;
 import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
@@ -36,8 +37,7 @@ public class FindUsersPage extends BasePage {
      * Default timeout: 30 seconds
      */
     public void waitForTableVisible() {
-        usersTable.waitFor(new Locator.WaitForOptions()
-                .setState(WaitForSelectorState.VISIBLE));
+        waitForState(usersTable, WaitForSelectorState.VISIBLE);
     }
 
     /**
@@ -48,16 +48,11 @@ public class FindUsersPage extends BasePage {
     public void waitForFindUsersPageToLoad() {
         log.info("Waiting for Find Users page to load after login...");
         try {
-            // First wait for the frame to be available
-            page.waitForTimeout(1000);
+            // Wait for the search button in the frame (frame locator also waits for the frame itself)
+            waitForState(searchButton, WaitForSelectorState.VISIBLE, 90000);  // Increased timeout for Docker
 
-            // Then wait for the search button in the frame
-            searchButton.waitFor(new Locator.WaitForOptions()
-                    .setState(WaitForSelectorState.VISIBLE)
-                    .setTimeout(90000));  // Increased timeout for Docker
-
-            // Additional wait to ensure frame is fully loaded
-            page.waitForTimeout(2000);
+            // Wait until the frame document (scripts of the search form) is fully loaded
+            waitForJs("text", "() => document.readyState === 'complete'", 90000);
             log.info("Find Users page loaded successfully - search button is visible");
         } catch (Exception e) {
             log.error("Failed to load Find Users page within 90 seconds", e);
@@ -95,13 +90,14 @@ public class FindUsersPage extends BasePage {
     public FindUsersPage fillCustomerAdministrator(String administratorName) {
         log.info("Filling customer administrator with: {}", administratorName);
         customerAdministratorInput.fill(administratorName);
-        page.waitForTimeout(500); // Wait for dropdown filtering
+
+        // Wait for dropdown filtering to select the matching item
+        Locator selectedDropdownItem = textFrame.locator("#customerAdministrationDropdown .dropdown-item.selected");
+        waitForState(selectedDropdownItem, WaitForSelectorState.VISIBLE);
 
         // Click on selected dropdown item
         log.debug("Clicking on selected dropdown item");
-        Locator selectedDropdownItem = textFrame.locator("#customerAdministrationDropdown .dropdown-item.selected");
         selectedDropdownItem.click();
-        page.waitForTimeout(300);
 
         log.info("Customer administrator filled and selected successfully");
         return this;
@@ -122,7 +118,7 @@ public class FindUsersPage extends BasePage {
     public FindUsersPage clickAdvancedOptions() {
         log.info("Clicking on Advanced Options");
         advancedOptionsLabel.click();
-        page.waitForTimeout(500); // Wait for advanced options to expand
+        waitForState(mobileInput, WaitForSelectorState.VISIBLE); // Wait for advanced options to expand
         return this;
     }
 
@@ -139,8 +135,8 @@ public class FindUsersPage extends BasePage {
      */
     public FindUsersPage clickSearchButton() {
         log.info("Clicking 'Search' Button");
-        page.waitForTimeout(500);
-        searchButton.click();
+        // Rows of the previous search must not be mistaken for the new results
+        waitForRefresh(usersTable.locator("tbody tr"), 60000, searchButton::click);
         waitForTableToHaveData();
         return this;
     }
@@ -152,9 +148,6 @@ public class FindUsersPage extends BasePage {
         log.info("Searching for user: {}", username);
         enterUsername(username);
         clickSearchButton();
-
-        // Wait for search to complete (increased for Docker)
-        page.waitForTimeout(1500);
         return this;
     }
 
@@ -166,9 +159,6 @@ public class FindUsersPage extends BasePage {
         clickAdvancedOptions();
         enterMobileNumber(mobileNumber);
         clickSearchButton();
-
-        // Wait for search to complete (increased for Docker)
-        page.waitForTimeout(1500);
         return this;
     }
 
@@ -180,9 +170,6 @@ public class FindUsersPage extends BasePage {
         clickAdvancedOptions();
         enterEmail(email);
         clickSearchButton();
-
-        // Wait for search to complete (increased for Docker)
-        page.waitForTimeout(1500);
         return this;
     }
 
@@ -196,9 +183,7 @@ public class FindUsersPage extends BasePage {
 
         try {
             // Wait for at least one row to appear
-            usersTable.locator("tbody tr").first().waitFor(new Locator.WaitForOptions()
-                    .setState(WaitForSelectorState.VISIBLE)
-                    .setTimeout(60000));  // Increased for Docker
+            waitForState(usersTable.locator("tbody tr").first(), WaitForSelectorState.VISIBLE, 60000);  // Increased for Docker
 
             // Wait for "No data available" message to disappear (if it was there)
             page.waitForCondition(() -> {
@@ -234,25 +219,15 @@ public class FindUsersPage extends BasePage {
         final boolean[] userFound = {false};
 
         page.waitForCondition(() -> {
-            Locator allRows = usersTable.locator("tbody tr");
-            int rowCount = allRows.count();
-
-            for (int i = 0; i < rowCount; i++) {
-                Locator row = allRows.nth(i);
-                Locator columns = row.locator("td");
-
-                if (columns.count() > 0) {
-                    String firstColumnText = columns.nth(0).textContent().trim();
-
-                    if (firstColumnText.equals(username)) {
-                        System.out.println("User " + username + " is found. Click on him");
-                        columns.nth(0).locator("a").click();
-                        userFound[0] = true;
-                        return true;
-                    }
-                }
+            // One round trip per check instead of one per cell
+            java.util.Optional<TableSnapshot.Row> userRow = getUsersSnapshot().findRow(0, username);
+            if (userRow.isEmpty()) {
+                return false;
             }
-            return false;
+            System.out.println("User " + username + " is found. Click on him");
+            getDataRow(userRow.get().index()).locator("td").first().locator("a").click();
+            userFound[0] = true;
+            return true;
         }, new Page.WaitForConditionOptions().setTimeout(60000));
 
         if (!userFound[0]) {
@@ -269,11 +244,10 @@ public class FindUsersPage extends BasePage {
                 throw new AssertionError("Account Information of User is NOT opened!!!");
             }
             System.out.println("updateInterfaceSupportButton element appeared. Account Information of User is opened.");
-            page.waitForTimeout(1500);
         } catch (Exception e) {
             System.out.println("Account Information of User " + username + " is opened.");
         }
-        return new UpdateUserPage(page);
+        return pageObject(UpdateUserPage.class);
     }
 
     /**
@@ -308,6 +282,20 @@ public class FindUsersPage extends BasePage {
         return usersTable.locator("tbody tr");
     }
 
+    /**
+     * Read the users table (headers, cells, row states) in one round trip
+     */
+    public TableSnapshot getUsersSnapshot() {
+        return TableSnapshot.of(usersTable);
+    }
+
+    /**
+     * Locator of a data row by its snapshot index
+     */
+    private Locator getDataRow(int index) {
+        return usersTable.locator("tbody tr:has(td)").nth(index);
+    }
+
     /**
      * Check that table contains specific users by their usernames
      * @param usernames list of usernames to check
@@ -319,27 +307,13 @@ public class FindUsersPage extends BasePage {
         // Wait for table to have data
         waitForTableToHaveData();
 
+        java.util.List<String> usernamesInTable = getUsersSnapshot().column(0);
         for (String username : usernames) {
-            boolean found = false;
-            Locator allRows = usersTable.locator("tbody tr");
-            int rowCount = allRows.count();
-
-            for (int i = 0; i < rowCount; i++) {
-                Locator row = allRows.nth(i);
-                Locator firstColumn = row.locator("td").first();
-                String usernameInTable = firstColumn.textContent().trim();
-
-                if (usernameInTable.equals(username)) {
-                    log.info("User '{}' found in table", username);
-                    found = true;
-                    break;
-                }
-            }
-
-            if (!found) {
+            if (!usernamesInTable.contains(username)) {
                 log.error("User '{}' NOT found in table", username);
                 return false;
             }
+            log.info("User '{}' found in table", username);
         }
 
         log.info("All {} users found in table", usernames.size());
@@ -363,16 +337,7 @@ public class FindUsersPage extends BasePage {
         log.info("Getting all usernames from table");
         waitForTableToHaveData();
 
-        java.util.List<String> usernames = new java.util.ArrayList<>();
-        Locator allRows = usersTable.locator("tbody tr");
-        int rowCount = allRows.count();
-
-        for (int i = 0; i < rowCount; i++) {
-            Locator row = allRows.nth(i);
-            Locator firstColumn = row.locator("td").first();
-            String username = firstColumn.textContent().trim();
-            usernames.add(username);
-        }
+        java.util.List<String> usernames = getUsersSnapshot().column(0);
 
         log.info("Found {} users in table", usernames.size());
         return usernames;
@@ -413,8 +378,8 @@ public class FindUsersPage extends BasePage {
         log.info("Checking if table shows 'No data available' message");
 
         try {
-            // Wait a bit for table to update after search/delete
-            page.waitForTimeout(1000);
+            // Table is re-rendered after search/delete
+            waitForState(usersTable, WaitForSelectorState.VISIBLE);
 
             Locator rows = usersTable.locator("tbody tr");
 
@@ -451,13 +416,8 @@ public class FindUsersPage extends BasePage {
         log.info("Waiting for table to show 'No data available' message (timeout: {}ms)", timeoutMs);
 
         try {
-            page.waitForCondition(() -> {
-                Locator rows = usersTable.locator("tbody tr");
-                if (rows.count() == 0) return true;
-
-                String firstRowText = rows.first().textContent();
-                return firstRowText.contains("No data available in table");
-            }, new Page.WaitForConditionOptions().setTimeout(timeoutMs));
+            // Snapshot rows exclude the "No data available in table" placeholder
+            page.waitForCondition(() -> getUsersSnapshot().isEmpty(), new Page.WaitForConditionOptions().setTimeout(timeoutMs));
 
             log.info("Table is empty - 'No data available' message is shown");
             return true;
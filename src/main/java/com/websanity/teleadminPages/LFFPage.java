@@ -3,6 +3,7 @@ package com.websanity.teleadminPages;
 import com.microsoft.playwright.FrameLocator;
 import com.microsoft.playwright.Locator;
 import com.microsoft.playwright.Page;
+import com.microsoft.playwright.options.WaitForSelectorState;
 import com.websanity.BasePage;
 import com.websanity.enums.UserTypes;
 import lombok.extern.slf4j.Slf4j;
@@ -42,11 +43,8 @@ public class LFFPage extends BasePage {
 
         // Wait for file upload input to become visible after user type selection
         log.debug("Waiting for file upload input to become visible...");
-        fileUploadInput.waitFor(new Locator.WaitForOptions()
-                .setState(com.microsoft.playwright.options.WaitForSelectorState.VISIBLE)
-                .setTimeout(10000));
+        waitForState(fileUploadInput, WaitForSelectorState.VISIBLE, 10000);
         log.debug("File upload input is now visible");
-        page.waitForTimeout(1000);
 
         return this;
     }
@@ -63,9 +61,7 @@ public class LFFPage extends BasePage {
 
         // Wait for file upload input to become visible after user type selection
         log.debug("Waiting for file upload input to become visible...");
-        fileUploadInput.waitFor(new Locator.WaitForOptions()
-                .setState(com.microsoft.playwright.options.WaitForSelectorState.VISIBLE)
-                .setTimeout(10000));
+        waitForState(fileUploadInput, WaitForSelectorState.VISIBLE, 10000);
         log.debug("File upload input is now visible");
 
         return this;
@@ -109,7 +105,6 @@ public class LFFPage extends BasePage {
 
         fileUploadInput.setInputFiles(path);
         log.info("File uploaded successfully: {}", path.getFileName());
-        page.waitForTimeout(500);
         return this;
     }
 
@@ -127,8 +122,8 @@ public class LFFPage extends BasePage {
      */
     public LFFPage clickAddBtn() {
         log.info("Clicking Add/Import button");
-        addBtn.click();
-        page.waitForTimeout(2000);
+        // Import form is submitted into the text frame
+        waitForFrameNavigation("text", 60000, addBtn::click);
         return this;
     }
 
@@ -151,9 +146,7 @@ public class LFFPage extends BasePage {
 
         // Wait for storage plan table to become visible after exclusive admin selection
         log.debug("Waiting for storage plan table to become visible...");
-        storagePlanTable.waitFor(new Locator.WaitForOptions()
-                .setState(com.microsoft.playwright.options.WaitForSelectorState.VISIBLE)
-                .setTimeout(10000));
+        waitForState(storagePlanTable, WaitForSelectorState.VISIBLE, 10000);
         log.debug("Storage plan table is now visible");
 
         return this;
@@ -228,9 +221,7 @@ public class LFFPage extends BasePage {
      */
     public LFFPage waitForImportResultText() {
         log.info("Waiting for import result text to be visible");
-        importResultText.waitFor(new Locator.WaitForOptions()
-                .setState(com.microsoft.playwright.options.WaitForSelectorState.VISIBLE)
-                .setTimeout(20000));
+        waitForState(importResultText, WaitForSelectorState.VISIBLE, 20000);
         log.info("Import result text is now visible");
         return this;
     }
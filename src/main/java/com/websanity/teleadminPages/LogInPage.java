@@ -2,6 +2,8 @@ package com.websanity.teleadminPages;
 
 import com.websanity.BasePage;
 import com.microsoft.playwright.Page;
+import com.microsoft.playwright.options.WaitForSelectorState;
+import com.websanity.utils.AdaptiveTimeouts;
 import com.websanity.utils.SecureConfig;
 import lombok.extern.slf4j.Slf4j;
 
@@ -16,15 +18,21 @@ public class LogInPage extends BasePage {
     private static final String passwordInput = "input[name='password'][type='password']";
     private static final String logInBtn = "a[onclick='clickLogin();'][class='loginbtn']";
 
+    // Text that is present only on the login page (used to detect expired sessions)
+    public static final String LOGIN_PAGE_MARKER = "clickLogin();";
+
     public LogInPage(Page page) {
         super(page);
     }
 
     public LogInPage open() {
-        navigate(System.getProperty("teleadmin.url"));
-        page.waitForLoadState();
-        page.waitForTimeout(2000);
-        page.locator(logInBtn).waitFor(); // Wait for page to fully load
+        String url = System.getProperty("teleadmin.url");
+        // Prewarmed context (see ContextPrewarmer) may already be on the login page
+        if (!page.url().equals(url)) {
+            navigate(url);
+            page.waitForLoadState();
+        }
+        waitForState(page.locator(logInBtn), WaitForSelectorState.VISIBLE); // Wait for page to fully load
         return this;
     }
     public void enterUsername(String val) {
@@ -40,9 +48,7 @@ public class LogInPage extends BasePage {
     public FindUsersPage logInToTeleadmin() {
         log.info("Logging in as user: {}", System.getProperty("teleadmin.username"));
         enterUsername(username);
-        page.waitForTimeout(500);
         enterPassword(password);
-        page.waitForTimeout(500);
 
         // Click login and wait for navigation to complete
         log.info("Clicking login button and waiting for navigation...");
@@ -50,10 +56,11 @@ public class LogInPage extends BasePage {
 
         // Wait for page to load after login (increased timeout for Docker)
         page.waitForLoadState();
-        page.waitForTimeout(2000);  // Additional wait for frames to load
+        AdaptiveTimeouts.run("teleadmin.login.frameset", 90000,  // Wait for the frameset
+                timeoutMs -> waitForState(page.locator("frame[name='text']"), WaitForSelectorState.ATTACHED, timeoutMs));
 
         log.info("Login navigation completed");
-        return new FindUsersPage(page);
+        return pageObject(FindUsersPage.class);
     }
 }
 
@@ -3,6 +3,7 @@ package com.websanity.teleadminPages;
 import com.microsoft.playwright.FrameLocator;
 import com.microsoft.playwright.Locator;
 import com.microsoft.playwright.Page;
+import com.microsoft.playwright.options.WaitForSelectorState;
 import com.websanity.BasePage;
 import lombok.extern.slf4j.Slf4j;
 
@@ -41,8 +42,8 @@ public class MenuPage extends BasePage {
      * @return TeleadminSignUpPage instance for method chaining
      */
     public SignUpPage clickSignUpButton() {
-        signUpButton.click();
-        return new SignUpPage(page);
+        waitForFrameIdle("text", signUpButton::click);
+        return pageObject(SignUpPage.class);
     }
 
     /**
@@ -50,8 +51,8 @@ public class MenuPage extends BasePage {
      */
     public LFFPage clickSignUpFromFileButton() {
         log.info("Click Sign Up Users From File Button");
-        signUpFromFileButton.click();
-        return new LFFPage(page);
+        waitForFrameIdle("text", signUpFromFileButton::click);
+        return pageObject(LFFPage.class);
     }
 
     /**
@@ -59,8 +60,8 @@ public class MenuPage extends BasePage {
      */
     public UFFPage clickUpdateUsersFromFileButton() {
         log.info("Click Update Users From File Button");
-        updateUsersFromFileButton.click();
-        return new UFFPage(page);
+        waitForFrameIdle("text", updateUsersFromFileButton::click);
+        return pageObject(UFFPage.class);
     }
 
     /**
@@ -68,8 +69,8 @@ public class MenuPage extends BasePage {
      */
     public DFFPage clickDeleteUsersFromFileButton() {
         log.info("Click Delete Users From File Button");
-        deleteUsersFromFileButton.click();
-        return new DFFPage(page);
+        waitForFrameIdle("text", deleteUsersFromFileButton::click);
+        return pageObject(DFFPage.class);
     }
 
     /**
@@ -77,11 +78,10 @@ public class MenuPage extends BasePage {
      */
     public FindUsersPage clickFindUsersButton() {
         log.info("Click 'Find Users' Button");
-        findUsersButton.click();
-        usersTable.waitFor(new Locator.WaitForOptions()
-                .setState(com.microsoft.playwright.options.WaitForSelectorState.VISIBLE));
-        page.waitForTimeout(1000);
-        return new FindUsersPage(page);
+        // Only frame[name='text'] is reloaded - wait for its traffic instead of the load state of the whole page
+        waitForFrameIdle("text", findUsersButton::click);
+        waitForState(usersTable, WaitForSelectorState.VISIBLE);
+        return pageObject(FindUsersPage.class);
     }
 
     /**
@@ -3,13 +3,21 @@ package com.websanity.teleadminPages;
 import com.microsoft.playwright.FrameLocator;
 import com.microsoft.playwright.Locator;
 import com.microsoft.playwright.Page;
+import com.microsoft.playwright.options.WaitForSelectorState;
 import com.websanity.BasePage;
 import com.websanity.enums.Country;
 import com.websanity.enums.Language;
 import com.websanity.enums.UserTypes;
 import com.websanity.enums.TimeZone;
 import com.websanity.models.UserParams;
+import com.websanity.utils.FormFiller;
+import com.websanity.utils.FormFiller.Field;
+import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
+
+import java.util.List;
+import java.util.Set;
+
 @Slf4j
 public class SignUpPage extends BasePage {
 
@@ -53,6 +61,49 @@ public class SignUpPage extends BasePage {
     private final Locator registerButton;
     private final Locator successMessage;
 
+    // Registration form fields filled by fillAll (service level is selected separately - it reloads the form)
+    private static final List<Field<UserParams>> USER_FORM = List.of(
+            Field.select("customerAdministrator", "#exclusive_admin_id", UserParams::getCustomerAdministrator, value -> value),
+            Field.select("prepaidFactor", "#prepaidFactor", UserParams::getPrepaidFactor, value -> value),
+            Field.text("monthlyCharge", "#monthlyCharge", UserParams::getMonthlyCharge),
+            Field.text("firstName", "#firstName", UserParams::getFirstName),
+            Field.text("lastName", "#lastName", UserParams::getLastName),
+            Field.text("username", "#userid", UserParams::getUsername),
+            Field.secret("password", "#password", UserParams::getPassword),
+            Field.secret("confirmPassword", "#confirmPassword", UserParams::getPassword),
+            Field.text("platformAccountId", "#platformAccountID", UserParams::getPlatformAccountId),
+            Field.select("timeZone", "#timeZone", UserParams::getTimeZone, TimeZone::getValue),
+            Field.select("language", "#languageID", UserParams::getLanguage, Language::getValue),
+            Field.select("country", "#countryID", UserParams::getCountry, Country::getCode),
+            Field.select("homeCountryCode", "#homeCountry1", UserParams::getHomeCountryCode, Country::getCode),
+            Field.text("homeArea", "#homeArea1", UserParams::getHomeArea),
+            Field.text("homePhone", "#homeTelephone1", UserParams::getHomePhone),
+            Field.select("mobileCountryCode", "#mobileCountry1", UserParams::getMobileCountryCode, Country::getCode),
+            Field.text("mobileArea", "#mobileArea1", UserParams::getMobileArea),
+            Field.text("mobilePhone", "#mobileTelephone1", UserParams::getMobilePhone),
+            Field.select("businessCountryCode", "#businessCountry1", UserParams::getBusinessCountryCode, Country::getCode),
+            Field.text("businessArea", "#businessArea1", UserParams::getBusinessArea),
+            Field.text("businessPhone", "#businessTelephone1", UserParams::getBusinessPhone),
+            Field.text("businessExt", "#businessExt1", UserParams::getBusinessExt),
+            Field.select("faxCountryCode", "#faxCountry1", UserParams::getFaxCountryCode, Country::getCode),
+            Field.text("faxArea", "#faxArea1", UserParams::getFaxArea),
+            Field.text("faxPhone", "#faxTelephone1", UserParams::getFaxPhone),
+            Field.text("email", "#communicationEmail", UserParams::getEmail),
+            Field.text("company", "#company", UserParams::getCompany),
+            Field.checkbox("addToGlobalAddressBook", "#gl_address_book", UserParams::getAddToGlobalAddressBook),
+            Field.text("allowedManagedUsers", "#allowedManagedUsers", UserParams::getAllowedManagedUsers),
+            Field.text("uniqueCustomerCode", "#ucc", UserParams::getUniqueCustomerCode),
+            Field.text("udid", "#udid", UserParams::getUdid),
+            Field.checkbox("sendWelcomeMessageEmail", "#sendWelcomeMessageEmail", UserParams::getSendWelcomeMessageEmail),
+            Field.checkbox("sendWelcomeMessageMobile", "#sendWelcomeMessageMobile", UserParams::getSendWelcomeMessageMobile)
+    );
+
+    /**
+     * How the last fillAll applied the fields (one browser call or per field)
+     */
+    @Getter
+    private FormFiller.Result lastFillResult;
+
 
     public SignUpPage(Page page) {
         super(page);
@@ -81,8 +132,8 @@ public class SignUpPage extends BasePage {
         this.businessPhoneInput = textFrame.locator("#businessTelephone1");
         this.businessExtInput = textFrame.locator("#businessExt1");
         this.faxCountrySelectBox = textFrame.locator("#faxCountry1");
-        this.faxAreaInput = textFrame.locator("#businessTelephone1");
-        this.faxPhoneInput = textFrame.locator("#businessExt1");
+        this.faxAreaInput = textFrame.locator("#faxArea1");
+        this.faxPhoneInput = textFrame.locator("#faxTelephone1");
         this.emailInput = textFrame.locator("#communicationEmail");
         this.companyInput = textFrame.locator("#company");
         this.addToGlobalAddressBookCheckbox = textFrame.locator("#gl_address_book");
@@ -175,21 +226,21 @@ public class SignUpPage extends BasePage {
      * Select timezone from dropdown using enum
      */
     public void selectTimeZone(TimeZone timeZone) {
-        timeZoneSelectBox.selectOption(timeZone.getValue());
+        selectEnumOption(timeZoneSelectBox, timeZone, TimeZone::getValue);
     }
 
     /**
      * Select language from dropdown using enum
      */
     public void selectLanguage(Language language) {
-        languageSelectBox.selectOption(language.getValue());
+        selectEnumOption(languageSelectBox, language, Language::getValue, Set.of(Language.EMPTY));
     }
 
     /**
      * Select country from dropdown using enum
      */
     public void selectCountry(Country country) {
-        countrySelectBox.selectOption(country.getCode());
+        selectEnumOption(countrySelectBox, country, Country::getCode, Set.of(Country.ALL_COUNTRIES));
     }
 
     // ==================== Phone Numbers ====================
@@ -198,7 +249,7 @@ public class SignUpPage extends BasePage {
      * Select home country code
      */
     public void selectHomeCountryCode(Country country) {
-        homeCountryCodeSelectBox.selectOption(country.getCode());
+        selectEnumOption(homeCountryCodeSelectBox, country, Country::getCode, Set.of(Country.ALL_COUNTRIES));
     }
 
     /**
@@ -228,7 +279,7 @@ public class SignUpPage extends BasePage {
      * Select mobile country code
      */
     public void selectMobileCountryCode(Country country) {
-        mobileCountryCodeSelectBox.selectOption(country.getCode());
+        selectEnumOption(mobileCountryCodeSelectBox, country, Country::getCode, Set.of(Country.ALL_COUNTRIES));
     }
 
     /**
@@ -258,7 +309,7 @@ public class SignUpPage extends BasePage {
      * Select business country code
      */
     public void selectBusinessCountryCode(Country country) {
-        businessCountryCodeSelectBox.selectOption(country.getCode());
+        selectEnumOption(businessCountryCodeSelectBox, country, Country::getCode, Set.of(Country.ALL_COUNTRIES));
     }
 
     /**
@@ -296,7 +347,7 @@ public class SignUpPage extends BasePage {
      * Select fax country code
      */
     public void selectFaxCountryCode(Country country) {
-        faxCountrySelectBox.selectOption(country.getCode());
+        selectEnumOption(faxCountrySelectBox, country, Country::getCode, Set.of(Country.ALL_COUNTRIES));
     }
 
     /**
@@ -407,9 +458,7 @@ public class SignUpPage extends BasePage {
      */
     public void waitForSuccessMessage(int timeout) {
         try {
-            successMessage.waitFor(new com.microsoft.playwright.Locator.WaitForOptions()
-                    .setState(com.microsoft.playwright.options.WaitForSelectorState.VISIBLE)
-                    .setTimeout(timeout));
+            waitForState(successMessage, WaitForSelectorState.VISIBLE, timeout);
         } catch (Exception e) {
             // Check if error messages are present
             Locator errorMessages = textFrame.locator("#sysMsgTable div.sysMsgError");
@@ -451,6 +500,21 @@ public class SignUpPage extends BasePage {
 
     // ==================== Complete Registration ====================
 
+    /**
+     * Fill every registration field that has a value in UserParams
+     * Service level is selected first (it may reload the form), the rest is filled in one browser call
+     * with per-field fallback - see FormFiller
+     */
+    public SignUpPage fillAll(UserParams user) {
+        if (user.getUserType() != null) {
+            log.info("Entering Service Level: {}", user.getUserType().getDisplayName());
+            // Service level change may reload the form - wait for it before filling other fields
+            waitForOptionalFrameNavigation("text", 3000, () -> selectServiceLevel(user.getUserType()));
+        }
+        lastFillResult = FormFiller.fill(textFrame.locator("body"), USER_FORM, user);
+        return this;
+    }
+
     /**
      * Fill complete user registration form using UserParams object
      * This is the recommended method for creating new users
@@ -460,164 +524,7 @@ public class SignUpPage extends BasePage {
     public SignUpPage registerNewUser(UserParams user) {
         log.info("=== Starting user registration ===");
 
-        // Service Level & Admin
-        if (user.getUserType() != null) {
-            log.info("Entering Service Level: {}", user.getUserType().getDisplayName());
-            selectServiceLevel(user.getUserType());
-            page.waitForTimeout(3000);
-        }
-        if (user.getCustomerAdministrator() != null) {
-            log.info("Entering Customer Administrator: {}", user.getCustomerAdministrator());
-            selectCustomerAdministrator(user.getCustomerAdministrator());
-        }
-        if (user.getPrepaidFactor() != null) {
-            log.info("Entering Prepaid Factor: {}", user.getPrepaidFactor());
-            selectPrepaidFactor(user.getPrepaidFactor());
-        }
-        if (user.getMonthlyCharge() != null) {
-            log.info("Entering Monthly Charge: {}", user.getMonthlyCharge());
-            enterMonthlyCharge(user.getMonthlyCharge());
-        }
-
-        // User Information
-        if (user.getFirstName() != null) {
-            log.info("Entering First Name: {}", user.getFirstName());
-            enterFirstName(user.getFirstName());
-        }
-        if (user.getLastName() != null) {
-            log.info("Entering Last Name: {}", user.getLastName());
-            enterLastName(user.getLastName());
-        }
-        if (user.getUsername() != null) {
-            log.info("Entering Username: {}", user.getUsername());
-            enterUsername(user.getUsername());
-        }
-        if (user.getPassword() != null) {
-            log.info("Entering Password: *******");
-            enterPassword(user.getPassword());
-            enterConfirmPassword(user.getPassword());
-        }
-        if (user.getPlatformAccountId() != null) {
-            log.info("Entering Platform Account ID: {}", user.getPlatformAccountId());
-            enterPlatformAccountId(user.getPlatformAccountId());
-        }
-
-        // Location & Language
-        if (user.getTimeZone() != null) {
-            log.info("Entering Time Zone: {}", user.getTimeZone().getDisplayName());
-            selectTimeZone(user.getTimeZone());
-        }
-        if (user.getLanguage() != null) {
-            log.info("Entering Language: {}", user.getLanguage().getDisplayName());
-            selectLanguage(user.getLanguage());
-        }
-        if (user.getCountry() != null) {
-            log.info("Entering Country: {}", user.getCountry().getDisplayName());
-            selectCountry(user.getCountry());
-        }
-
-        // Phone Numbers - Home
-        if (user.getHomeCountryCode() != null || user.getHomeArea() != null || user.getHomePhone() != null) {
-            if (user.getHomeCountryCode() != null) {
-                log.info("Entering Home Country Code: {}", user.getHomeCountryCode().getCode());
-                selectHomeCountryCode(user.getHomeCountryCode());
-            }
-            if (user.getHomeArea() != null) {
-                log.info("Entering Home Area: {}", user.getHomeArea());
-                enterHomeArea(user.getHomeArea());
-            }
-            if (user.getHomePhone() != null) {
-                log.info("Entering Home Phone: {}", user.getHomePhone());
-                enterHomePhone(user.getHomePhone());
-            }
-        }
-
-        // Phone Numbers - Mobile
-        if (user.getMobileCountryCode() != null || user.getMobileArea() != null || user.getMobilePhone() != null) {
-            if (user.getMobileCountryCode() != null) {
-                log.info("Entering Mobile Country Code: {}", user.getMobileCountryCode().getCode());
-                selectMobileCountryCode(user.getMobileCountryCode());
-            }
-            if (user.getMobileArea() != null) {
-                log.info("Entering Mobile Area: {}", user.getMobileArea());
-                enterMobileArea(user.getMobileArea());
-            }
-            if (user.getMobilePhone() != null) {
-                log.info("Entering Mobile Phone: {}", user.getMobilePhone());
-                enterMobilePhone(user.getMobilePhone());
-            }
-        }
-
-        // Phone Numbers - Business
-        if (user.getBusinessCountryCode() != null || user.getBusinessArea() != null ||
-            user.getBusinessPhone() != null || user.getBusinessExt() != null) {
-            if (user.getBusinessCountryCode() != null) {
-                log.info("Entering Business Country Code: {}", user.getBusinessCountryCode().getCode());
-                selectBusinessCountryCode(user.getBusinessCountryCode());
-            }
-            if (user.getBusinessArea() != null) {
-                log.info("Entering Business Area: {}", user.getBusinessArea());
-                enterBusinessArea(user.getBusinessArea());
-            }
-            if (user.getBusinessPhone() != null) {
-                log.info("Entering Business Phone: {}", user.getBusinessPhone());
-                enterBusinessPhone(user.getBusinessPhone());
-            }
-            if (user.getBusinessExt() != null) {
-                log.info("Entering Business Ext: {}", user.getBusinessExt());
-                enterBusinessExt(user.getBusinessExt());
-            }
-        }
-
-        // Phone Numbers - Fax
-        if (user.getFaxCountryCode() != null || user.getFaxArea() != null || user.getFaxPhone() != null) {
-            if (user.getFaxCountryCode() != null) {
-                log.info("Entering Fax Country Code: {}", user.getFaxCountryCode().getCode());
-                selectFaxCountryCode(user.getFaxCountryCode());
-            }
-            if (user.getFaxArea() != null) {
-                log.info("Entering Fax Area: {}", user.getFaxArea());
-                enterFaxArea(user.getFaxArea());
-            }
-            if (user.getFaxPhone() != null) {
-                log.info("Entering Fax Phone: {}", user.getFaxPhone());
-                enterFaxPhone(user.getFaxPhone());
-            }
-        }
-
-        // Additional Information
-        if (user.getEmail() != null) {
-            log.info("Entering Email: {}", user.getEmail());
-            enterEmail(user.getEmail());
-        }
-        if (user.getCompany() != null) {
-            log.info("Entering Company: {}", user.getCompany());
-            enterCompany(user.getCompany());
-        }
-        if (user.getAddToGlobalAddressBook() != null) {
-            log.info("Setting 'Add to Global Address Book' to: {}", user.getAddToGlobalAddressBook());
-            setAddToGlobalAddressBook(user.getAddToGlobalAddressBook());
-        }
-        if (user.getAllowedManagedUsers() != null) {
-            log.info("Entering Allowed Managed Users: {}", user.getAllowedManagedUsers());
-            enterAllowedManagedUsers(user.getAllowedManagedUsers());
-        }
-        if (user.getUniqueCustomerCode() != null) {
-            log.info("Entering Unique Customer Code: {}", user.getUniqueCustomerCode());
-            enterUniqueCustomerCode(user.getUniqueCustomerCode());
-        }
-        if (user.getUdid() != null) {
-            log.info("Entering UDID: {}", user.getUdid());
-            enterUdid(user.getUdid());
-        }
-        if (user.getSendWelcomeMessageEmail() != null) {
-            log.info("Setting 'Send Welcome Message by Email' to: {}", user.getSendWelcomeMessageEmail());
-            setSendWelcomeMessageEmail(user.getSendWelcomeMessageEmail());
-        }
-        if (user.getSendWelcomeMessageMobile() != null) {
-            log.info("Setting 'Send Welcome Message by Mobile' to: {}", user.getSendWelcomeMessageMobile());
-            setSendWelcomeMessageMobile(user.getSendWelcomeMessageMobile());
-        }
+        fillAll(user);
 
         // Submit
         log.info("Clicking Register button");
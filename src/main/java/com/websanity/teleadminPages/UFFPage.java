@@ -3,6 +3,7 @@ package com.websanity.teleadminPages;
 import com.microsoft.playwright.FrameLocator;
 import com.microsoft.playwright.Locator;
 import com.microsoft.playwright.Page;
+import com.microsoft.playwright.options.WaitForSelectorState;
 import com.websanity.BasePage;
 import lombok.extern.slf4j.Slf4j;
 
@@ -36,9 +37,7 @@ public class UFFPage extends BasePage {
 
         // Wait for storage plan table to become visible after exclusive admin selection
         log.debug("Waiting for storage plan table to become visible...");
-        storagePlanTable.waitFor(new Locator.WaitForOptions()
-                .setState(com.microsoft.playwright.options.WaitForSelectorState.VISIBLE)
-                .setTimeout(10000));
+        waitForState(storagePlanTable, WaitForSelectorState.VISIBLE, 10000);
         log.debug("Storage plan table is now visible");
 
         return this;
@@ -66,9 +65,7 @@ public class UFFPage extends BasePage {
 
     public UFFPage waitForImportResultText() {
         log.info("Waiting for import result text to be visible");
-        importResultText.waitFor(new Locator.WaitForOptions()
-                .setState(com.microsoft.playwright.options.WaitForSelectorState.VISIBLE)
-                .setTimeout(10000));
+        waitForState(importResultText, WaitForSelectorState.VISIBLE, 10000);
         log.info("Import result text is now visible");
         return this;
     }
@@ -93,7 +90,6 @@ public class UFFPage extends BasePage {
 
         fileUploadInput.setInputFiles(path);
         log.info("File uploaded successfully: {}", path.getFileName());
-        page.waitForTimeout(500);
         return this;
     }
 
@@ -4,9 +4,20 @@ import com.microsoft.playwright.*;
 import com.microsoft.playwright.options.WaitForSelectorState;
 import com.websanity.BasePage;
 import com.websanity.enums.UserStatus;
+import com.websanity.enums.Country;
+import com.websanity.enums.Language;
+import com.websanity.enums.OutgoingProvider;
+import com.websanity.enums.Provider;
+import com.websanity.enums.TimeZone;
 import com.websanity.enums.YesNo;
+import com.websanity.models.UserParams;
+import com.websanity.utils.FormFiller.Field;
+import com.websanity.utils.FormSnapshot;
 import lombok.extern.slf4j.Slf4j;
 
+import java.util.List;
+import java.util.Set;
+
 @Slf4j
 public class UpdateUserPage extends BasePage {
 
@@ -63,6 +74,20 @@ public class UpdateUserPage extends BasePage {
     private final Locator oneTimePinMobileCheckbox;
     private final Locator oneTimePinEmailCheckbox;
 
+    // Account Information fields compared by getAccountInformationSnapshot
+    private static final List<Field<UserParams>> ACCOUNT_FORM = List.of(
+            Field.text("username", "#userid", UserParams::getUsername),
+            Field.text("firstName", "#firstName", UserParams::getFirstName),
+            Field.text("lastName", "#lastName", UserParams::getLastName),
+            Field.text("email", "#communicationEmail1", UserParams::getEmail),
+            Field.select("country", "#updateCountryID", UserParams::getCountry, Country::getCode),
+            Field.select("timeZone", "#updateTimeZone", UserParams::getTimeZone, TimeZone::getValue),
+            Field.select("language", "#updateLanguageID", UserParams::getLanguage, Language::getValue),
+            Field.select("mobileCountryCode", "#mobileCountry1", UserParams::getMobileCountryCode, Country::getCode),
+            Field.text("mobileArea", "#mobileArea1", UserParams::getMobileArea),
+            Field.text("mobilePhone", "#mobileTelephone1", UserParams::getMobilePhone)
+    );
+
     public UpdateUserPage(Page page) {
         super(page);
         this.textFrame = page.frameLocator("frame[name='text']");
@@ -124,15 +149,21 @@ public class UpdateUserPage extends BasePage {
      */
     public boolean isUpdateUserPageOpened() {
         try {
-            updateInterfaceSupportButton.waitFor(new Locator.WaitForOptions()
-                    .setState(WaitForSelectorState.VISIBLE)
-                    .setTimeout(30000));
+            waitForState(updateInterfaceSupportButton, WaitForSelectorState.VISIBLE, 30000);
             return true;
         } catch (Exception e) {
             return false;
         }
     }
 
+    /**
+     * Read all Account Information fields in one call
+     * Use assertMatches(expected UserParams) to verify them with one message listing every mismatch
+     */
+    public FormSnapshot<UserParams> getAccountInformationSnapshot() {
+        return FormSnapshot.of(textFrame.locator("body"), ACCOUNT_FORM);
+    }
+
     /**
      * Fill username input field
      * @param username username to fill
@@ -264,7 +295,7 @@ public class UpdateUserPage extends BasePage {
      * @param timeZone time zone to fill
      */
     public UpdateUserPage selectTimeZone(com.websanity.enums.TimeZone timeZone) {
-        timeZoneSelectBox.selectOption(timeZone.getValue());
+        selectEnumOption(timeZoneSelectBox, timeZone, TimeZone::getValue);
         return this;
     }
 
@@ -273,7 +304,7 @@ public class UpdateUserPage extends BasePage {
      * @param language time zone to fill
      */
     public UpdateUserPage selectLanguage(com.websanity.enums.Language language) {
-        languageSelectBox.selectOption(language.getValue());
+        selectEnumOption(languageSelectBox, language, Language::getValue, Set.of(Language.EMPTY));
         return this;
     }
 
@@ -297,8 +328,8 @@ public class UpdateUserPage extends BasePage {
      * Select country from dropdown
      * @param country Country enum value
      */
-    public UpdateUserPage selectCountry(com.websanity.enums.Country country) {
-        countrySelectBox.selectOption(country.getCode());
+    public UpdateUserPage selectCountry(Country country) {
+        selectEnumOption(countrySelectBox, country, Country::getCode, Set.of(Country.ALL_COUNTRIES));
         return this;
     }
 
@@ -314,8 +345,8 @@ public class UpdateUserPage extends BasePage {
      * Select mobile country code from dropdown
      * @param country Country enum value
      */
-    public UpdateUserPage selectMobileCountryCode(com.websanity.enums.Country country) {
-        mobileCountryCodeSelectbox.selectOption(country.getCode());
+    public UpdateUserPage selectMobileCountryCode(Country country) {
+        selectEnumOption(mobileCountryCodeSelectbox, country, Country::getCode, Set.of(Country.ALL_COUNTRIES));
         return this;
     }
 
@@ -364,8 +395,8 @@ public class UpdateUserPage extends BasePage {
      */
     public UpdateUserPage clickUpdateStatusButton() {
         setupAlertHandler();
-        updateStatusButton.click();
-        page.waitForTimeout(1000);
+        // Wait for the system message of this update, not the one left by a previous update
+        waitForRefresh(successMessage, updateStatusButton::click);
         return this;
     }
     /**
@@ -374,8 +405,8 @@ public class UpdateUserPage extends BasePage {
      */
     public UpdateUserPage clickUpdateAccountInformationButton() {
         setupAlertHandler();
-        updateAccountInformationButton.click();
-        page.waitForTimeout(1000);
+        // Wait for the system message of this update, not the one left by a previous update
+        waitForRefresh(successMessage, updateAccountInformationButton::click);
         return this;
     }
 
@@ -385,9 +416,7 @@ public class UpdateUserPage extends BasePage {
      */
     public UpdateUserPage waitForDeleteSuccessMessage() {
         log.info("Waiting for delete success message to appear");
-        successMessage.waitFor(new Locator.WaitForOptions()
-                .setState(WaitForSelectorState.VISIBLE)
-                .setTimeout(30000));
+        waitForState(successMessage, WaitForSelectorState.VISIBLE, 30000);
         return this;
     }
 
@@ -417,9 +446,7 @@ public class UpdateUserPage extends BasePage {
      */
     public UpdateUserPage waitForUpdateSuccessMessage() {
         log.info("Waiting for update success message to appear");
-        successMessage.waitFor(new Locator.WaitForOptions()
-                .setState(WaitForSelectorState.VISIBLE)
-                .setTimeout(30000));
+        waitForState(successMessage, WaitForSelectorState.VISIBLE, 30000);
         return this;
     }
 
@@ -449,9 +476,7 @@ public class UpdateUserPage extends BasePage {
      */
     public UpdateUserPage waitForSuspendSuccessMessage() {
         log.info("Waiting for suspend success message to appear");
-        successMessage.waitFor(new Locator.WaitForOptions()
-                .setState(WaitForSelectorState.VISIBLE)
-                .setTimeout(45000));
+        waitForState(successMessage, WaitForSelectorState.VISIBLE, 45000);
         return this;
     }
 
@@ -481,9 +506,7 @@ public class UpdateUserPage extends BasePage {
      */
     public UpdateUserPage waitForActivateSuccessMessage() {
         log.info("Waiting for activate success message to appear");
-        successMessage.waitFor(new Locator.WaitForOptions()
-                .setState(WaitForSelectorState.VISIBLE)
-                .setTimeout(30000));
+        waitForState(successMessage, WaitForSelectorState.VISIBLE, 30000);
         return this;
     }
 
@@ -531,8 +554,8 @@ public class UpdateUserPage extends BasePage {
      * Select EN country from dropdown
      * @param country Country enum value
      */
-    public UpdateUserPage selectEnCountry(com.websanity.enums.Country country) {
-        enCountrySelectBox.selectOption(country.getCode());
+    public UpdateUserPage selectEnCountry(Country country) {
+        selectEnumOption(enCountrySelectBox, country, Country::getCode);
         return this;
     }
 
@@ -548,8 +571,8 @@ public class UpdateUserPage extends BasePage {
      * Select incoming provider from dropdown
      * @param provider Provider enum value
      */
-    public UpdateUserPage selectIncomingProvider(com.websanity.enums.Provider provider) {
-        enIncToProviderSelectBox.selectOption(provider.getValue());
+    public UpdateUserPage selectIncomingProvider(Provider provider) {
+        selectEnumOption(enIncToProviderSelectBox, provider, Provider::getValue);
         return this;
     }
 
@@ -565,8 +588,8 @@ public class UpdateUserPage extends BasePage {
      * Select outgoing provider from dropdown
      * @param provider OutgoingProvider enum value
      */
-    public UpdateUserPage selectOutgoingProvider(com.websanity.enums.OutgoingProvider provider) {
-        enOutViaProviderSelectBox.selectOption(provider.getValue());
+    public UpdateUserPage selectOutgoingProvider(OutgoingProvider provider) {
+        selectEnumOption(enOutViaProviderSelectBox, provider, OutgoingProvider::getValue);
         return this;
     }
 
@@ -611,9 +634,7 @@ public class UpdateUserPage extends BasePage {
     public UpdateUserPage waitForEnSuccessMessage() {
         log.info("Waiting for EN success message to appear");
         try {
-            enSuccessMessage.waitFor(new Locator.WaitForOptions()
-                    .setState(WaitForSelectorState.VISIBLE)
-                    .setTimeout(30000));
+            waitForState(enSuccessMessage, WaitForSelectorState.VISIBLE, 30000);
         } catch (Exception e) {
             log.error("EN success message did not appear within 30 seconds: " + e.getMessage());
             throw e;
@@ -701,12 +722,9 @@ public class UpdateUserPage extends BasePage {
     public CompanyArchiveManagementPage clickCompanyArchiveManagementButton() {
         log.info("Clicking Company Archive Management button");
 
-        // Wait for new page/tab to open
-        Page newPage = page.context().waitForPage(companyArchiveManagementButton::click);
-
-        log.info("New tab opened, switching to Company Archive Management page");
-        newPage.waitForTimeout(2000);
-        return new CompanyArchiveManagementPage(newPage);
+        CompanyArchiveManagementPage popup = openPopup(companyArchiveManagementButton::click, CompanyArchiveManagementPage::new);
+        log.info("New tab is ready: Company Archive Management page");
+        return popup;
     }
 
     /**
@@ -725,12 +743,9 @@ public class UpdateUserPage extends BasePage {
     public AdminsPortalSettingsPage clickCompanyAdminPortalSettingsButton() {
         log.info("Clicking Company Admin's Portal Settings button");
 
-        // Wait for new page/tab to open
-        Page newPage = page.context().waitForPage(companyAdminPortalSettingsButton::click);
-
-        log.info("New tab opened, switching to Admins Portal Settings page");
-        newPage.waitForTimeout(2000);
-        return new AdminsPortalSettingsPage(newPage);
+        AdminsPortalSettingsPage popup = openPopup(companyAdminPortalSettingsButton::click, AdminsPortalSettingsPage::new);
+        log.info("New tab is ready: Admins Portal Settings page");
+        return popup;
     }
 
     /**
@@ -740,12 +755,9 @@ public class UpdateUserPage extends BasePage {
     public ApplicationsSettingPage clickWhatsAppPhoneCaptureSettingsButton() {
         log.info("Clicking WhatsApp Phone Capture Settings button");
 
-        // Wait for new page/tab to open
-        Page newPage = page.context().waitForPage(whatsAppPhoneCaptureSettingsButton::click);
-
-        log.info("New tab opened, switching to Applications Setting page");
-        newPage.waitForTimeout(2000);
-        return new ApplicationsSettingPage(newPage);
+        ApplicationsSettingPage popup = openPopup(whatsAppPhoneCaptureSettingsButton::click, ApplicationsSettingPage::new);
+        log.info("New tab is ready: Applications Setting page");
+        return popup;
     }
 
     /**
@@ -755,12 +767,9 @@ public class UpdateUserPage extends BasePage {
     public ApplicationsSettingPage clickWhatsAppCloudCaptureSettingsButton() {
         log.info("Clicking WhatsApp Cloud Capture Settings button");
 
-        // Wait for new page/tab to open
-        Page newPage = page.context().waitForPage(whatsAppCloudCaptureSettingsButton::click);
-
-        log.info("New tab opened, switching to Applications Setting page");
-        newPage.waitForTimeout(2000);
-        return new ApplicationsSettingPage(newPage);
+        ApplicationsSettingPage popup = openPopup(whatsAppCloudCaptureSettingsButton::click, ApplicationsSettingPage::new);
+        log.info("New tab is ready: Applications Setting page");
+        return popup;
     }
 
     /**
@@ -770,12 +779,9 @@ public class UpdateUserPage extends BasePage {
     public ApplicationsSettingPage clickTelegramCaptureSettingsButton() {
         log.info("Clicking Telegram Capture Settings button");
 
-        // Wait for new page/tab to open
-        Page newPage = page.context().waitForPage(telegramCaptureSettingsButton::click);
-
-        log.info("New tab opened, switching to Applications Setting page");
-        newPage.waitForTimeout(2000);
-        return new ApplicationsSettingPage(newPage);
+        ApplicationsSettingPage popup = openPopup(telegramCaptureSettingsButton::click, ApplicationsSettingPage::new);
+        log.info("New tab is ready: Applications Setting page");
+        return popup;
     }
 
     /**
@@ -785,12 +791,9 @@ public class UpdateUserPage extends BasePage {
     public ApplicationsSettingPage clickSignalCaptureSettingsButton() {
         log.info("Clicking Signal Capture Settings button");
 
-        // Wait for new page/tab to open
-        Page newPage = page.context().waitForPage(signalCaptureSettingsButton::click);
-
-        log.info("New tab opened, switching to Applications Setting page");
-        newPage.waitForTimeout(2000);
-        return new ApplicationsSettingPage(newPage);
+        ApplicationsSettingPage popup = openPopup(signalCaptureSettingsButton::click, ApplicationsSettingPage::new);
+        log.info("New tab is ready: Applications Setting page");
+        return popup;
     }
 
     /**
@@ -800,12 +803,9 @@ public class UpdateUserPage extends BasePage {
     public ApplicationsSettingPage clickEnterpriseNumberCaptureSettingsButton() {
         log.info("Clicking Enterprise Number Capture Settings button");
 
-        // Wait for new page/tab to open
-        Page newPage = page.context().waitForPage(enterpriseNumberCaptureSettingsButton::click);
-
-        log.info("New tab opened, switching to Applications Setting page");
-        newPage.waitForTimeout(2000);
-        return new ApplicationsSettingPage(newPage);
+        ApplicationsSettingPage popup = openPopup(enterpriseNumberCaptureSettingsButton::click, ApplicationsSettingPage::new);
+        log.info("New tab is ready: Applications Setting page");
+        return popup;
     }
 
     /**
@@ -815,12 +815,9 @@ public class UpdateUserPage extends BasePage {
     public ApplicationsSettingPage clickAndroidCaptureSettingsButton() {
         log.info("Clicking Android Capture Settings button");
 
-        // Wait for new page/tab to open
-        Page newPage = page.context().waitForPage(androidCaptureSettingsButton::click);
-
-        log.info("New tab opened, switching to Applications Setting page");
-        newPage.waitForTimeout(2000);
-        return new ApplicationsSettingPage(newPage);
+        ApplicationsSettingPage popup = openPopup(androidCaptureSettingsButton::click, ApplicationsSettingPage::new);
+        log.info("New tab is ready: Applications Setting page");
+        return popup;
     }
 
     /**
@@ -866,9 +863,7 @@ public class UpdateUserPage extends BasePage {
     public UpdateUserPage waitForAllowedDomainSuccessMessage() {
         log.info("Waiting for Allowed Archiving Domains success message to appear");
         Locator successMessage = textFrame.locator("span.sysMsg");
-        successMessage.waitFor(new Locator.WaitForOptions()
-                .setState(com.microsoft.playwright.options.WaitForSelectorState.VISIBLE)
-                .setTimeout(60000));
+        waitForState(successMessage, WaitForSelectorState.VISIBLE, 60000);
         return this;
     }
 
@@ -0,0 +1,204 @@
+package com.websanity.utils;
+
+import com.microsoft.playwright.TimeoutError;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.DoubleConsumer;
+import java.util.function.DoubleFunction;
+
+/**
+ * Timeouts learned from the latencies observed in previous runs, per environment (Maven profile)
+ *
+ * Every measured action appends its duration to timing-history/&lt;profile&gt;.csv
+ * (timestamp,action,milliseconds - also usable as a performance trend of the environment); the file keeps
+ * the last timeouts.history.size samples per action. Once an action has enough samples its timeout is
+ * p99 x factor of the last samples, but not below the hard-coded default (unless timeouts.below.default is
+ * set - then not below timeouts.min.ms) and not above timeouts.max.ms, so slow environments stop timing out.
+ * Until then (and in HAR record/replay mode) the hard-coded default is used.
+ *
+ * An action that times out is recorded with its timeout as latency, so the learned timeout grows when the
+ * environment gets slower instead of failing with the same too short timeout again.
+ *
+ * Configuration (system properties):
+ * - timeouts.adaptive     - use learned timeouts (default: true); false always uses the defaults, samples are still recorded
+ * - timeouts.factor       - multiplier of the p99 latency (default: 3)
+ * - timeouts.min.samples  - samples needed before an action's timeout is learned (default: 20)
+ * - timeouts.below.default - allow learned timeouts below the hard-coded default (default: false)
+ * - timeouts.min.ms       - lower bound of a learned timeout with timeouts.below.default (default: 5000)
+ * - timeouts.max.ms       - upper bound of a learned timeout (default: 180000)
+ * - timeouts.history.dir  - directory with the history files (default: timing-history)
+ * - timeouts.history.size - samples kept per action, in memory and in the history file (default: 200)
+ * - profile.name          - Maven profile name used in the file name (PROD/DEV/TEST/UAT)
+ */
+@Slf4j
+public final class AdaptiveTimeouts {
+
+    private static final boolean ADAPTIVE = Boolean.parseBoolean(System.getProperty("timeouts.adaptive", "true"));
+    private static final double FACTOR = Double.parseDouble(System.getProperty("timeouts.factor", "3"));
+    private static final int MIN_SAMPLES = Integer.getInteger("timeouts.min.samples", 20);
+    private static final boolean BELOW_DEFAULT = Boolean.parseBoolean(System.getProperty("timeouts.below.default", "false"));
+    private static final long MIN_TIMEOUT_MS = Long.getLong("timeouts.min.ms", 5000);
+    private static final long MAX_TIMEOUT_MS = Long.getLong("timeouts.max.ms", 180000);
+    private static final int WINDOW = Math.max(1, Integer.getInteger("timeouts.history.size", 200)); // last samples per action
+
+    private static final Path HISTORY_FILE = Paths.get(System.getProperty("timeouts.history.dir", "timing-history"),
+            System.getProperty("profile.name", "PROD") + ".csv");
+
+    private static final Map<String, Deque<Long>> samples = new HashMap<>();
+    private static final List<String> pendingLines = new ArrayList<>();
+
+    static {
+        loadHistory();
+        Runtime.getRuntime().addShutdownHook(new Thread(AdaptiveTimeouts::flush, "timing-history-flush"));
+    }
+
+    private AdaptiveTimeouts() {
+    }
+
+    /**
+     * Timeout for an action: p99 x factor of its history (not below the default unless timeouts.below.default
+     * is set), or the default while there is not enough history
+     */
+    public static double timeout(String action, double defaultMs) {
+        if (!ADAPTIVE || NetworkMode.current() != NetworkMode.LIVE) {
+            return defaultMs;
+        }
+        Long p99 = percentile(action, 0.99);
+        if (p99 == null) {
+            return defaultMs;
+        }
+        long lowerBound = BELOW_DEFAULT ? MIN_TIMEOUT_MS : (long) defaultMs;
+        long learned = Math.max(lowerBound, Math.min(MAX_TIMEOUT_MS, (long) (p99 * FACTOR)));
+        log.debug("⏲️ Timeout for '{}': {} ms (p99 {} ms, default {} ms)", action, learned, p99, (long) defaultMs);
+        return learned;
+    }
+
+    /**
+     * Run an action with its learned timeout and record how long it took
+     * A timed out action is recorded with its timeout (at least), other failures are not recorded
+     * @param call action receiving the timeout in ms
+     */
+    public static <T> T measure(String action, double defaultTimeoutMs, DoubleFunction<T> call) {
+        double timeoutMs = timeout(action, defaultTimeoutMs);
+        long start = System.nanoTime();
+        T result;
+        try {
+            result = call.apply(timeoutMs);
+        } catch (TimeoutError e) {
+            record(action, Math.max((long) timeoutMs, (System.nanoTime() - start) / 1_000_000));
+            throw e;
+        }
+        record(action, (System.nanoTime() - start) / 1_000_000);
+        return result;
+    }
+
+    /**
+     * Same as measure for actions without a result
+     */
+    public static void run(String action, double defaultTimeoutMs, DoubleConsumer call) {
+        measure(action, defaultTimeoutMs, timeoutMs -> {
+            call.accept(timeoutMs);
+            return null;
+        });
+    }
+
+    /**
+     * Record the latency of an action (the timeout for a timed out one)
+     */
+    public static synchronized void record(String action, long milliseconds) {
+        if (NetworkMode.current() != NetworkMode.LIVE) {
+            return; // HAR replay latencies say nothing about the environment
+        }
+        addSample(action, milliseconds);
+        pendingLines.add(Instant.now() + "," + action + "," + milliseconds);
+    }
+
+    private static synchronized Long percentile(String action, double percentile) {
+        Deque<Long> actionSamples = samples.get(action);
+        if (actionSamples == null || actionSamples.size() < MIN_SAMPLES) {
+            return null;
+        }
+        List<Long> sorted = new ArrayList<>(actionSamples);
+        Collections.sort(sorted);
+        int index = (int) Math.ceil(percentile * sorted.size()) - 1;
+        return sorted.get(Math.max(0, index));
+    }
+
+    private static void addSample(String action, long milliseconds) {
+        Deque<Long> actionSamples = samples.computeIfAbsent(action, key -> new ArrayDeque<>());
+        actionSamples.addLast(milliseconds);
+        if (actionSamples.size() > WINDOW) {
+            actionSamples.removeFirst();
+        }
+    }
+
+    private static void loadHistory() {
+        if (!Files.exists(HISTORY_FILE)) {
+            return;
+        }
+        try {
+            for (String line : Files.readAllLines(HISTORY_FILE, StandardCharsets.UTF_8)) {
+                String[] columns = line.split(",");
+                if (columns.length == 3) {
+                    try {
+                        addSample(columns[1], Long.parseLong(columns[2]));
+                    } catch (NumberFormatException ignored) {
+                        // header or damaged line
+                    }
+                }
+            }
+            log.info("⏲️ Loaded latency history of {} action(s) from {}", samples.size(), HISTORY_FILE);
+        } catch (IOException e) {
+            log.warn("Could not read latency history {}: {}", HISTORY_FILE, e.getMessage());
+        }
+    }
+
+    /**
+     * Add the latencies of this run to the history file and drop all but the last WINDOW samples of every
+     * action (runs at JVM shutdown). The file is re-read, so samples of runs that ended meanwhile are kept.
+     */
+    private static synchronized void flush() {
+        if (pendingLines.isEmpty()) {
+            return;
+        }
+        try {
+            List<String> lines = new ArrayList<>();
+            if (Files.exists(HISTORY_FILE)) {
+                lines.addAll(Files.readAllLines(HISTORY_FILE, StandardCharsets.UTF_8));
+            }
+            lines.addAll(pendingLines);
+
+            // Keep the newest WINDOW lines of every action, in their original order
+            Map<String, Integer> kept = new HashMap<>();
+            Deque<String> trimmed = new ArrayDeque<>();
+            for (int i = lines.size() - 1; i >= 0; i--) {
+                String[] columns = lines.get(i).split(",");
+                if (columns.length == 3 && kept.merge(columns[1], 1, Integer::sum) <= WINDOW) {
+                    trimmed.addFirst(lines.get(i));
+                }
+            }
+
+            Files.createDirectories(HISTORY_FILE.getParent());
+            Path tempFile = HISTORY_FILE.resolveSibling(HISTORY_FILE.getFileName() + ".tmp");
+            Files.write(tempFile, trimmed, StandardCharsets.UTF_8);
+            Files.move(tempFile, HISTORY_FILE, StandardCopyOption.REPLACE_EXISTING);
+            pendingLines.clear();
+        } catch (IOException e) {
+            log.warn("Could not write latency history {}: {}", HISTORY_FILE, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,255 @@
+package com.websanity.utils;
+
+import com.microsoft.playwright.APIResponse;
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.PlaywrightException;
+import com.microsoft.playwright.options.RequestOptions;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Properties;
+
+/**
+ * File-based cache of an authenticated browser storage state (cookies + local storage)
+ *
+ * After the first successful login the context storage state is saved to
+ * target/auth/&lt;profile&gt;-&lt;app&gt;.json together with a small metadata file
+ * (landing URL, login URL, save time). Later test classes, containers and reruns
+ * restore it with Browser.NewContextOptions.setStorageStatePath and only log in again
+ * when the cached state is expired or rejected by the server.
+ *
+ * Encrypted caches (session vault, used for the MFA-protected admin portal) store the state
+ * encrypted with SecureConfig in target/auth/&lt;profile&gt;-&lt;app&gt;.vault and are restored
+ * from memory via Browser.NewContextOptions.setStorageState - plain session cookies never touch disk.
+ * If machine-specific encryption is not available (Docker/Linux) the vault is not persisted.
+ *
+ * Configuration (system properties):
+ * - profile.name            - Maven profile name used in the file name (PROD/DEV/TEST/UAT)
+ * - auth.cache.ttl.minutes  - how long a saved teleadmin state is trusted before re-login (default: 30)
+ * - auth.vault.ttl.hours    - upper bound for reusing the admin portal session vault (default: 24)
+ * - auth.cache.enabled      - set to false to always perform a full login
+ *                             (default: true, false with network.mode=record/replay so the login is part of the HAR)
+ */
+@Slf4j
+public class AuthStateCache {
+
+    private static final Path AUTH_DIR = Paths.get("target", "auth");
+    private static final long TELEADMIN_TTL_MS = Long.getLong("auth.cache.ttl.minutes", 30) * 60 * 1000;
+    private static final long ADMIN_PORTAL_TTL_MS = Long.getLong("auth.vault.ttl.hours", 24) * 60 * 60 * 1000;
+    private static final boolean ENABLED = Boolean.parseBoolean(
+            System.getProperty("auth.cache.enabled", String.valueOf(NetworkMode.current() == NetworkMode.LIVE)));
+
+    private static final String LANDING_URL = "landing.url";
+    private static final String LOGIN_URL = "login.url";
+    private static final String SAVED_AT = "saved.at";
+
+    private final String app;
+    private final String loginUrl;
+    private final long ttlMs;
+    private final boolean encrypted;
+    private final Path statePath;
+    private final Path metaPath;
+
+    /**
+     * @param app       application name used in the file name (e.g. "teleadmin")
+     * @param loginUrl  URL of the login page; a cached state saved for another URL is ignored
+     * @param ttlMs     maximum age of a cached state
+     * @param encrypted store the state encrypted with SecureConfig (session vault)
+     */
+    public AuthStateCache(String app, String loginUrl, long ttlMs, boolean encrypted) {
+        this.app = app;
+        this.loginUrl = loginUrl;
+        this.ttlMs = ttlMs;
+        this.encrypted = encrypted;
+        String fileName = getProfileName() + "-" + app;
+        this.statePath = AUTH_DIR.resolve(fileName + (encrypted ? ".vault" : ".json"));
+        this.metaPath = AUTH_DIR.resolve(fileName + ".properties");
+    }
+
+    /**
+     * Cache for the teleadmin session of the active Maven profile
+     */
+    public static AuthStateCache forTeleadmin() {
+        return new AuthStateCache("teleadmin", System.getProperty("teleadmin.url"), TELEADMIN_TTL_MS, false);
+    }
+
+    /**
+     * Encrypted session vault for the admin portal (MFA-verified) session of the active Maven profile
+     */
+    public static AuthStateCache forAdminPortal() {
+        return new AuthStateCache("adminportal", System.getProperty("admin.portal.url"), ADMIN_PORTAL_TTL_MS, true);
+    }
+
+    /**
+     * Get path to the saved storage state if it exists, belongs to the current login URL and is within TTL
+     * Only for plain (not encrypted) caches - use getValidState() for the session vault
+     * @return storage state path or null if there is no usable cached state
+     */
+    public Path getValidStatePath() {
+        if (encrypted) {
+            throw new IllegalStateException("Encrypted " + app + " session can only be restored via getValidState()");
+        }
+        return isValid() ? statePath : null;
+    }
+
+    /**
+     * Get the saved storage state JSON (decrypted for the session vault)
+     * @return storage state JSON or null if there is no usable cached state
+     */
+    public String getValidState() {
+        if (!isValid()) {
+            return null;
+        }
+        try {
+            String content = Files.readString(statePath);
+            return encrypted ? SecureConfig.decryptValue(content) : content;
+        } catch (IOException | RuntimeException e) {
+            log.warn("⚠️ Could not read cached {} session: {}", app, e.getMessage());
+            invalidate();
+            return null;
+        }
+    }
+
+    /**
+     * Cached state exists, belongs to the current login URL and is within TTL
+     */
+    private boolean isValid() {
+        if (!ENABLED) {
+            log.info("🔐 Auth state cache disabled (auth.cache.enabled=false)");
+            return false;
+        }
+        if (!Files.exists(statePath) || !Files.exists(metaPath)) {
+            log.info("🔐 No cached {} session found at {}", app, statePath);
+            return false;
+        }
+
+        Properties meta = loadMeta();
+        if (loginUrl != null && !loginUrl.equals(meta.getProperty(LOGIN_URL))) {
+            log.info("🔐 Cached {} session belongs to another environment ({}) - ignoring", app, meta.getProperty(LOGIN_URL));
+            return false;
+        }
+
+        long ageMs = System.currentTimeMillis() - Long.parseLong(meta.getProperty(SAVED_AT, "0"));
+        if (ageMs > ttlMs) {
+            log.info("🔐 Cached {} session expired ({} s old, TTL {} s)", app, ageMs / 1000, ttlMs / 1000);
+            return false;
+        }
+
+        log.info("🔐 Found cached {} session ({} s old)", app, ageMs / 1000);
+        return true;
+    }
+
+    /**
+     * URL the browser landed on after the login that produced the cached state
+     */
+    public String getLandingUrl() {
+        return loadMeta().getProperty(LANDING_URL);
+    }
+
+    /**
+     * Cheap probe: request the landing URL with the restored cookies (no page rendering)
+     * and check that the server does not redirect back to the login form
+     *
+     * @param context     context created with the restored storage state
+     * @param loginMarker text that only appears on the login page (e.g. login button handler),
+     *                    or null to rely on the HTTP status only
+     * @return true if the restored session is still accepted by the server
+     */
+    public boolean probe(BrowserContext context, String loginMarker) {
+        String landingUrl = getLandingUrl();
+        if (landingUrl == null) {
+            return false;
+        }
+
+        APIResponse response = null;
+        try {
+            long start = System.currentTimeMillis();
+            response = context.request().get(landingUrl, RequestOptions.create()
+                    .setMaxRedirects(0)
+                    .setTimeout(10000));
+            boolean valid = response.status() == 200
+                    && (loginMarker == null || !response.text().contains(loginMarker));
+            log.info("🔐 Session probe {} -> HTTP {} in {} ms ({})", landingUrl, response.status(),
+                    System.currentTimeMillis() - start, valid ? "valid" : "expired");
+            return valid;
+        } catch (PlaywrightException e) {
+            log.warn("⚠️ Session probe failed: {}", e.getMessage());
+            return false;
+        } finally {
+            if (response != null) {
+                response.dispose();
+            }
+        }
+    }
+
+    /**
+     * Save storage state of a freshly logged-in context
+     * @param context    logged-in context
+     * @param landingUrl URL the browser landed on after login (used by probe and restore)
+     */
+    public void save(BrowserContext context, String landingUrl) {
+        if (!ENABLED) {
+            return;
+        }
+        if (encrypted && !SecureConfig.isEncryptionAvailable()) {
+            log.info("🔐 Machine-specific encryption not available - {} session is not persisted", app);
+            return;
+        }
+        try {
+            Files.createDirectories(AUTH_DIR);
+            if (encrypted) {
+                Files.writeString(statePath, SecureConfig.encrypt(context.storageState()));
+            } else {
+                context.storageState(new BrowserContext.StorageStateOptions().setPath(statePath));
+            }
+
+            Properties meta = new Properties();
+            meta.setProperty(LANDING_URL, landingUrl);
+            if (loginUrl != null) {
+                meta.setProperty(LOGIN_URL, loginUrl);
+            }
+            meta.setProperty(SAVED_AT, String.valueOf(System.currentTimeMillis()));
+            try (OutputStream out = Files.newOutputStream(metaPath)) {
+                meta.store(out, app + " auth state metadata");
+            }
+            log.info("💾 Saved {} session to {}", app, statePath);
+        } catch (IOException | RuntimeException e) {
+            log.warn("⚠️ Could not save {} session: {}", app, e.getMessage());
+        }
+    }
+
+    /**
+     * Delete cached state (e.g. after it was rejected by the server)
+     */
+    public void invalidate() {
+        try {
+            Files.deleteIfExists(statePath);
+            Files.deleteIfExists(metaPath);
+            log.info("🗑️ Cached {} session invalidated", app);
+        } catch (IOException e) {
+            log.warn("⚠️ Could not delete cached {} session: {}", app, e.getMessage());
+        }
+    }
+
+    private Properties loadMeta() {
+        Properties meta = new Properties();
+        try (InputStream in = Files.newInputStream(metaPath)) {
+            meta.load(in);
+        } catch (IOException e) {
+            log.debug("Could not read {}: {}", metaPath, e.getMessage());
+        }
+        return meta;
+    }
+
+    /**
+     * Maven profile name (PROD/DEV/TEST/UAT), falls back to PROD (the default profile)
+     */
+    private static String getProfileName() {
+        return System.getProperty("profile.name", "PROD");
+    }
+}
@@ -0,0 +1,138 @@
+package com.websanity.utils;
+
+import com.microsoft.playwright.Locator;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads and applies a group of settings checkboxes (an enum of Settings) in a single round trip
+ *
+ * read() returns the checked state of every setting of the enum. apply() takes the desired states and, in the
+ * same browser call, clicks only the checkboxes that differ and reads all states before and after. Clicks run
+ * in enum order and each one sees the effect of the previous ones, so "select all" checkboxes declared before
+ * their children are handled the same way as by a user clicking through the list.
+ *
+ * The clicks only change the form - saving it is up to the page object.
+ */
+@Slf4j
+public final class CheckboxMatrix {
+
+    private static final String APPLY_SCRIPT = """
+            (root, {selectors, desired}) => {
+                const find = selector => root.querySelector(selector);
+                const missing = selectors.filter(selector => !find(selector));
+                if (missing.length) {
+                    return {missing};
+                }
+                const read = () => selectors.map(selector => find(selector).checked);
+                const before = read();
+                const clicked = [];
+                for (const setting of desired) {
+                    const checkbox = find(setting.selector);
+                    if (checkbox.checked !== setting.checked) {
+                        checkbox.click();
+                        clicked.push(setting.selector);
+                    }
+                }
+                return {before, after: read(), clicked, missing: []};
+            }
+            """;
+
+    private CheckboxMatrix() {
+    }
+
+    /**
+     * One checkbox of a settings group (implemented by an enum, in the order a user would click them)
+     */
+    public interface Setting {
+        String getSelector();
+
+        String getDisplayName();
+    }
+
+    /**
+     * States around an apply(): before and after the clicks, and which settings were clicked
+     */
+    public record Result<S extends Enum<S>>(Map<S, Boolean> before, Map<S, Boolean> after, List<S> clicked) {
+
+        /**
+         * Settings whose state after the clicks differs from the desired one (e.g. forced by a dependent checkbox)
+         */
+        public List<S> mismatches(Map<S, Boolean> desired) {
+            return desired.entrySet().stream()
+                    .filter(entry -> !entry.getValue().equals(after.get(entry.getKey())))
+                    .map(Map.Entry::getKey)
+                    .toList();
+        }
+
+        public boolean isChanged() {
+            return !clicked.isEmpty();
+        }
+    }
+
+    /**
+     * The same state for every setting of the enum (e.g. all(MessengerAppSetting.class, false))
+     */
+    public static <S extends Enum<S> & Setting> Map<S, Boolean> all(Class<S> type, boolean checked) {
+        Map<S, Boolean> states = new EnumMap<>(type);
+        EnumSet.allOf(type).forEach(setting -> states.put(setting, checked));
+        return states;
+    }
+
+    /**
+     * Checked state of every setting of the enum
+     * @param root element the selectors are relative to (e.g. page.locator("body"))
+     */
+    public static <S extends Enum<S> & Setting> Map<S, Boolean> read(Locator root, Class<S> type) {
+        return apply(root, type, Map.of()).after();
+    }
+
+    /**
+     * Click the checkboxes whose state differs from the desired one (settings not in the map are left as they are)
+     * @throws IllegalStateException if a checkbox of the enum is not on the page (nothing is clicked then)
+     */
+    @SuppressWarnings("unchecked")
+    public static <S extends Enum<S> & Setting> Result<S> apply(Locator root, Class<S> type, Map<S, Boolean> desired) {
+        List<S> settings = List.copyOf(EnumSet.allOf(type));
+        List<Map<String, Object>> desiredStates = new ArrayList<>();
+        for (S setting : settings) {
+            if (desired.containsKey(setting)) {
+                desiredStates.add(Map.of("selector", setting.getSelector(), "checked", desired.get(setting)));
+            }
+        }
+        Map<String, Object> argument = Map.of(
+                "selectors", settings.stream().map(Setting::getSelector).toList(),
+                "desired", desiredStates);
+
+        Map<String, Object> result = (Map<String, Object>) root.evaluate(APPLY_SCRIPT, argument);
+        List<String> missing = (List<String>) result.get("missing");
+        if (!missing.isEmpty()) {
+            throw new IllegalStateException(type.getSimpleName() + " checkbox(es) not found on the page: " + missing);
+        }
+
+        List<S> clicked = new ArrayList<>();
+        for (String selector : (List<String>) result.get("clicked")) {
+            settings.stream().filter(setting -> setting.getSelector().equals(selector)).findFirst().ifPresent(clicked::add);
+        }
+        Result<S> states = new Result<>(toMap(type, settings, (List<Boolean>) result.get("before")),
+                toMap(type, settings, (List<Boolean>) result.get("after")), List.copyOf(clicked));
+        if (!desired.isEmpty()) {
+            log.info("☑️ {}: clicked {} of {} setting(s) {}", type.getSimpleName(), clicked.size(), desired.size(),
+                    clicked.stream().map(Setting::getDisplayName).toList());
+        }
+        return states;
+    }
+
+    private static <S extends Enum<S>> Map<S, Boolean> toMap(Class<S> type, List<S> settings, List<Boolean> states) {
+        Map<S, Boolean> map = new EnumMap<>(type);
+        for (int i = 0; i < settings.size(); i++) {
+            map.put(settings.get(i), states.get(i));
+        }
+        return map;
+    }
+}
@@ -1,36 +1,55 @@
 package com.websanity.utils;
 
+import com.sun.mail.imap.IMAPFolder;
+import com.sun.mail.imap.IMAPMessage;
+import com.sun.mail.imap.IMAPStore;
 import lombok.extern.slf4j.Slf4j;
 
 import javax.mail.*;
 import javax.mail.internet.MimeMultipart;
 import javax.mail.search.AndTerm;
 import javax.mail.search.ComparisonTerm;
+import javax.mail.search.FromStringTerm;
+import javax.mail.search.OrTerm;
 import javax.mail.search.ReceivedDateTerm;
 import javax.mail.search.SearchTerm;
+import javax.mail.search.SubjectTerm;
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Comparator;
 import java.util.Date;
-import java.util.Properties;
+import java.util.List;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 /**
  * Helper class for working with Gmail to retrieve MFA codes from emails
+ * The IMAP connection is shared by all calls (see ImapStorePool) - methods close their folders, never the store
+ *
+ * Candidate emails are searched on the server (received date, subject keywords, sender) and only the text part
+ * of an email is fetched, up to mail.body.max.bytes (see MessageText) - the inbox may hold thousands of emails.
+ *
+ * Configuration (system properties):
+ * - mfa.email.sender - only consider emails from this sender (default: any sender)
  */
 @Slf4j
 public class EmailHelper {
 
-    private static final String IMAP_HOST = "imap.gmail.com";
-    private static final String IMAP_PORT = "993";
-    private static final int MAX_RETRIES = 30;
-    private static final int RETRY_DELAY_MS = 2000;
+    private static final long MFA_EMAIL_TIMEOUT_MS = 60000;
+    private static final String MFA_SENDER = System.getProperty("mfa.email.sender");
+
+    private static final String[] MFA_KEYWORDS = {
+        "verification", "verify", "code", "otp", "authenticate",
+        "security", "confirm", "two-factor", "2fa", "mfa",
+        "login", "sign in", "signin", "access"
+    };
 
     /**
      * Deletes ALL emails from Gmail inbox (including all conversation threads)
      * This ensures completely clean inbox before test to guarantee finding only new email
-     * Verifies deletion and retries if needed
+     * Gmail: all messages are moved to Trash with one MOVE (expunging from INBOX only archives them);
+     * other servers: all messages are flagged deleted with one STORE and expunged once
      *
      * @param email       Gmail email address
      * @param appPassword Gmail App Password
@@ -40,105 +59,181 @@ public class EmailHelper {
     public static int deleteAllEmails(String email, String appPassword) {
         log.info("🗑️ Deleting ALL emails from inbox (including all conversation threads)...");
 
+        IMAPFolder inbox = null;
         try {
-            Properties props = new Properties();
-            props.put("mail.store.protocol", "imaps");
-            props.put("mail.imaps.host", IMAP_HOST);
-            props.put("mail.imaps.port", IMAP_PORT);
-            props.put("mail.imaps.ssl.enable", "true");
-            props.put("mail.imaps.timeout", "10000");
-            props.put("mail.imaps.connectiontimeout", "10000");
+            Store store = ImapStorePool.get(email, appPassword);
+            long start = System.currentTimeMillis();
 
-            Session session = Session.getInstance(props);
-            Store store = session.getStore("imaps");
+            inbox = (IMAPFolder) store.getFolder("INBOX");
+            inbox.open(Folder.READ_WRITE); // Open in READ_WRITE mode to delete messages
 
-            try {
-                store.connect(IMAP_HOST, email, appPassword);
-                log.debug("✅ Connected to Gmail for cleanup");
-            } catch (AuthenticationFailedException e) {
-                log.error("❌ Authentication failed during cleanup");
-                throw new RuntimeException("Gmail authentication failed during cleanup", e);
-            }
+            int totalMessages = inbox.getMessageCount();
+            log.info("📬 Total messages in inbox: {}", totalMessages);
 
-            int totalDeleted = 0;
-            int maxAttempts = 3; // Try up to 3 times to ensure complete deletion
+            if (totalMessages == 0) {
+                log.info("✅ Inbox is empty");
+                return 0;
+            }
 
-            for (int attempt = 1; attempt <= maxAttempts; attempt++) {
-                Folder inbox = store.getFolder("INBOX");
-                inbox.open(Folder.READ_WRITE); // Open in READ_WRITE mode to delete messages
+            Folder trash = isGmail(store) ? findTrash(store) : null;
+            if (trash != null) {
+                // Message objects are only sequence numbers here - nothing is fetched, the MOVE covers 1:n
+                log.debug("🗑️ Moving {} message(s) to {}...", totalMessages, trash.getFullName());
+                inbox.moveMessages(inbox.getMessages(), trash);
+                inbox.close(false);
+            } else {
+                log.debug("🗑️ Flagging {} message(s) as deleted and expunging...", totalMessages);
+                inbox.setFlags(1, totalMessages, new Flags(Flags.Flag.DELETED), true);
+                inbox.close(true);
+            }
+            long elapsed = System.currentTimeMillis() - start;
 
-                int currentMessages = inbox.getMessageCount();
+            // Verification - mails arriving meanwhile are not deleted
+            inbox.open(Folder.READ_ONLY);
+            int finalCount = inbox.getMessageCount();
+            inbox.close(false);
 
-                if (attempt == 1) {
-                    log.info("📬 Total messages in inbox: {}", currentMessages);
-                } else {
-                    log.info("📬 Attempt {}/{}: Still {} message(s) remaining", attempt, maxAttempts, currentMessages);
-                }
+            if (finalCount == 0) {
+                log.info("✅ Deleted ALL {} email(s) in {} ms - inbox is now EMPTY (verified)", totalMessages, elapsed);
+            } else {
+                log.warn("⚠️ Deleted {} email(s) in {} ms but {} message(s) are in inbox (arrived meanwhile)",
+                        totalMessages, elapsed, finalCount);
+            }
 
-                if (currentMessages == 0) {
-                    log.info("✅ Inbox is empty");
-                    inbox.close(false);
-                    break; // Success!
-                }
+            return totalMessages;
 
-                // Get ALL messages
-                Message[] allMessages = inbox.getMessages();
-                log.info("📋 Marking ALL {} message(s) for deletion (attempt {}/{})...", allMessages.length, attempt, maxAttempts);
+        } catch (Exception e) {
+            log.error("❌ Error deleting emails", e);
+            throw new RuntimeException("Failed to delete emails: " + e.getMessage(), e);
+        } finally {
+            closeFolder(inbox);
+        }
+    }
 
-                // Mark ALL messages for deletion (no filtering)
-                int markedCount = 0;
-                for (int i = 0; i < allMessages.length; i++) {
-                    try {
-                        allMessages[i].setFlag(Flags.Flag.DELETED, true);
-                        markedCount++;
-                        if ((i + 1) % 10 == 0 || i == allMessages.length - 1) {
-                            log.debug("🗑️ Marked {}/{} messages for deletion", i + 1, allMessages.length);
-                        }
-                    } catch (Exception e) {
-                        log.debug("⚠️  Error marking message {} for deletion: {}", i + 1, e.getMessage());
-                    }
-                }
+    /**
+     * Close the folder if it is (still) open, without expunging - called in finally, so a failed
+     * lookup does not leave the folder open on the pooled store
+     */
+    private static void closeFolder(Folder folder) {
+        if (folder == null || !folder.isOpen()) {
+            return;
+        }
+        try {
+            folder.close(false);
+        } catch (MessagingException e) {
+            log.debug("Error closing folder {}: {}", folder.getFullName(), e.getMessage());
+        }
+    }
 
-                log.info("📊 Marked {} message(s) for deletion", markedCount);
+    private static boolean isGmail(Store store) throws MessagingException {
+        return store instanceof IMAPStore imapStore && imapStore.hasCapability("X-GM-EXT-1");
+    }
 
-                // Close folder with expunge=true to permanently delete marked messages
-                log.debug("🗑️ Executing expunge to permanently delete messages...");
-                inbox.close(true);
+    /**
+     * Gmail Trash folder - marked \Trash (its name depends on the account language), or null if there is none
+     */
+    private static Folder findTrash(Store store) throws MessagingException {
+        for (Folder folder : store.getDefaultFolder().list("*")) {
+            if (folder instanceof IMAPFolder imapFolder && Arrays.asList(imapFolder.getAttributes()).contains("\\Trash")) {
+                return folder;
+            }
+        }
+        log.warn("⚠️ No \\Trash folder found - deleted emails may only be archived");
+        return null;
+    }
 
-                totalDeleted += markedCount;
+    /**
+     * Reads the inbox watermark (UIDNEXT) - every email arriving later gets a UID at or above it
+     * Read it right before triggering the MFA email and pass it to getMfaCodeAfterWatermark
+     *
+     * @param email       Gmail email address
+     * @param appPassword Gmail App Password
+     * @return UID the next email in the inbox will get
+     * @throws RuntimeException if the server doesn't report UIDNEXT or connection fails
+     */
+    public static long getInboxWatermark(String email, String appPassword) {
+        try {
+            Store store = ImapStorePool.get(email, appPassword);
+            UIDFolder inbox = (UIDFolder) store.getFolder("INBOX");
 
-                // Wait a bit for Gmail to process the deletion
-                if (attempt < maxAttempts) {
-                    log.debug("⏳ Waiting 1 second for Gmail to process deletion...");
-                    Thread.sleep(1000);
-                }
+            // Folder stays closed - a single STATUS INBOX (UIDNEXT)
+            long uidNext = inbox.getUIDNext();
+            if (uidNext <= 0) {
+                throw new RuntimeException("IMAP server did not report UIDNEXT for INBOX");
             }
+            log.info("🔖 Inbox watermark: UIDNEXT={}", uidNext);
+            return uidNext;
+
+        } catch (MessagingException e) {
+            log.error("❌ Failed to read inbox watermark");
+            throw new RuntimeException("Failed to read inbox watermark: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Retrieves MFA code from the first email that arrived in the inbox after the watermark
+     * Only messages with a UID at or above the watermark are fetched (envelope data in one FETCH) -
+     * no date comparison and no inbox cleanup needed. Waits for the email to arrive (see MailWaiter)
+     *
+     * @param email        Gmail email address
+     * @param appPassword  Gmail App Password
+     * @param uidWatermark UIDNEXT read before the MFA email was triggered (see getInboxWatermark)
+     * @return 6-digit MFA code
+     * @throws RuntimeException if MFA code is not found or connection fails
+     */
+    public static String getMfaCodeAfterWatermark(String email, String appPassword, long uidWatermark) {
+        Folder inbox = null;
+        try {
+            Store store = ImapStorePool.get(email, appPassword);
 
-            // Final verification
-            Folder inbox = store.getFolder("INBOX");
+            inbox = store.getFolder("INBOX");
             inbox.open(Folder.READ_ONLY);
-            int finalCount = inbox.getMessageCount();
-            inbox.close(false);
-            store.close();
+            log.debug("🔎 Looking for emails with UID >= {}", uidWatermark);
 
-            if (finalCount == 0) {
-                log.info("✅ Successfully deleted ALL {} email(s) - inbox is now EMPTY (verified)", totalDeleted);
-            } else {
-                log.warn("⚠️ Deleted {} email(s) but {} message(s) still remain in inbox", totalDeleted, finalCount);
-                log.warn("⚠️ This may be due to Gmail sync delay or conversation threading");
-            }
+            String mfaCode = MailWaiter.awaitAfterUid(inbox, uidWatermark, MFA_EMAIL_TIMEOUT_MS, EmailHelper::findMfaCodeInNewMessages);
 
-            return totalDeleted;
+            if (mfaCode == null) {
+                throw new RuntimeException("MFA email not found within " + MFA_EMAIL_TIMEOUT_MS / 1000 + " seconds");
+            }
+            log.info("🎉 MFA code found: {}", mfaCode);
+            return mfaCode;
 
         } catch (Exception e) {
-            log.error("❌ Error deleting emails", e);
-            throw new RuntimeException("Failed to delete emails: " + e.getMessage(), e);
+            log.error("❌ Failed to get MFA code from email");
+            throw new RuntimeException("Failed to get MFA code from email: " + e.getMessage(), e);
+        } finally {
+            closeFolder(inbox);
+        }
+    }
+
+    /**
+     * MFA code of the newest of the new messages (in arrival order), or null if none contains one
+     */
+    private static String findMfaCodeInNewMessages(Message[] messages) {
+        for (int i = messages.length - 1; i >= 0; i--) {
+            Message message = messages[i];
+            try {
+                String subject = message.getSubject();
+                log.info("  ✅ Found NEW email: '{}' (received: {})", subject, message.getReceivedDate());
+
+                String content = getTextFromMessage(message);
+                String mfaCode = extractMfaCode(content);
+
+                if (mfaCode != null) {
+                    return mfaCode;
+                }
+                log.warn("  ⚠️  Email found but no MFA code extracted. Subject: {}", subject);
+                log.debug("Content preview: {}", content.substring(0, Math.min(300, content.length())));
+            } catch (Exception e) {
+                log.debug("Error processing message: {}", e.getMessage());
+            }
         }
+        return null;
     }
 
     /**
      * Retrieves MFA code from the most recent email received AFTER the given timestamp
-     * Waits for the email to arrive (checks in a loop)
+     * Waits for the email to arrive (pushed by IMAP IDLE, see MailWaiter)
      * This approach doesn't require deleting emails - just finds the freshest one
      *
      * @param email          Gmail email address
@@ -148,131 +243,96 @@ public class EmailHelper {
      * @throws RuntimeException if MFA code is not found or connection fails
      */
     public static String getMfaCodeAfterTimestamp(String email, String appPassword, Date afterTimestamp) {
+        Folder inbox = null;
         try {
-            Properties props = new Properties();
-            props.put("mail.store.protocol", "imaps");
-            props.put("mail.imaps.host", IMAP_HOST);
-            props.put("mail.imaps.port", IMAP_PORT);
-            props.put("mail.imaps.ssl.enable", "true");
-            props.put("mail.imaps.timeout", "10000");
-            props.put("mail.imaps.connectiontimeout", "10000");
-
-            Session session = Session.getInstance(props);
-            Store store = session.getStore("imaps");
+            Store store = ImapStorePool.get(email, appPassword);
 
-            try {
-                store.connect(IMAP_HOST, email, appPassword);
-            } catch (AuthenticationFailedException e) {
-                log.error("❌ Gmail authentication failed");
-                throw new RuntimeException("Gmail authentication failed", e);
-            } catch (MessagingException e) {
-                log.error("❌ Connection failed: {}", e.getMessage());
-                throw new RuntimeException("Failed to connect to Gmail: " + e.getMessage(), e);
-            }
+            inbox = store.getFolder("INBOX");
+            inbox.open(Folder.READ_ONLY);
+            log.debug("🔎 Looking for emails received AFTER: {}", afterTimestamp);
 
-            Folder inbox = store.getFolder("INBOX");
+            // The email may already be there: check the emails the server finds for the date first, then wait for new ones
+            String mfaCode = MailWaiter.await(inbox, mfaSearchTerm(afterTimestamp, false), MFA_EMAIL_TIMEOUT_MS,
+                    messages -> findMfaCodeAfterTimestamp(messages, afterTimestamp));
 
-            // Try multiple times to find the email (it may take a few seconds to arrive)
-            for (int attempt = 1; attempt <= MAX_RETRIES; attempt++) {
-                inbox.open(Folder.READ_ONLY);
+            if (mfaCode == null) {
+                throw new RuntimeException("MFA email not found within " + MFA_EMAIL_TIMEOUT_MS / 1000 + " seconds");
+            }
+            log.info("🎉 MFA code found: {}", mfaCode);
+            return mfaCode;
 
-                int totalMessages = inbox.getMessageCount();
-                log.info("🔍 Attempt {}/{} - Total messages in inbox: {}", attempt, MAX_RETRIES, totalMessages);
+        } catch (Exception e) {
+            log.error("❌ Failed to get MFA code from email");
+            throw new RuntimeException("Failed to get MFA code from email: " + e.getMessage(), e);
+        } finally {
+            closeFolder(inbox);
+        }
+    }
 
-                if (totalMessages == 0) {
-                    log.debug("⏳ No messages in inbox, waiting...");
-                    inbox.close(false);
-                    if (attempt < MAX_RETRIES) {
-                        Thread.sleep(RETRY_DELAY_MS);
-                    }
-                    continue;
+    /**
+     * MFA code of the newest message received after the timestamp, or null if there is none
+     */
+    private static String findMfaCodeAfterTimestamp(Message[] messages, Date afterTimestamp) {
+        // Sort by received date (newest first)
+        Arrays.sort(messages, new Comparator<Message>() {
+            @Override
+            public int compare(Message m1, Message m2) {
+                try {
+                    Date d1 = m1.getReceivedDate();
+                    Date d2 = m2.getReceivedDate();
+                    if (d1 == null || d2 == null) return 0;
+                    return d2.compareTo(d1);
+                } catch (MessagingException e) {
+                    return 0;
                 }
+            }
+        });
 
-                // Get the most recent 20 messages
-                int start = Math.max(1, totalMessages - 19);
-                Message[] recentMessages = inbox.getMessages(start, totalMessages);
-                log.debug("📨 Checking last {} message(s) (from position {} to {})", recentMessages.length, start, totalMessages);
-
-                // Sort by received date (newest first)
-                Arrays.sort(recentMessages, new Comparator<Message>() {
-                    @Override
-                    public int compare(Message m1, Message m2) {
-                        try {
-                            Date d1 = m1.getReceivedDate();
-                            Date d2 = m2.getReceivedDate();
-                            if (d1 == null || d2 == null) return 0;
-                            return d2.compareTo(d1);
-                        } catch (MessagingException e) {
-                            return 0;
-                        }
-                    }
-                });
+        int checkedCount = 0;
+        int skippedOldCount = 0;
 
-                log.debug("🔎 Looking for emails received AFTER: {}", afterTimestamp);
+        // Check messages starting from the newest
+        for (Message message : messages) {
+            try {
+                Date receivedDate = message.getReceivedDate();
+                String subject = message.getSubject();
 
-                int checkedCount = 0;
-                int skippedOldCount = 0;
+                checkedCount++;
 
-                // Check messages starting from the newest
-                for (Message message : recentMessages) {
-                    try {
-                        Date receivedDate = message.getReceivedDate();
-                        String subject = message.getSubject();
-
-                        checkedCount++;
-
-                        // Skip emails received BEFORE our timestamp
-                        if (receivedDate == null || receivedDate.before(afterTimestamp)) {
-                            skippedOldCount++;
-                            log.debug("  ⏭️  Skipping OLD email: '{}' (received: {})", subject, receivedDate);
-                            continue;
-                        }
-
-                        // This email was received AFTER our timestamp
-                        long secondsAfter = (receivedDate.getTime() - afterTimestamp.getTime()) / 1000;
-                        log.info("  ✅ Found NEW email: '{}' (received: {} - {} seconds after timestamp)",
-                                subject, receivedDate, secondsAfter);
-
-                        String content = getTextFromMessage(message);
-                        String mfaCode = extractMfaCode(content);
-
-                        if (mfaCode != null) {
-                            log.info("🎉 MFA code found: {}", mfaCode);
-                            inbox.close(false);
-                            store.close();
-                            return mfaCode;
-                        } else {
-                            log.warn("  ⚠️  Email found but no MFA code extracted. Subject: {}", subject);
-                            log.debug("Content preview: {}", content.substring(0, Math.min(300, content.length())));
-                        }
-                    } catch (Exception e) {
-                        log.debug("Error processing message: {}", e.getMessage());
-                    }
+                // Skip emails received BEFORE our timestamp
+                if (receivedDate == null || receivedDate.before(afterTimestamp)) {
+                    skippedOldCount++;
+                    log.debug("  ⏭️  Skipping OLD email: '{}' (received: {})", subject, receivedDate);
+                    continue;
                 }
 
-                log.info("📊 Summary: Checked {} message(s), skipped {} old message(s), found 0 new messages with MFA code",
-                        checkedCount, skippedOldCount);
+                // This email was received AFTER our timestamp
+                long secondsAfter = (receivedDate.getTime() - afterTimestamp.getTime()) / 1000;
+                log.info("  ✅ Found NEW email: '{}' (received: {} - {} seconds after timestamp)",
+                        subject, receivedDate, secondsAfter);
 
-                inbox.close(false);
+                String content = getTextFromMessage(message);
+                String mfaCode = extractMfaCode(content);
 
-                if (attempt < MAX_RETRIES) {
-                    log.debug("⏳ Waiting {} ms before next attempt...", RETRY_DELAY_MS);
-                    Thread.sleep(RETRY_DELAY_MS);
+                if (mfaCode != null) {
+                    return mfaCode;
+                } else {
+                    log.warn("  ⚠️  Email found but no MFA code extracted. Subject: {}", subject);
+                    log.debug("Content preview: {}", content.substring(0, Math.min(300, content.length())));
                 }
+            } catch (Exception e) {
+                log.debug("Error processing message: {}", e.getMessage());
             }
-
-            store.close();
-            throw new RuntimeException("MFA email not found after " + MAX_RETRIES + " attempts");
-
-        } catch (Exception e) {
-            log.error("❌ Failed to get MFA code from email");
-            throw new RuntimeException("Failed to get MFA code from email: " + e.getMessage(), e);
         }
+
+        log.info("📊 Summary: Checked {} message(s), skipped {} old message(s), found 0 new messages with MFA code",
+                checkedCount, skippedOldCount);
+        return null;
     }
 
     /**
      * Retrieves MFA code from the latest email in Gmail inbox
-     * Searches for emails received in the last 5 minutes and returns code from the most recent one
+     * Waits for the first email to arrive in the (cleaned up) inbox and returns the code from it
      *
      * @param email       Gmail email address
      * @param appPassword Gmail App Password (16 characters without spaces)
@@ -283,31 +343,11 @@ public class EmailHelper {
         log.info("🔐 Attempting to retrieve MFA code from email: {}", email);
         log.debug("App password length: {}", appPassword != null ? appPassword.length() : 0);
 
+        Folder inbox = null;
         try {
-            Properties props = new Properties();
-            props.put("mail.store.protocol", "imaps");
-            props.put("mail.imaps.host", IMAP_HOST);
-            props.put("mail.imaps.port", IMAP_PORT);
-            props.put("mail.imaps.ssl.enable", "true");
-            props.put("mail.imaps.timeout", "10000");
-            props.put("mail.imaps.connectiontimeout", "10000");
-
-            Session session = Session.getInstance(props);
-            Store store = session.getStore("imaps");
-
-            log.debug("Connecting to Gmail IMAP server ({})...", IMAP_HOST);
-            try {
-                store.connect(IMAP_HOST, email, appPassword);
-                log.info("✅ Successfully connected to Gmail");
-            } catch (AuthenticationFailedException e) {
-                log.error("❌ Authentication failed - check email and app password");
-                throw new RuntimeException("Gmail authentication failed. Verify email and app password.", e);
-            } catch (MessagingException e) {
-                log.error("❌ Connection failed: {}", e.getMessage());
-                throw new RuntimeException("Failed to connect to Gmail: " + e.getMessage(), e);
-            }
+            Store store = ImapStorePool.get(email, appPassword);
 
-            Folder inbox = store.getFolder("INBOX");
+            inbox = store.getFolder("INBOX");
             inbox.open(Folder.READ_ONLY);
 
             // Inbox should be EMPTY after cleanup - waiting for FIRST message to arrive
@@ -318,75 +358,66 @@ public class EmailHelper {
                 log.warn("⚠️ Warning: Inbox not empty! Found {} message(s). Expected 0 after cleanup.", initialMessageCount);
             }
 
-            // Wait for message to arrive (count should go from 0 to 1+)
-            for (int attempt = 1; attempt <= MAX_RETRIES; attempt++) {
-                log.info("🔍 Attempt {}/{} - waiting for email to arrive", attempt, MAX_RETRIES);
-
-                // Refresh inbox to get updated message count
-                inbox.close(false);
-                inbox.open(Folder.READ_ONLY);
-
-                int currentMessageCount = inbox.getMessageCount();
-                log.debug("📊 Current message count: {}", currentMessageCount);
-
-                // Check if message arrived
-                if (currentMessageCount > 0) {
-                    log.info("✅ Message arrived! Inbox now has {} message(s)", currentMessageCount);
-
-                    // Get the latest message (should be the MFA email we're waiting for)
-                    Message latestMessage = inbox.getMessage(currentMessageCount);
-
-                    String subject = latestMessage.getSubject();
-                    Date receivedDate = latestMessage.getReceivedDate();
-                    log.info("📨 Checking message - Subject: '{}', Received: {}", subject, receivedDate);
-
-                    // Verify it's an MFA email
-                    if (subject != null && !containsMfaKeywords(subject)) {
-                        log.warn("⚠️ Warning: Message doesn't look like MFA email, but checking anyway...");
-                    }
-
-                    String content = getTextFromMessage(latestMessage);
-                    log.debug("Email content preview (first 200 chars): {}",
-                            content.length() > 200 ? content.substring(0, 200) + "..." : content);
-
-                    String mfaCode = extractMfaCode(content);
-
-                    if (mfaCode != null) {
-                        log.info("✅ MFA code found: {} (from message received at: {})", mfaCode, receivedDate);
-                        inbox.close(false);
-                        store.close();
-                        return mfaCode;
-                    } else {
-                        log.error("❌ Message arrived but contains no MFA code!");
-                        log.error("Subject: {}", subject);
-                        log.error("Content preview: {}", content.substring(0, Math.min(500, content.length())));
-                        throw new RuntimeException("Message arrived but contains no valid MFA code");
-                    }
-                } else {
-                    log.debug("⏳ No messages yet (attempt {}/{})", attempt, MAX_RETRIES);
-                }
+            // Check the latest message as soon as there is one (should be the MFA email we're waiting for)
+            String mfaCode = MailWaiter.await(inbox, 1, MFA_EMAIL_TIMEOUT_MS,
+                    messages -> getMfaCodeFromLatestMessage(messages[messages.length - 1]));
 
-                if (attempt < MAX_RETRIES) {
-                    log.debug("Waiting {} ms before next attempt...", RETRY_DELAY_MS);
-                    Thread.sleep(RETRY_DELAY_MS);
-                }
+            if (mfaCode == null) {
+                throw new RuntimeException("MFA email did not arrive within " + MFA_EMAIL_TIMEOUT_MS / 1000 + " seconds");
             }
-
-            inbox.close(false);
-            store.close();
-
-            throw new RuntimeException("MFA email did not arrive after " + MAX_RETRIES + " attempts (" + (MAX_RETRIES * RETRY_DELAY_MS / 1000) + " seconds)");
+            return mfaCode;
 
         } catch (Exception e) {
             log.error("❌ Error retrieving MFA code from email", e);
             throw new RuntimeException("Failed to get MFA code from email: " + e.getMessage(), e);
+        } finally {
+            closeFolder(inbox);
+        }
+    }
+
+    /**
+     * MFA code of the message that arrived in the (previously empty) inbox
+     * @throws RuntimeException if the message contains no MFA code
+     */
+    private static String getMfaCodeFromLatestMessage(Message latestMessage) throws MessagingException, IOException {
+        String subject = latestMessage.getSubject();
+        Date receivedDate = latestMessage.getReceivedDate();
+        log.info("📨 Checking message - Subject: '{}', Received: {}", subject, receivedDate);
+
+        // Verify it's an MFA email
+        if (subject != null && !containsMfaKeywords(subject)) {
+            log.warn("⚠️ Warning: Message doesn't look like MFA email, but checking anyway...");
         }
+
+        String content = getTextFromMessage(latestMessage);
+        log.debug("Email content preview (first 200 chars): {}",
+                content.length() > 200 ? content.substring(0, 200) + "..." : content);
+
+        String mfaCode = extractMfaCode(content);
+
+        if (mfaCode == null) {
+            log.error("❌ Message arrived but contains no MFA code!");
+            log.error("Subject: {}", subject);
+            log.error("Content preview: {}", content.substring(0, Math.min(500, content.length())));
+            throw new RuntimeException("Message arrived but contains no valid MFA code");
+        }
+        log.info("✅ MFA code found: {} (from message received at: {})", mfaCode, receivedDate);
+        return mfaCode;
     }
 
     /**
      * Extracts text content from email message
+     * IMAP messages: only the text part, up to mail.body.max.bytes (see MessageText); otherwise the full MIME content
      */
     private static String getTextFromMessage(Message message) throws MessagingException, IOException {
+        if (message instanceof IMAPMessage imapMessage) {
+            try {
+                return MessageText.peek(imapMessage, MessageText.DEFAULT_MAX_BYTES);
+            } catch (MessagingException e) {
+                log.debug("Partial fetch failed, reading the whole message: {}", e.getMessage());
+            }
+        }
+
         String result = "";
 
         if (message.isMimeType("text/plain")) {
@@ -495,7 +526,7 @@ public class EmailHelper {
             } catch (Exception e) {
                 log.debug("MFA code not found yet, retrying...");
                 try {
-                    Thread.sleep(3000);
+                    TestTimings.sleep(3000);
                 } catch (InterruptedException ie) {
                     Thread.currentThread().interrupt();
                     throw new RuntimeException("Interrupted while waiting for MFA code", ie);
@@ -512,53 +543,32 @@ public class EmailHelper {
      *
      * @param email       Gmail email address
      * @param appPassword Gmail App Password
-     * @param maxEmails   Maximum number of recent emails to check
+     * @param maxEmails   Maximum number of recent MFA emails (MFA keyword in the subject) to check
      * @return 6-digit MFA code
      * @throws RuntimeException if MFA code is not found
      */
     public static String getMfaCodeFromRecentEmails(String email, String appPassword, int maxEmails) {
         log.info("🔐 Attempting to retrieve MFA code from last {} emails", maxEmails);
 
+        Folder inbox = null;
         try {
-            Properties props = new Properties();
-            props.put("mail.store.protocol", "imaps");
-            props.put("mail.imaps.host", IMAP_HOST);
-            props.put("mail.imaps.port", IMAP_PORT);
-            props.put("mail.imaps.ssl.enable", "true");
-            props.put("mail.imaps.timeout", "10000");
-            props.put("mail.imaps.connectiontimeout", "10000");
-
-            Session session = Session.getInstance(props);
-            Store store = session.getStore("imaps");
-
-            log.debug("Connecting to Gmail IMAP server ({})...", IMAP_HOST);
-            try {
-                store.connect(IMAP_HOST, email, appPassword);
-                log.info("✅ Successfully connected to Gmail");
-            } catch (AuthenticationFailedException e) {
-                log.error("❌ Authentication failed - check email and app password");
-                throw new RuntimeException("Gmail authentication failed. Verify email and app password.", e);
-            } catch (MessagingException e) {
-                log.error("❌ Connection failed: {}", e.getMessage());
-                throw new RuntimeException("Failed to connect to Gmail: " + e.getMessage(), e);
-            }
+            Store store = ImapStorePool.get(email, appPassword);
 
-            Folder inbox = store.getFolder("INBOX");
+            inbox = store.getFolder("INBOX");
             inbox.open(Folder.READ_ONLY);
 
-            int totalMessages = inbox.getMessageCount();
-            log.info("📬 Total messages in inbox: {}", totalMessages);
+            // Search on the server for emails with MFA keywords in the subject
+            Message[] mfaMessages = inbox.search(mfaSearchTerm(null, true));
+            log.info("📬 {} email(s) with MFA keywords in inbox", mfaMessages.length);
 
-            if (totalMessages == 0) {
-                inbox.close(false);
-                store.close();
-                throw new RuntimeException("No messages found in inbox");
+            if (mfaMessages.length == 0) {
+                throw new RuntimeException("No MFA emails found in inbox");
             }
 
-            // Get the most recent N messages
-            int start = Math.max(1, totalMessages - maxEmails + 1);
-            Message[] recentMessages = inbox.getMessages(start, totalMessages);
-            log.info("📧 Checking {} most recent message(s)", recentMessages.length);
+            // Get the most recent N of them, with envelope data in one FETCH
+            Message[] recentMessages = Arrays.copyOfRange(mfaMessages, Math.max(0, mfaMessages.length - maxEmails), mfaMessages.length);
+            inbox.fetch(recentMessages, envelopeProfile());
+            log.info("📧 Checking {} most recent MFA email(s)", recentMessages.length);
 
             // Sort messages by received date (newest first)
             Arrays.sort(recentMessages, new Comparator<Message>() {
@@ -584,12 +594,6 @@ public class EmailHelper {
 
                     log.info("📨 [{}] Checking message - Subject: '{}', Received: {}", i + 1, subject, receivedDate);
 
-                    // Filter by subject keywords (optional)
-                    if (subject != null && !containsMfaKeywords(subject)) {
-                        log.debug("⏭️  Skipping - subject doesn't contain MFA keywords");
-                        continue;
-                    }
-
                     String content = getTextFromMessage(message);
                     log.debug("Email content preview (first 200 chars): {}",
                             content.length() > 200 ? content.substring(0, 200) + "..." : content);
@@ -598,8 +602,6 @@ public class EmailHelper {
 
                     if (mfaCode != null) {
                         log.info("✅ MFA code found: {} (from message received at: {})", mfaCode, receivedDate);
-                        inbox.close(false);
-                        store.close();
                         return mfaCode;
                     } else {
                         log.warn("⚠️ No MFA code found in this message");
@@ -609,17 +611,43 @@ public class EmailHelper {
                 }
             }
 
-            inbox.close(false);
-            store.close();
-
-            throw new RuntimeException("MFA code not found in the last " + maxEmails + " emails");
+            throw new RuntimeException("MFA code not found in the last " + maxEmails + " MFA emails");
 
         } catch (Exception e) {
             log.error("❌ Error retrieving MFA code from recent emails", e);
             throw new RuntimeException("Failed to get MFA code from recent emails: " + e.getMessage(), e);
+        } finally {
+            closeFolder(inbox);
         }
     }
 
+    /**
+     * Search for MFA email candidates, run on the IMAP server
+     * The server compares received dates by day only - check the exact time on the results
+     *
+     * @param receivedSince   only emails received on or after this day (null = any day)
+     * @param subjectKeywords only emails with an MFA keyword in the subject (receivedSince or this is required)
+     */
+    private static SearchTerm mfaSearchTerm(Date receivedSince, boolean subjectKeywords) {
+        List<SearchTerm> terms = new ArrayList<>();
+        if (receivedSince != null) {
+            terms.add(new ReceivedDateTerm(ComparisonTerm.GE, receivedSince));
+        }
+        if (subjectKeywords) {
+            terms.add(new OrTerm(Arrays.stream(MFA_KEYWORDS).map(SubjectTerm::new).toArray(SearchTerm[]::new)));
+        }
+        if (MFA_SENDER != null && !MFA_SENDER.isBlank()) {
+            terms.add(new FromStringTerm(MFA_SENDER));
+        }
+        return terms.size() == 1 ? terms.get(0) : new AndTerm(terms.toArray(new SearchTerm[0]));
+    }
+
+    private static FetchProfile envelopeProfile() {
+        FetchProfile profile = new FetchProfile();
+        profile.add(FetchProfile.Item.ENVELOPE);
+        return profile;
+    }
+
     /**
      * Check if email subject contains MFA-related keywords
      * This helps filter out irrelevant emails
@@ -630,13 +658,8 @@ public class EmailHelper {
         }
 
         String subjectLower = subject.toLowerCase();
-        String[] keywords = {
-            "verification", "verify", "code", "otp", "authenticate",
-            "security", "confirm", "two-factor", "2fa", "mfa",
-            "login", "sign in", "signin", "access"
-        };
 
-        for (String keyword : keywords) {
+        for (String keyword : MFA_KEYWORDS) {
             if (subjectLower.contains(keyword)) {
                 log.debug("✓ Subject contains MFA keyword: '{}'", keyword);
                 return true;
@@ -0,0 +1,236 @@
+package com.websanity.utils;
+
+import com.microsoft.playwright.Locator;
+import com.microsoft.playwright.PlaywrightException;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Fills a form from a model object (UserParams, ContactParams) with one browser call
+ *
+ * A page object describes its form as a field map: model property -> CSS selector -> text/select/checkbox.
+ * fill() applies all fields with a non-null value in a single injected script that sets the values the way
+ * a user would (focus, native value setter, input/change events; checkboxes are clicked so their onclick
+ * handlers run). Select options are matched by value first, then by label - the same as Locator.selectOption.
+ *
+ * Fields the script can't handle - element missing, disabled/read-only, hidden behind a custom widget,
+ * option not present - are reported back and filled one by one with regular Playwright actions, which
+ * wait for the element and fail with a clear error. Which path ran is logged and returned as a Result.
+ *
+ * Fields whose change handler reloads part of the form (marked with reloadsForm()) are not put into the
+ * script: the fields before them are filled in one call, then the field is set with a regular Playwright
+ * action and the page's afterReload wait runs before the next fields are filled.
+ *
+ * Configuration (system properties):
+ * - form.fill.bulk - fill with the injected script (default: true); false fills every field one by one
+ */
+@Slf4j
+public final class FormFiller {
+
+    private static final boolean BULK = Boolean.parseBoolean(System.getProperty("form.fill.bulk", "true"));
+
+    private static final String FILL_SCRIPT = """
+            (root, fields) => {
+                const fallback = [];
+                const fire = (element, ...types) => types.forEach(type => element.dispatchEvent(new Event(type, {bubbles: true})));
+                const isUsable = element => !element.disabled && !element.readOnly && element.getClientRects().length > 0;
+                for (const field of fields) {
+                    const element = root.querySelector(field.selector);
+                    if (!element || !isUsable(element)) {
+                        fallback.push(field.name);
+                        continue;
+                    }
+                    if (field.kind === 'SELECT') {
+                        const options = element instanceof HTMLSelectElement ? Array.from(element.options) : [];
+                        const option = options.find(o => o.value === field.value) || options.find(o => o.label.trim() === field.value);
+                        if (!option) {
+                            fallback.push(field.name);
+                            continue;
+                        }
+                        element.focus();
+                        element.value = option.value;
+                        fire(element, 'input', 'change');
+                    } else if (field.kind === 'CHECKBOX') {
+                        if (element.type !== 'checkbox') {
+                            fallback.push(field.name);
+                            continue;
+                        }
+                        if (element.checked !== field.value) {
+                            element.click();
+                        }
+                    } else {
+                        const prototype = element instanceof HTMLTextAreaElement ? HTMLTextAreaElement.prototype
+                            : element instanceof HTMLInputElement ? HTMLInputElement.prototype : null;
+                        if (!prototype) {
+                            fallback.push(field.name);
+                            continue;
+                        }
+                        element.focus();
+                        Object.getOwnPropertyDescriptor(prototype, 'value').set.call(element, field.value);
+                        fire(element, 'input', 'change');
+                    }
+                    element.blur();
+                }
+                return fallback;
+            }
+            """;
+
+    private FormFiller() {
+    }
+
+    public enum Kind {
+        TEXT, SELECT, CHECKBOX
+    }
+
+    /**
+     * How a fill() call applied the fields
+     * BULK - all in the injected script, PER_FIELD - all one by one, MIXED - script plus per-field fallback
+     */
+    public enum Path {
+        BULK, MIXED, PER_FIELD
+    }
+
+    /**
+     * One form field of a model
+     * @param value extracts the value from the model: String for TEXT/SELECT, Boolean for CHECKBOX; null skips the field
+     * @param secret value is not logged (passwords)
+     * @param reloads changing the field reloads part of the form - it is filled per field, followed by afterReload
+     */
+    public record Field<T>(String name, String selector, Kind kind, Function<T, Object> value, boolean secret, boolean reloads) {
+
+        public static <T> Field<T> text(String name, String selector, Function<T, String> value) {
+            return new Field<>(name, selector, Kind.TEXT, value::apply, false, false);
+        }
+
+        public static <T> Field<T> secret(String name, String selector, Function<T, String> value) {
+            return new Field<>(name, selector, Kind.TEXT, value::apply, true, false);
+        }
+
+        /**
+         * Select box; option maps a non-null property (e.g. a Country) to the option value or label
+         */
+        public static <T, V> Field<T> select(String name, String selector, Function<T, V> property, Function<V, String> option) {
+            return new Field<>(name, selector, Kind.SELECT, model -> {
+                V propertyValue = property.apply(model);
+                return propertyValue == null ? null : option.apply(propertyValue);
+            }, false, false);
+        }
+
+        public static <T> Field<T> checkbox(String name, String selector, Function<T, Boolean> value) {
+            return new Field<>(name, selector, Kind.CHECKBOX, value::apply, false, false);
+        }
+
+        /**
+         * The same field, marked as reloading the form when it changes (e.g. a select with a loading overlay)
+         */
+        public Field<T> reloadsForm() {
+            return new Field<>(name, selector, kind, value, secret, true);
+        }
+    }
+
+    public record Result(Path path, List<String> bulkFields, List<String> perFieldFields) {
+
+        @Override
+        public String toString() {
+            return path + " (" + bulkFields.size() + " in one call, " + perFieldFields.size() + " per field"
+                    + (perFieldFields.isEmpty() ? "" : ": " + String.join(", ", perFieldFields)) + ")";
+        }
+    }
+
+    /**
+     * Fill all fields of the map that have a value in the model
+     * @param root element the selectors are relative to (e.g. page.locator("body") or frameLocator(...).locator("body"))
+     */
+    public static <T> Result fill(Locator root, List<Field<T>> fields, T model) {
+        return fill(root, fields, model, () -> {
+        });
+    }
+
+    /**
+     * Fill all fields of the map that have a value in the model
+     * @param afterReload waits until the form is usable again; runs after every field marked with reloadsForm()
+     */
+    public static <T> Result fill(Locator root, List<Field<T>> fields, T model, Runnable afterReload) {
+        Map<String, Field<T>> fieldsToFill = new LinkedHashMap<>();
+        Map<String, Object> values = new HashMap<>();
+        for (Field<T> field : fields) {
+            Object value = field.value().apply(model);
+            if (value != null) {
+                fieldsToFill.put(field.name(), field);
+                values.put(field.name(), value);
+                log.debug("Form field {} = {}", field.name(), field.secret() ? "*******" : value);
+            }
+        }
+
+        List<String> perField = new ArrayList<>();
+        Map<String, Field<T>> batch = new LinkedHashMap<>();
+        for (Field<T> field : fieldsToFill.values()) {
+            if (!field.reloads()) {
+                batch.put(field.name(), field);
+                continue;
+            }
+            // Fields before it are set first; the reload may rebuild fields after it, so they wait for afterReload
+            perField.addAll(fillBatch(root, batch, values));
+            batch.clear();
+            fillField(root, field, values.get(field.name()));
+            afterReload.run();
+            perField.add(field.name());
+        }
+        perField.addAll(fillBatch(root, batch, values));
+
+        List<String> bulk = fieldsToFill.keySet().stream().filter(name -> !perField.contains(name)).toList();
+        Path path = perField.isEmpty() ? Path.BULK : bulk.isEmpty() ? Path.PER_FIELD : Path.MIXED;
+        Result result = new Result(path, bulk, List.copyOf(perField));
+        log.info("📝 Form filled: {}", result);
+        return result;
+    }
+
+    /**
+     * Fill the fields in one call (or one by one if bulk filling is off), falling back per field
+     * @return names of the fields filled per field
+     */
+    private static <T> List<String> fillBatch(Locator root, Map<String, Field<T>> fields, Map<String, Object> values) {
+        List<String> perField = BULK ? fillInBrowser(root, fields, values) : List.copyOf(fields.keySet());
+        for (String name : perField) {
+            fillField(root, fields.get(name), values.get(name));
+        }
+        return perField;
+    }
+
+    /**
+     * @return names of the fields the script could not fill (all of them if the script failed)
+     */
+    @SuppressWarnings("unchecked")
+    private static <T> List<String> fillInBrowser(Locator root, Map<String, Field<T>> fields, Map<String, Object> values) {
+        if (fields.isEmpty()) {
+            return List.of();
+        }
+        List<Map<String, Object>> argument = new ArrayList<>();
+        fields.forEach((name, field) -> argument.add(Map.of(
+                "name", name,
+                "selector", field.selector(),
+                "kind", field.kind().name(),
+                "value", values.get(name))));
+        try {
+            return (List<String>) root.evaluate(FILL_SCRIPT, argument);
+        } catch (PlaywrightException e) {
+            log.warn("Could not fill the form in one call, filling field by field: {}", e.getMessage());
+            return List.copyOf(fields.keySet());
+        }
+    }
+
+    private static <T> void fillField(Locator root, Field<T> field, Object value) {
+        Locator element = root.locator(field.selector());
+        switch (field.kind()) {
+            case TEXT -> element.fill((String) value);
+            case SELECT -> element.selectOption((String) value);
+            case CHECKBOX -> element.setChecked((Boolean) value);
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package com.websanity.utils;
+
+import com.microsoft.playwright.Locator;
+import com.websanity.utils.FormFiller.Field;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Values of all fields of a form read in a single round trip (one Locator.evaluate)
+ *
+ * Uses the same field map as FormFiller: text inputs give their value, select boxes their selected option
+ * (value and label), checkboxes their checked state. diff() compares the snapshot with a model
+ * (UserParams, ContactParams) and assertMatches() reports every mismatch in one assertion message
+ * instead of failing on the first of many single-field assertEquals.
+ *
+ * Only fields with a non-null value in the expected model are compared; secret fields (passwords) are never
+ * compared - the pages don't echo them back. A snapshot does not change when the page does.
+ */
+public final class FormSnapshot<T> {
+
+    private static final String READ_FORM_SCRIPT = """
+            (root, fields) => fields.map(field => {
+                const element = root.querySelector(field.selector);
+                if (!element) {
+                    return {found: false};
+                }
+                if (field.kind === 'CHECKBOX') {
+                    return {found: true, value: !!element.checked};
+                }
+                if (element instanceof HTMLSelectElement) {
+                    const option = element.selectedOptions[0];
+                    return {found: true, value: element.value, label: option ? option.label.trim() : ''};
+                }
+                return {found: true, value: element.value};
+            })
+            """;
+
+    private final List<Field<T>> fields;
+    private final Map<String, FieldValue> values;
+
+    private FormSnapshot(List<Field<T>> fields, Map<String, FieldValue> values) {
+        this.fields = fields;
+        this.values = values;
+    }
+
+    /**
+     * Current value of a field, its selected option or checked state
+     * @param found false if the element is not on the page
+     * @param label label of the selected option (select boxes only)
+     */
+    public record FieldValue(boolean found, Object value, String label) {
+
+        boolean matches(Object expected) {
+            return found && (Objects.equals(expected, value) || (label != null && expected.equals(label)));
+        }
+
+        @Override
+        public String toString() {
+            if (!found) {
+                return "<field not found>";
+            }
+            return label == null || label.isEmpty() ? "'" + value + "'" : "'" + value + "' (" + label + ")";
+        }
+    }
+
+    public record Mismatch(String field, Object expected, FieldValue actual) {
+
+        @Override
+        public String toString() {
+            return field + ": expected '" + expected + "' but was " + actual;
+        }
+    }
+
+    /**
+     * Read all fields of the map
+     * @param root element the selectors are relative to (the same as for FormFiller.fill)
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> FormSnapshot<T> of(Locator root, List<Field<T>> fields) {
+        List<Map<String, Object>> argument = fields.stream()
+                .map(field -> Map.<String, Object>of("selector", field.selector(), "kind", field.kind().name()))
+                .toList();
+        List<Map<String, Object>> result = (List<Map<String, Object>>) root.evaluate(READ_FORM_SCRIPT, argument);
+
+        Map<String, FieldValue> values = new LinkedHashMap<>();
+        for (int i = 0; i < fields.size(); i++) {
+            Map<String, Object> value = result.get(i);
+            values.put(fields.get(i).name(), new FieldValue(Boolean.TRUE.equals(value.get("found")),
+                    value.get("value"), (String) value.get("label")));
+        }
+        return new FormSnapshot<>(fields, values);
+    }
+
+    /**
+     * @return the field's value: String for text/select, Boolean for checkboxes, null if the field is not on the page
+     */
+    public Object get(String fieldName) {
+        FieldValue value = values.get(fieldName);
+        return value == null || !value.found() ? null : value.value();
+    }
+
+    public Map<String, FieldValue> values() {
+        return values;
+    }
+
+    /**
+     * Fields whose value differs from the expected model (fields null in the model are skipped)
+     */
+    public List<Mismatch> diff(T expected) {
+        List<Mismatch> mismatches = new ArrayList<>();
+        for (Field<T> field : fields) {
+            Object expectedValue = field.value().apply(expected);
+            if (expectedValue == null || field.secret()) {
+                continue;
+            }
+            FieldValue actual = values.get(field.name());
+            if (!actual.matches(expectedValue)) {
+                mismatches.add(new Mismatch(field.name(), expectedValue, actual));
+            }
+        }
+        return mismatches;
+    }
+
+    /**
+     * @throws AssertionError listing all mismatching fields
+     */
+    public void assertMatches(T expected) {
+        List<Mismatch> mismatches = diff(expected);
+        if (mismatches.isEmpty()) {
+            return;
+        }
+        StringBuilder message = new StringBuilder("Form does not match the expected values (")
+                .append(mismatches.size()).append(" mismatch(es)):");
+        mismatches.forEach(mismatch -> message.append("\n  ").append(mismatch));
+        throw new AssertionError(message.toString());
+    }
+}
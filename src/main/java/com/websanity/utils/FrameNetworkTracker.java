@@ -0,0 +1,123 @@
+package com.websanity.utils;
+
+import com.microsoft.playwright.Frame;
+import com.microsoft.playwright.Page;
+import com.microsoft.playwright.PlaywrightException;
+import com.microsoft.playwright.Request;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Tracks in-flight requests per frame of a page (onRequest / onRequestFinished / onRequestFailed)
+ *
+ * The teleadmin UI is a frameset: menu clicks reload only frame[name='text']. Instead of waiting for the
+ * load state of the whole page, a page object can wait until the frame it works with has no requests
+ * in flight and none started for a short quiet period. Playwright dispatches events while
+ * page.waitForCondition polls, so the idle check has the granularity of the event loop (~10 ms).
+ *
+ * Frames are identified by name ("" for the main frame). One tracker is installed per page on first use.
+ *
+ * Configuration (system properties):
+ * - frame.idle.ms - quiet period after the last request of a frame (default: 300)
+ */
+@Slf4j
+public class FrameNetworkTracker {
+
+    public static final long DEFAULT_IDLE_MS = Long.getLong("frame.idle.ms", 300);
+
+    private static final Map<Page, FrameNetworkTracker> trackers = new ConcurrentHashMap<>();
+
+    private final Map<String, FrameActivity> frames = new ConcurrentHashMap<>();
+
+    private FrameNetworkTracker() {
+    }
+
+    /**
+     * Tracker of the page, installed on first call
+     * Requests started before the installation are not tracked
+     */
+    public static FrameNetworkTracker of(Page page) {
+        return trackers.computeIfAbsent(page, FrameNetworkTracker::install);
+    }
+
+    private static FrameNetworkTracker install(Page page) {
+        FrameNetworkTracker tracker = new FrameNetworkTracker();
+        page.onRequest(tracker::started);
+        page.onRequestFinished(tracker::completed);
+        page.onRequestFailed(tracker::completed);
+        page.onFrameNavigated(frame -> tracker.activity(frame.name()).touch());
+        page.onClose(closedPage -> trackers.remove(closedPage));
+        return tracker;
+    }
+
+    /**
+     * Number of network events (request started/completed, navigation) seen for the frame so far
+     * Take it before an action to check later that the action caused traffic in the frame
+     */
+    public long getEventCount(String frameName) {
+        return activity(frameName).events;
+    }
+
+    /**
+     * @return true if the frame has no request in flight and none started or finished for idleMs
+     */
+    public boolean isIdle(String frameName, long idleMs) {
+        FrameActivity activity = activity(frameName);
+        return activity.inFlight.isEmpty() && (System.nanoTime() - activity.lastEventNanos) / 1_000_000 >= idleMs;
+    }
+
+    /**
+     * Wait until the frame is idle for idleMs and has seen traffic since eventCountBefore
+     * @param eventCountBefore result of getEventCount taken before the action, or -1 to not require new traffic
+     * @throws com.microsoft.playwright.TimeoutError if the frame is not idle within timeoutMs
+     */
+    public void waitForIdle(Page page, String frameName, long eventCountBefore, long idleMs, double timeoutMs) {
+        long start = System.nanoTime();
+        page.waitForCondition(() -> getEventCount(frameName) > eventCountBefore && isIdle(frameName, idleMs),
+                new Page.WaitForConditionOptions().setTimeout(timeoutMs));
+        log.debug("🌐 Frame '{}' idle after {} ms", frameName, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private void started(Request request) {
+        String frameName = getFrameName(request);
+        if (frameName != null) {
+            activity(frameName).inFlight.add(request);
+            activity(frameName).touch();
+        }
+    }
+
+    private void completed(Request request) {
+        String frameName = getFrameName(request);
+        if (frameName != null) {
+            activity(frameName).inFlight.remove(request);
+            activity(frameName).touch();
+        }
+    }
+
+    private FrameActivity activity(String frameName) {
+        return frames.computeIfAbsent(frameName, name -> new FrameActivity());
+    }
+
+    private static String getFrameName(Request request) {
+        try {
+            Frame frame = request.frame();
+            return frame.name();
+        } catch (PlaywrightException e) {
+            return null; // service worker requests have no frame
+        }
+    }
+
+    private static class FrameActivity {
+        private final Set<Request> inFlight = ConcurrentHashMap.newKeySet();
+        private volatile long lastEventNanos = System.nanoTime();
+        private volatile long events;
+
+        void touch() {
+            lastEventNanos = System.nanoTime();
+            events++;
+        }
+    }
+}
@@ -0,0 +1,242 @@
+package com.websanity.utils;
+
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.Request;
+import com.microsoft.playwright.Route;
+import lombok.extern.slf4j.Slf4j;
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Serves a recorded HAR file back to the browser (network.mode=replay)
+ *
+ * Playwright's routeFromHAR needs exact URL and POST body matches, but every run generates new
+ * values (autoun&lt;timestamp&gt; usernames, enterprise numbers, MFA codes, ...). Here numbers with 5+ digits
+ * are treated as dynamic: requests are matched with those numbers masked, falling back to
+ * method + URL (any body) and finally method + path (any query). Candidates with the same key are served
+ * in recorded order, and a recorded entry served through one key is skipped by the other keys (the last
+ * candidate of a key is repeated once all of them have been served). When a recorded request had other numbers than the current one, the recorded
+ * numbers are replaced by the current ones in all later text responses, so e.g. search results show
+ * the username the test has just created.
+ */
+@Slf4j
+public class HarReplayer {
+
+    private static final Pattern DYNAMIC_VALUE = Pattern.compile("\\d{5,}");
+    private static final Set<String> SKIPPED_HEADERS = Set.of("content-length", "content-encoding", "transfer-encoding");
+
+    private final String harName;
+    private final Map<String, Candidates> index = new HashMap<>();
+    private final Map<String, String> substitutions = new LinkedHashMap<>();
+    private int served;
+    private int missed;
+
+    private HarReplayer(String harName) {
+        this.harName = harName;
+    }
+
+    /**
+     * Load a HAR file recorded with network.mode=record
+     */
+    public static HarReplayer load(Path harPath) {
+        if (!Files.exists(harPath)) {
+            throw new IllegalStateException("No HAR recorded at " + harPath + " - run once with -Dnetwork.mode=record");
+        }
+
+        HarReplayer replayer = new HarReplayer(harPath.getFileName().toString());
+        try {
+            JSONArray entries = new JSONObject(Files.readString(harPath)).getJSONObject("log").getJSONArray("entries");
+            for (int i = 0; i < entries.length(); i++) {
+                replayer.addEntry(entries.getJSONObject(i));
+            }
+            log.info("📼 Loaded {} HAR entries from {}", entries.length(), harPath);
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not read HAR " + harPath, e);
+        }
+        return replayer;
+    }
+
+    /**
+     * Serve all requests of the context from the HAR; requests missing in the HAR are aborted
+     */
+    public HarReplayer install(BrowserContext context) {
+        context.route("**/*", this::handle);
+        context.onClose(closedContext ->
+                log.info("📼 HAR replay {}: {} request(s) served, {} not found", harName, served, missed));
+        return this;
+    }
+
+    private void addEntry(JSONObject entry) {
+        JSONObject request = entry.getJSONObject("request");
+        JSONObject response = entry.getJSONObject("response");
+        if (response.optInt("status") <= 0) {
+            return; // request failed or was aborted while recording
+        }
+
+        String method = request.getString("method");
+        String url = request.getString("url");
+        JSONObject postData = request.optJSONObject("postData");
+        RecordedEntry recorded = new RecordedEntry(url + "\n" + (postData == null ? "" : postData.optString("text")), response);
+
+        for (String key : getKeys(method, url, postData == null ? null : postData.optString("text"))) {
+            index.computeIfAbsent(key, k -> new Candidates()).entries.add(recorded);
+        }
+    }
+
+    /**
+     * Lookup keys from the most to the least specific
+     */
+    private static List<String> getKeys(String method, String url, String postData) {
+        String maskedUrl = mask(url);
+        int queryStart = maskedUrl.indexOf('?');
+        String maskedPath = queryStart < 0 ? maskedUrl : maskedUrl.substring(0, queryStart);
+        return List.of(
+                "body " + method + " " + maskedUrl + "\n" + mask(postData == null ? "" : postData),
+                "url " + method + " " + maskedUrl,
+                "path " + method + " " + maskedPath);
+    }
+
+    private static String mask(String value) {
+        return DYNAMIC_VALUE.matcher(value).replaceAll("#");
+    }
+
+    private void handle(Route route) {
+        Request request = route.request();
+        String postData = request.postData();
+
+        for (String key : getKeys(request.method(), request.url(), postData)) {
+            Candidates candidates = index.get(key);
+            if (candidates != null) {
+                RecordedEntry recorded = candidates.take();
+                learnSubstitutions(recorded.requestText, request.url() + "\n" + (postData == null ? "" : postData));
+                served++;
+                fulfill(route, recorded.response);
+                return;
+            }
+        }
+
+        missed++;
+        log.warn("📼 Not in HAR {}: {} {}", harName, request.method(), request.url());
+        route.abort();
+    }
+
+    /**
+     * Pair dynamic numbers of the recorded request with the numbers of the current request
+     */
+    private void learnSubstitutions(String recordedRequest, String currentRequest) {
+        List<String> recordedValues = findDynamicValues(recordedRequest);
+        List<String> currentValues = findDynamicValues(currentRequest);
+        if (recordedValues.size() != currentValues.size()) {
+            return;
+        }
+        for (int i = 0; i < recordedValues.size(); i++) {
+            if (!recordedValues.get(i).equals(currentValues.get(i))) {
+                substitutions.put(recordedValues.get(i), currentValues.get(i));
+            }
+        }
+    }
+
+    private static List<String> findDynamicValues(String text) {
+        List<String> values = new ArrayList<>();
+        Matcher matcher = DYNAMIC_VALUE.matcher(text);
+        while (matcher.find()) {
+            values.add(matcher.group());
+        }
+        return values;
+    }
+
+    private void fulfill(Route route, JSONObject response) {
+        Map<String, String> headers = new LinkedHashMap<>();
+        JSONArray harHeaders = response.optJSONArray("headers");
+        if (harHeaders != null) {
+            for (int i = 0; i < harHeaders.length(); i++) {
+                JSONObject header = harHeaders.getJSONObject(i);
+                String name = header.getString("name").toLowerCase();
+                if (name.startsWith(":") || SKIPPED_HEADERS.contains(name)) {
+                    continue;
+                }
+                String value = name.equals("location") ? substitute(header.getString("value")) : header.getString("value");
+                // Playwright expects repeated headers (set-cookie) joined with a new line
+                headers.merge(name, value, (first, second) -> first + "\n" + second);
+            }
+        }
+
+        route.fulfill(new Route.FulfillOptions()
+                .setStatus(response.getInt("status"))
+                .setHeaders(headers)
+                .setBodyBytes(getBody(response.optJSONObject("content"))));
+    }
+
+    private byte[] getBody(JSONObject content) {
+        if (content == null || !content.has("text")) {
+            return new byte[0];
+        }
+        String text = content.getString("text");
+        if ("base64".equals(content.optString("encoding"))) {
+            byte[] bytes = Base64.getDecoder().decode(text);
+            if (!isText(content.optString("mimeType"))) {
+                return bytes;
+            }
+            text = new String(bytes, StandardCharsets.UTF_8);
+        }
+        return substitute(text).getBytes(StandardCharsets.UTF_8);
+    }
+
+    private String substitute(String text) {
+        for (Map.Entry<String, String> substitution : substitutions.entrySet()) {
+            text = text.replace(substitution.getKey(), substitution.getValue());
+        }
+        return text;
+    }
+
+    private static boolean isText(String mimeType) {
+        return mimeType.startsWith("text/") || mimeType.contains("json")
+                || mimeType.contains("javascript") || mimeType.contains("xml");
+    }
+
+    /**
+     * One HAR entry; it is indexed under all its lookup keys, so served is shared by them
+     */
+    private static class RecordedEntry {
+        private final String requestText;
+        private final JSONObject response;
+        private boolean served;
+
+        RecordedEntry(String requestText, JSONObject response) {
+            this.requestText = requestText;
+            this.response = response;
+        }
+    }
+
+    /**
+     * Recorded responses for one lookup key: the first entry not served yet in recorded order,
+     * or the last one again when all have been served
+     */
+    private static class Candidates {
+        private final List<RecordedEntry> entries = new ArrayList<>();
+        private int next;
+
+        RecordedEntry take() {
+            while (next < entries.size() && entries.get(next).served) {
+                next++;
+            }
+            RecordedEntry entry = entries.get(Math.min(next, entries.size() - 1));
+            entry.served = true;
+            return entry;
+        }
+    }
+}
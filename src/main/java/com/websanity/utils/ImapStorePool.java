@@ -0,0 +1,173 @@
+package com.websanity.utils;
+
+import lombok.extern.slf4j.Slf4j;
+
+import javax.mail.AuthenticationFailedException;
+import javax.mail.MessagingException;
+import javax.mail.Session;
+import javax.mail.Store;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Connected Gmail IMAP stores shared by all EmailHelper calls, one per account (email address)
+ *
+ * Connecting to imap.gmail.com (TLS + LOGIN) is a large share of the MFA wait, so a store is connected once
+ * and kept open: a NOOP every mail.keepalive.seconds keeps the connection from being dropped, and a store
+ * found disconnected (by the keep-alive or when it is handed out) is connected again. The store connection
+ * is separate from the folder connections, which JavaMail keeps in its own pool for
+ * mail.imaps.connectionpooltimeout, so reopening INBOX doesn't log in again either.
+ *
+ * Callers close the folders they open but never the store. Stores are closed when the JVM exits.
+ *
+ * Configuration (system properties):
+ * - mail.keepalive.seconds - interval of the keep-alive NOOP (default: 60)
+ * - imap.host / imap.port - IMAP server (default: imap.gmail.com:993), e.g. a local GreenMail server in tests
+ * - imap.ssl - connect with TLS (imaps, default: true); false for plain IMAP
+ */
+@Slf4j
+public final class ImapStorePool {
+
+    private static final String DEFAULT_IMAP_HOST = "imap.gmail.com";
+    private static final String DEFAULT_IMAP_PORT = "993";
+    private static final long KEEP_ALIVE_SECONDS = Long.getLong("mail.keepalive.seconds", 60);
+
+    private static final Map<String, PooledStore> stores = new ConcurrentHashMap<>();
+    private static final ScheduledExecutorService keepAlive = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "imap-keepalive");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(ImapStorePool::closeAll, "imap-store-close"));
+    }
+
+    private ImapStorePool() {
+    }
+
+    /**
+     * Connected store of the account, connecting (again) if needed
+     * @throws RuntimeException if the connection or the authentication fails
+     */
+    public static Store get(String email, String appPassword) {
+        return stores.computeIfAbsent(email, key -> new PooledStore(email, appPassword)).connected();
+    }
+
+    /**
+     * Connect the account's store in the background (e.g. while the login page is still being filled)
+     */
+    public static void prewarm(String email, String appPassword) {
+        keepAlive.execute(() -> {
+            try {
+                get(email, appPassword);
+            } catch (RuntimeException e) {
+                log.warn("⚠️ Could not prewarm IMAP connection for {}: {}", email, e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * Close all stores (also done on JVM exit)
+     */
+    public static void closeAll() {
+        stores.values().forEach(PooledStore::close);
+        stores.clear();
+    }
+
+    private static final class PooledStore {
+        private final String email;
+        private final String appPassword;
+        private final ScheduledFuture<?> keepAliveTask;
+        private Store store;
+        private int connects;
+
+        PooledStore(String email, String appPassword) {
+            this.email = email;
+            this.appPassword = appPassword;
+            this.keepAliveTask = keepAlive.scheduleWithFixedDelay(this::keepAlive, KEEP_ALIVE_SECONDS, KEEP_ALIVE_SECONDS, TimeUnit.SECONDS);
+        }
+
+        synchronized Store connected() {
+            // isConnected() sends a NOOP - a dead connection is detected here rather than on first use
+            if (store != null && store.isConnected()) {
+                log.debug("♻️ Reusing IMAP connection for {}", email);
+                return store;
+            }
+            return connect();
+        }
+
+        synchronized void keepAlive() {
+            if (store == null) {
+                return;
+            }
+            try {
+                if (!store.isConnected()) {
+                    log.info("🔌 IMAP connection for {} was dropped, reconnecting...", email);
+                    connect();
+                }
+            } catch (RuntimeException e) {
+                log.warn("⚠️ IMAP keep-alive for {} failed: {}", email, e.getMessage());
+            }
+        }
+
+        private Store connect() {
+            // Read on every connect, so a test can point the pool at its own server
+            String host = System.getProperty("imap.host", DEFAULT_IMAP_HOST);
+            String port = System.getProperty("imap.port", DEFAULT_IMAP_PORT);
+            String protocol = Boolean.parseBoolean(System.getProperty("imap.ssl", "true")) ? "imaps" : "imap";
+            String prefix = "mail." + protocol + ".";
+
+            Properties props = new Properties();
+            props.put("mail.store.protocol", protocol);
+            props.put(prefix + "host", host);
+            props.put(prefix + "port", port);
+            props.put(prefix + "ssl.enable", String.valueOf(protocol.equals("imaps")));
+            props.put(prefix + "timeout", "10000");
+            props.put(prefix + "connectiontimeout", "10000");
+            // Keep-alive NOOPs use their own connection, folders reuse pooled connections for 5 minutes
+            props.put(prefix + "separatestoreconnection", "true");
+            props.put(prefix + "connectionpooltimeout", "300000");
+
+            close(store);
+            long start = System.currentTimeMillis();
+            try {
+                Store newStore = Session.getInstance(props).getStore(protocol);
+                newStore.connect(host, email, appPassword);
+                store = newStore;
+                connects++;
+                log.info("✅ Connected to IMAP {}:{} for {} in {} ms (connection #{})", host, port, email,
+                        System.currentTimeMillis() - start, connects);
+                return store;
+            } catch (AuthenticationFailedException e) {
+                log.error("❌ Authentication failed - check email and app password");
+                throw new RuntimeException("Gmail authentication failed. Verify email and app password.", e);
+            } catch (MessagingException e) {
+                log.error("❌ Connection failed: {}", e.getMessage());
+                throw new RuntimeException("Failed to connect to Gmail: " + e.getMessage(), e);
+            }
+        }
+
+        synchronized void close() {
+            keepAliveTask.cancel(false);
+            close(store);
+            store = null;
+        }
+
+        private void close(Store storeToClose) {
+            if (storeToClose == null) {
+                return;
+            }
+            try {
+                storeToClose.close();
+            } catch (MessagingException e) {
+                log.debug("Error closing IMAP store for {}: {}", email, e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,242 @@
+package com.websanity.utils;
+
+import com.sun.mail.imap.IMAPFolder;
+import com.sun.mail.imap.IMAPStore;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.mail.FetchProfile;
+import javax.mail.Folder;
+import javax.mail.Message;
+import javax.mail.MessagingException;
+import javax.mail.UIDFolder;
+import javax.mail.event.MessageCountAdapter;
+import javax.mail.event.MessageCountEvent;
+import javax.mail.event.MessageCountListener;
+import javax.mail.search.SearchTerm;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Waits for a message in an open IMAP folder and returns as soon as it lands
+ *
+ * New messages are delivered by a MessageCountListener. With IMAP IDLE (IMAPFolder.idle()) the server pushes
+ * them the moment they arrive; servers without IDLE are polled instead (a NOOP every POLL_INTERVAL_MS, which
+ * fires the same listener). Messages already in the folder - the newest recentMessages, the result of a server-side
+ * search or all messages with a UID above a watermark (UIDNEXT read before the mail was triggered) - are checked
+ * first, after the listener is registered, so a mail arriving in between is not missed.
+ *
+ * Every batch is fetched with one FETCH (UID, envelope, received date) before the matcher sees it, so reading
+ * subjects and dates doesn't cost a round trip per message.
+ *
+ * Configuration (system properties):
+ * - mail.idle - use IMAP IDLE when the server supports it (default: true); false always polls
+ */
+@Slf4j
+public final class MailWaiter {
+
+    private static final boolean IDLE = Boolean.parseBoolean(System.getProperty("mail.idle", "true"));
+    static final long POLL_INTERVAL_MS = 2000;
+
+    // Wakes up the waiting thread when the IDLE thread stops
+    private static final Message[] WAKE_UP = new Message[0];
+
+    private static final FetchProfile ENVELOPE = new FetchProfile();
+
+    static {
+        ENVELOPE.add(FetchProfile.Item.ENVELOPE);
+        ENVELOPE.add(UIDFolder.FetchProfileItem.UID);
+    }
+
+    private static final ExecutorService idleThreads = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "imap-idle");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private MailWaiter() {
+    }
+
+    public enum Mode {
+        IDLE, POLLING
+    }
+
+    /**
+     * Checks a batch of messages, returns the result for the first matching one or null if none matches
+     */
+    @FunctionalInterface
+    public interface Matcher<T> {
+        T match(Message[] messages) throws MessagingException, IOException;
+    }
+
+    /**
+     * Wait for a matching message, with IDLE if the server supports it (see mail.idle)
+     * @param recentMessages number of newest messages already in the folder to check first (0 = new messages only)
+     * @return the matcher's result, or null if no message matched within the timeout
+     */
+    public static <T> T await(Folder folder, int recentMessages, long timeoutMs, Matcher<T> matcher)
+            throws MessagingException, IOException {
+        return await(folder, recentMessages, timeoutMs, matcher, defaultMode(folder));
+    }
+
+    public static <T> T await(Folder folder, int recentMessages, long timeoutMs, Matcher<T> matcher, Mode mode)
+            throws MessagingException, IOException {
+        return await(folder, () -> {
+            int total = folder.getMessageCount();
+            return recentMessages > 0 && total > 0
+                    ? folder.getMessages(Math.max(1, total - recentMessages + 1), total)
+                    : new Message[0];
+        }, timeoutMs, matcher, mode);
+    }
+
+    /**
+     * Wait for a matching message, checking the messages the server finds for the search term first
+     * @param present search run on the server for messages already in the folder (e.g. received since a date)
+     * @return the matcher's result, or null if no message matched within the timeout
+     */
+    public static <T> T await(Folder folder, SearchTerm present, long timeoutMs, Matcher<T> matcher)
+            throws MessagingException, IOException {
+        return await(folder, () -> folder.search(present), timeoutMs, matcher, defaultMode(folder));
+    }
+
+    /**
+     * Wait for a matching message with a UID of at least uidNext, with IDLE if the server supports it
+     * @param uidNext UIDNEXT of the folder read before the mail was triggered (see UIDFolder.getUIDNext)
+     * @return the matcher's result, or null if no message matched within the timeout
+     */
+    public static <T> T awaitAfterUid(Folder folder, long uidNext, long timeoutMs, Matcher<T> matcher)
+            throws MessagingException, IOException {
+        UIDFolder uidFolder = (UIDFolder) folder;
+        Matcher<T> newMessagesOnly = messages -> {
+            List<Message> newMessages = new ArrayList<>();
+            for (Message message : messages) {
+                // UID ranges "n:*" always include the last message, even below n
+                if (uidFolder.getUID(message) >= uidNext) {
+                    newMessages.add(message);
+                }
+            }
+            return newMessages.isEmpty() ? null : matcher.match(newMessages.toArray(new Message[0]));
+        };
+        return await(folder, () -> uidFolder.getMessagesByUID(uidNext, UIDFolder.LASTUID), timeoutMs, newMessagesOnly,
+                defaultMode(folder));
+    }
+
+    private static <T> T await(Folder folder, Backlog backlog, long timeoutMs, Matcher<T> matcher, Mode mode)
+            throws MessagingException, IOException {
+        long start = System.currentTimeMillis();
+        long deadline = start + timeoutMs;
+        BlockingQueue<Message[]> arrived = new LinkedBlockingQueue<>();
+        MessageCountListener listener = new MessageCountAdapter() {
+            @Override
+            public void messagesAdded(MessageCountEvent event) {
+                arrived.add(event.getMessages());
+            }
+        };
+        AtomicBoolean done = new AtomicBoolean();
+        AtomicBoolean idling = new AtomicBoolean(mode == Mode.IDLE);
+
+        folder.addMessageCountListener(listener);
+        try {
+            Message[] present = backlog.get();
+            if (present.length > 0) {
+                folder.fetch(present, ENVELOPE);
+                T result = matcher.match(present);
+                if (result != null) {
+                    log.info("📬 Matching message was already in {}", folder.getName());
+                    return result;
+                }
+            }
+
+            if (idling.get()) {
+                idleThreads.execute(() -> idle((IMAPFolder) folder, done, idling, arrived));
+            }
+            log.info("⏳ Waiting up to {} ms for a new message in {} ({})", timeoutMs, folder.getName(), mode);
+
+            long remaining;
+            while ((remaining = deadline - System.currentTimeMillis()) > 0) {
+                Message[] messages = arrived.poll(idling.get() ? remaining : Math.min(remaining, POLL_INTERVAL_MS),
+                        TimeUnit.MILLISECONDS);
+                if (messages == null) {
+                    if (!idling.get()) {
+                        // NOOP - the server reports new messages in its response and the listener picks them up
+                        folder.getMessageCount();
+                    }
+                    continue;
+                }
+                if (messages == WAKE_UP) {
+                    continue;
+                }
+                folder.fetch(messages, ENVELOPE);
+                T result = matcher.match(messages);
+                if (result != null) {
+                    log.info("📬 Matching message arrived after {} ms ({})", System.currentTimeMillis() - start,
+                            idling.get() ? Mode.IDLE : Mode.POLLING);
+                    return result;
+                }
+            }
+            log.warn("⏱️ No matching message in {} within {} ms", folder.getName(), timeoutMs);
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new MessagingException("Interrupted while waiting for a message", e);
+        } finally {
+            done.set(true);
+            folder.removeMessageCountListener(listener);
+            if (mode == Mode.IDLE && folder.isOpen()) {
+                try {
+                    // Any command on the folder ends a running IDLE
+                    folder.getMessageCount();
+                } catch (MessagingException e) {
+                    log.debug("Could not end IDLE: {}", e.getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * Messages already in the folder that are checked before waiting
+     */
+    @FunctionalInterface
+    private interface Backlog {
+        Message[] get() throws MessagingException;
+    }
+
+    private static Mode defaultMode(Folder folder) {
+        return IDLE && supportsIdle(folder) ? Mode.IDLE : Mode.POLLING;
+    }
+
+    /**
+     * Keeps the folder in IDLE until done; if IDLE fails, switches the waiter to polling
+     */
+    private static void idle(IMAPFolder folder, AtomicBoolean done, AtomicBoolean idling, BlockingQueue<Message[]> arrived) {
+        try {
+            while (!done.get()) {
+                folder.idle(true);
+            }
+        } catch (MessagingException | IllegalStateException e) {
+            if (!done.get()) {
+                log.warn("⚠️ IMAP IDLE failed, falling back to polling every {} ms: {}", POLL_INTERVAL_MS, e.getMessage());
+                idling.set(false);
+                arrived.add(WAKE_UP);
+            }
+        }
+    }
+
+    private static boolean supportsIdle(Folder folder) {
+        try {
+            if (folder instanceof IMAPFolder && folder.getStore() instanceof IMAPStore store && store.hasCapability("IDLE")) {
+                return true;
+            }
+        } catch (MessagingException e) {
+            log.debug("Could not read IMAP capabilities: {}", e.getMessage());
+        }
+        log.info("📭 IMAP server does not support IDLE - polling every {} ms", POLL_INTERVAL_MS);
+        return false;
+    }
+}
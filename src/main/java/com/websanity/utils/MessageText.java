@@ -0,0 +1,119 @@
+package com.websanity.utils;
+
+import com.sun.mail.imap.IMAPFolder;
+import com.sun.mail.imap.IMAPMessage;
+import com.sun.mail.imap.protocol.BODY;
+import com.sun.mail.imap.protocol.BODYSTRUCTURE;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.mail.MessagingException;
+import javax.mail.internet.MimeUtility;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Reads the text of an IMAP message without downloading the whole MIME message
+ *
+ * The BODYSTRUCTURE of the message tells which part holds the text (the first text/plain part, else the first
+ * text/html part). Only that part is fetched, and only its first maxBytes, with BODY.PEEK[section]<0.maxBytes>,
+ * so attachments and alternative parts are never downloaded and the message stays unread.
+ *
+ * Configuration (system properties):
+ * - mail.body.max.bytes - bytes of the text part to fetch (default: 65536)
+ */
+@Slf4j
+public final class MessageText {
+
+    public static final int DEFAULT_MAX_BYTES = Integer.getInteger("mail.body.max.bytes", 65536);
+
+    private MessageText() {
+    }
+
+    private record TextPart(String section, BODYSTRUCTURE structure) {
+    }
+
+    /**
+     * Text of the message, cut after maxBytes of the (encoded) text part
+     * @return the decoded text, or "" if the message has no text part
+     */
+    public static String peek(IMAPMessage message, int maxBytes) throws MessagingException {
+        IMAPFolder folder = (IMAPFolder) message.getFolder();
+        int messageNumber = message.getMessageNumber();
+
+        Object[] fetched = (Object[]) folder.doCommand(protocol -> {
+            BODYSTRUCTURE structure = protocol.fetchBodyStructure(messageNumber);
+            TextPart part = findTextPart(structure, "", "plain");
+            if (part == null) {
+                part = findTextPart(structure, "", "html");
+            }
+            if (part == null) {
+                return null;
+            }
+            BODY body = protocol.peekBody(messageNumber, part.section(), 0, maxBytes);
+            return new Object[]{part, body};
+        });
+        if (fetched == null) {
+            log.debug("Message {} has no text part", messageNumber);
+            return "";
+        }
+
+        TextPart part = (TextPart) fetched[0];
+        BODY body = (BODY) fetched[1];
+        if (body == null || body.getByteArrayInputStream() == null) {
+            return "";
+        }
+        byte[] text = decode(body.getByteArrayInputStream(), part.structure().encoding);
+        log.debug("Read part {} ({}/{}, {} bytes) of message {}, at most {} bytes", part.section(), part.structure().type,
+                part.structure().subtype, part.structure().size, messageNumber, maxBytes);
+        return new String(text, charset(part.structure()));
+    }
+
+    private static TextPart findTextPart(BODYSTRUCTURE structure, String section, String subtype) {
+        if (structure.isMulti()) {
+            for (int i = 0; i < structure.bodies.length; i++) {
+                String childSection = section.isEmpty() ? String.valueOf(i + 1) : section + "." + (i + 1);
+                TextPart part = findTextPart(structure.bodies[i], childSection, subtype);
+                if (part != null) {
+                    return part;
+                }
+            }
+            return null;
+        }
+        if ("text".equalsIgnoreCase(structure.type) && subtype.equalsIgnoreCase(structure.subtype)) {
+            // The body of a single-part message is its TEXT section
+            return new TextPart(section.isEmpty() ? "TEXT" : section, structure);
+        }
+        return null;
+    }
+
+    private static byte[] decode(InputStream encoded, String encoding) throws MessagingException {
+        InputStream decoded = MimeUtility.decode(encoded, encoding == null ? "7bit" : encoding);
+        ByteArrayOutputStream text = new ByteArrayOutputStream();
+        byte[] buffer = new byte[8192];
+        try {
+            int read;
+            while ((read = decoded.read(buffer)) > 0) {
+                text.write(buffer, 0, read);
+            }
+        } catch (IOException e) {
+            // A part cut after maxBytes may end in the middle of an encoded sequence - keep what was decoded
+            log.debug("Text part cut in an encoded sequence: {}", e.getMessage());
+        }
+        return text.toByteArray();
+    }
+
+    private static Charset charset(BODYSTRUCTURE structure) {
+        String charset = structure.cParams == null ? null : structure.cParams.get("charset");
+        if (charset == null) {
+            return StandardCharsets.UTF_8;
+        }
+        try {
+            return Charset.forName(MimeUtility.javaCharset(charset));
+        } catch (IllegalArgumentException e) {
+            return StandardCharsets.UTF_8;
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.websanity.utils;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Where the browser gets its network traffic from
+ *
+ * Configuration (system properties):
+ * - network.mode    - live (default), record (save a HAR per test class) or replay (serve the HAR, no network)
+ * - network.har.dir - directory with the HAR files (default: target/har)
+ */
+public enum NetworkMode {
+    LIVE,
+    RECORD,
+    REPLAY;
+
+    public static NetworkMode current() {
+        return valueOf(System.getProperty("network.mode", "live").trim().toUpperCase());
+    }
+
+    /**
+     * HAR file of a test class
+     */
+    public static Path getHarPath(String testClassName) {
+        return Paths.get(System.getProperty("network.har.dir", "target/har"), testClassName + ".har");
+    }
+}
@@ -0,0 +1,272 @@
+package com.websanity.utils;
+
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.PlaywrightException;
+import com.microsoft.playwright.Request;
+import com.microsoft.playwright.Response;
+import com.microsoft.playwright.Route;
+import lombok.extern.slf4j.Slf4j;
+
+import java.net.URI;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.regex.Pattern;
+
+/**
+ * BrowserContext.route based filter that aborts requests no assertion needs
+ * (fonts, media, analytics beacons, third-party widgets)
+ *
+ * One blocker is installed per context (see BaseTest). Rules are checked in this order:
+ * 1. blocked resource types and blocked URL patterns
+ * 2. frame rule - requests of the listed frames may only go to the first-party host
+ *
+ * Images are NOT blocked by default: both applications use img elements as buttons and status icons.
+ * URL patterns are globs: '*' matches inside one path segment, '**' matches anything.
+ *
+ * Configuration (system properties):
+ * - network.block.enabled - enable blocking (default: true in headless/Docker runs, false locally)
+ */
+@Slf4j
+public class RequestBlocker {
+
+    private static final Map<BrowserContext, RequestBlocker> blockers = new ConcurrentHashMap<>();
+
+    // Analytics, tracking and in-app engagement widgets loaded by the pages
+    private static final String[] THIRD_PARTY_PATTERNS = {
+            "**google-analytics.com/**",
+            "**googletagmanager.com/**",
+            "**doubleclick.net/**",
+            "**aptrinsic.com/**",       // Gainsight PX (post-login carousel)
+            "**hotjar.com/**",
+            "**fullstory.com/**",
+            "**nr-data.net/**",         // New Relic browser agent beacons
+            "**js-agent.newrelic.com/**",
+            "**intercom.io/**",
+            "**intercomcdn.com/**",
+            "**facebook.net/**",
+            "**clarity.ms/**"
+    };
+
+    private final String name;
+    private final Set<String> blockedResourceTypes = ConcurrentHashMap.newKeySet();
+    private final List<Pattern> blockedUrls = new CopyOnWriteArrayList<>();
+    private final Set<String> firstPartyFrames = ConcurrentHashMap.newKeySet();
+    private String firstPartyHost;
+
+    // Statistics since the last drainSummary()
+    private final Map<String, Integer> blockedByReason = new ConcurrentHashMap<>();
+    private int allowedRequests;
+    private long loadedBytes;
+
+    private RequestBlocker(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Blocking is enabled by default for headless (Docker) runs only
+     */
+    public static boolean isEnabled() {
+        String defaultValue = String.valueOf(System.getProperty("isLocalRun", "true").equals("false"));
+        return Boolean.parseBoolean(System.getProperty("network.block.enabled", defaultValue));
+    }
+
+    /**
+     * Rules shared by all applications: fonts, media and third-party analytics/widgets
+     */
+    public static RequestBlocker defaults() {
+        return new RequestBlocker("default")
+                .blockResourceTypes("font", "media")
+                .block(THIRD_PARTY_PATTERNS);
+    }
+
+    /**
+     * Defaults for the admin portal (Auth0 login + single page app): also drops sendBeacon pings
+     * and the web app manifest
+     */
+    public static RequestBlocker forAdminPortal() {
+        return new RequestBlocker("admin portal")
+                .copyFrom(defaults())
+                .blockResourceTypes("ping", "manifest");
+    }
+
+    /**
+     * Defaults for the teleadmin frameset: documents loaded into frame[name='menu'] and frame[name='text']
+     * only need resources of the teleadmin host itself
+     */
+    public static RequestBlocker forTeleadmin() {
+        return new RequestBlocker("teleadmin")
+                .copyFrom(defaults())
+                .firstPartyOnlyInFrames(getHost(System.getProperty("teleadmin.url")), "menu", "text");
+    }
+
+    /**
+     * Blocker installed on the given context, or null if request blocking is not active
+     */
+    public static RequestBlocker of(BrowserContext context) {
+        return context == null ? null : blockers.get(context);
+    }
+
+    /**
+     * Install this blocker on the context (all pages and frames of the context are covered)
+     */
+    public RequestBlocker install(BrowserContext context) {
+        blockers.put(context, this);
+        context.route("**/*", this::handle);
+        context.onResponse(this::countResponse);
+        context.onClose(closedContext -> blockers.remove(closedContext));
+        log.info("🚫 Request blocking enabled ({} rules)", name);
+        return this;
+    }
+
+    public RequestBlocker blockResourceTypes(String... resourceTypes) {
+        blockedResourceTypes.addAll(List.of(resourceTypes));
+        return this;
+    }
+
+    public RequestBlocker block(String... urlPatterns) {
+        for (String urlPattern : urlPatterns) {
+            blockedUrls.add(toPattern(urlPattern));
+        }
+        return this;
+    }
+
+    /**
+     * Requests made by the named frames may only go to the given host
+     */
+    public RequestBlocker firstPartyOnlyInFrames(String host, String... frameNames) {
+        if (host != null) {
+            this.firstPartyHost = host;
+            firstPartyFrames.addAll(List.of(frameNames));
+        }
+        return this;
+    }
+
+    private RequestBlocker copyFrom(RequestBlocker other) {
+        blockedResourceTypes.addAll(other.blockedResourceTypes);
+        blockedUrls.addAll(other.blockedUrls);
+        return this;
+    }
+
+    private void handle(Route route) {
+        Request request = route.request();
+        String reason = getBlockReason(request);
+        if (reason == null) {
+            route.fallback();
+            return;
+        }
+        blockedByReason.merge(reason, 1, Integer::sum);
+        log.debug("🚫 Blocked [{}] {}", reason, request.url());
+        route.abort("blockedbyclient");
+    }
+
+    /**
+     * @return reason the request is blocked for, or null if it may be loaded
+     */
+    private String getBlockReason(Request request) {
+        String url = request.url();
+        if (blockedResourceTypes.contains(request.resourceType())) {
+            return "type:" + request.resourceType();
+        }
+        if (matchesAny(blockedUrls, url)) {
+            return "host:" + getHost(url);
+        }
+        if (firstPartyHost != null && !request.isNavigationRequest()) {
+            String frameName = getFrameName(request);
+            String host = getHost(url);
+            if (frameName != null && firstPartyFrames.contains(frameName) && host != null && !host.equals(firstPartyHost)) {
+                return "frame:" + frameName + " " + host;
+            }
+        }
+        return null;
+    }
+
+    private void countResponse(Response response) {
+        allowedRequests++;
+        String contentLength = response.headers().get("content-length");
+        if (contentLength != null) {
+            try {
+                loadedBytes += Long.parseLong(contentLength.trim());
+            } catch (NumberFormatException ignored) {
+                // chunked or malformed header - size unknown
+            }
+        }
+    }
+
+    /**
+     * Human readable statistics since the previous call (used for the per-test Allure attachment)
+     * Aborted requests never reach the network, so their size is unknown - compare "loaded bytes"
+     * of runs with network.block.enabled=true/false to see the saved bandwidth
+     */
+    public String drainSummary() {
+        Map<String, Integer> blocked = new TreeMap<>(blockedByReason);
+        blockedByReason.clear();
+        int total = blocked.values().stream().mapToInt(Integer::intValue).sum();
+
+        StringBuilder summary = new StringBuilder()
+                .append("Rules: ").append(name).append('\n')
+                .append("Blocked requests: ").append(total).append('\n')
+                .append("Loaded requests: ").append(allowedRequests).append('\n')
+                .append("Loaded bytes (content-length): ").append(loadedBytes).append('\n');
+        blocked.forEach((reason, count) -> summary.append("  ").append(reason).append(": ").append(count).append('\n'));
+
+        log.info("🚫 Blocked {} request(s), loaded {} request(s) / {} bytes", total, allowedRequests, loadedBytes);
+        allowedRequests = 0;
+        loadedBytes = 0;
+        return summary.toString();
+    }
+
+    private static String getFrameName(Request request) {
+        try {
+            return request.frame().name();
+        } catch (PlaywrightException e) {
+            return null; // service worker requests have no frame
+        }
+    }
+
+    private static String getHost(String url) {
+        if (url == null) {
+            return null;
+        }
+        try {
+            return URI.create(url).getHost();
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static boolean matchesAny(List<Pattern> patterns, String url) {
+        for (Pattern pattern : patterns) {
+            if (pattern.matcher(url).matches()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Convert URL glob to regex: '**' - any characters, '*' - any characters except '/', '?' - one character
+     */
+    private static Pattern toPattern(String glob) {
+        StringBuilder regex = new StringBuilder();
+        for (int i = 0; i < glob.length(); i++) {
+            char c = glob.charAt(i);
+            if (c == '*') {
+                if (i + 1 < glob.length() && glob.charAt(i + 1) == '*') {
+                    regex.append(".*");
+                    i++;
+                } else {
+                    regex.append("[^/]*");
+                }
+            } else if (c == '?') {
+                regex.append('.');
+            } else {
+                regex.append(Pattern.quote(String.valueOf(c)));
+            }
+        }
+        return Pattern.compile(regex.toString());
+    }
+}
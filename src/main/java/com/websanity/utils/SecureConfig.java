@@ -101,6 +101,16 @@ public class SecureConfig {
         }
 
         // Windows mode - decrypt as usual
+        return decryptValue(encryptedText);
+    }
+
+    /**
+     * Decrypt a value encrypted with encrypt() on this machine
+     * (no Docker secrets lookup - used for locally stored data such as cached sessions)
+     * @param encryptedText Base64 encoded encrypted string
+     * @return Decrypted plain text
+     */
+    public static String decryptValue(String encryptedText) {
         try {
             SecretKey key = generateKey();
             Cipher cipher = Cipher.getInstance(TRANSFORMATION);
@@ -113,6 +123,14 @@ public class SecureConfig {
         }
     }
 
+    /**
+     * Check if machine-specific encryption is available
+     * (requires COMPUTERNAME - not set in Docker/Linux)
+     */
+    public static boolean isEncryptionAvailable() {
+        return System.getProperty("user.name") != null && System.getenv("COMPUTERNAME") != null;
+    }
+
     /**
      * Get current machine identifier (for debugging)
      */
@@ -0,0 +1,165 @@
+package com.websanity.utils;
+
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.Locator;
+import com.microsoft.playwright.Page;
+import com.microsoft.playwright.TimeoutError;
+import com.microsoft.playwright.options.SelectOption;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Option lists of select boxes driven by enums (Country, TimeZone, Language, Provider...), read once per session
+ *
+ * The first selection in a select box reads all its options with one call and caches them per browser context
+ * (released when the context closes). Enum constants are then resolved to the exact option value on the Java
+ * side, so Playwright selects by value instead of matching value-or-label, and a constant whose option no
+ * longer exists fails after a short wait with a clear message instead of selectOption waiting for its timeout.
+ * Before failing, the list is re-read for up to select.options.wait.ms (default 3000), in case the options
+ * are being rebuilt (e.g. after a country change).
+ *
+ * Once per select box and enum, every constant of the enum is checked against the options: constants missing
+ * from the portal are logged as enum drift and collected in getDriftReport(). Sentinel constants that are not
+ * options of a select box (e.g. Country.ALL_COUNTRIES in the phone country codes, Language.EMPTY) are passed by
+ * the caller and left out of the check. The check only runs on a settled list - non-empty, containing the
+ * selected option and unchanged when read again - so a list that is still being filled is not reported as drift.
+ */
+@Slf4j
+public final class SelectOptions {
+
+    private static final String READ_OPTIONS_SCRIPT =
+            "select => Array.from(select.options).map(option => [option.value, option.label.trim()])";
+
+    private static final double OPTIONS_WAIT_MS = Double.parseDouble(System.getProperty("select.options.wait.ms", "3000"));
+
+    private static final Map<BrowserContext, Map<String, Options>> cache = new ConcurrentHashMap<>();
+    private static final Set<String> driftChecked = ConcurrentHashMap.newKeySet();
+    private static final Map<String, List<String>> drift = new ConcurrentHashMap<>();
+
+    private SelectOptions() {
+    }
+
+    private record Options(List<String> values, List<String> labels) {
+
+        /**
+         * Index of the option with the value, or else the label; -1 if there is none
+         */
+        int indexOf(String valueOrLabel) {
+            int index = values.indexOf(valueOrLabel);
+            return index >= 0 ? index : labels.indexOf(valueOrLabel);
+        }
+    }
+
+    /**
+     * Select the option of an enum constant
+     * @param option value or label of the constant's option (e.g. Country::getCode, Country::getDisplayName)
+     * @throws IllegalArgumentException if the select box has no such option (enum out of date)
+     */
+    public static <E extends Enum<E>> void select(Locator select, E constant, Function<E, String> option) {
+        select(select, constant, option, Set.of());
+    }
+
+    /**
+     * Select the option of an enum constant
+     * @param notOptions constants that are never options of the select box, left out of the drift check
+     */
+    public static <E extends Enum<E>> void select(Locator select, E constant, Function<E, String> option, Set<E> notOptions) {
+        String key = select.toString();
+        String wanted = option.apply(constant);
+
+        Options options = getOptions(select, key, false);
+        if (options.indexOf(wanted) < 0) {
+            options = waitForOption(select, key, wanted);
+        }
+        int index = options.indexOf(wanted);
+        if (index < 0) {
+            throw new IllegalArgumentException(String.format("%s.%s ('%s') is not an option of %s (%d options) - the enum is out of date",
+                    constant.getDeclaringClass().getSimpleName(), constant.name(), wanted, key, options.values().size()));
+        }
+        checkDrift(select, key, constant.getDeclaringClass(), option, notOptions, options);
+        select.selectOption(new SelectOption().setValue(options.values().get(index)));
+    }
+
+    /**
+     * Enum constants missing from the portal per select box, e.g. "Locator@#countryID / Country" -> [NETHERLANDS_ANTILLES]
+     */
+    public static Map<String, List<String>> getDriftReport() {
+        return new TreeMap<>(drift);
+    }
+
+    private static Options getOptions(Locator select, String key, boolean reload) {
+        BrowserContext context = select.page().context();
+        Map<String, Options> contextOptions = cache.computeIfAbsent(context, SelectOptions::register);
+        Options options = reload ? null : contextOptions.get(key);
+        if (options == null) {
+            options = readOptions(select);
+            contextOptions.put(key, options);
+            log.debug("Read {} option(s) of {}", options.values().size(), key);
+        }
+        return options;
+    }
+
+    /**
+     * Re-read the options until the wanted one is there (the list may be being rebuilt), but not longer
+     * than OPTIONS_WAIT_MS; the last read is cached either way
+     */
+    private static Options waitForOption(Locator select, String key, String wanted) {
+        Options[] options = {getOptions(select, key, true)};
+        if (options[0].indexOf(wanted) >= 0) {
+            return options[0];
+        }
+        try {
+            TestTimings.measureWait(() -> select.page().waitForCondition(() -> {
+                options[0] = getOptions(select, key, true);
+                return options[0].indexOf(wanted) >= 0;
+            }, new Page.WaitForConditionOptions().setTimeout(OPTIONS_WAIT_MS)));
+        } catch (TimeoutError e) {
+            log.debug("Option '{}' did not appear in {} within {} ms", wanted, key, OPTIONS_WAIT_MS);
+        }
+        return options[0];
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Options readOptions(Locator select) {
+        List<String> values = new ArrayList<>();
+        List<String> labels = new ArrayList<>();
+        for (List<String> option : (List<List<String>>) select.evaluate(READ_OPTIONS_SCRIPT)) {
+            values.add(option.get(0));
+            labels.add(option.get(1));
+        }
+        return new Options(List.copyOf(values), List.copyOf(labels));
+    }
+
+    private static <E extends Enum<E>> void checkDrift(Locator select, String key, Class<E> type, Function<E, String> option,
+                                                       Set<E> notOptions, Options options) {
+        String driftKey = key + " / " + type.getSimpleName();
+        if (driftChecked.contains(driftKey) || options.values().isEmpty()) {
+            return;
+        }
+        // Only a settled list is checked - if it changed since the read, the next selection checks it again
+        if (!options.equals(readOptions(select)) || !driftChecked.add(driftKey)) {
+            return;
+        }
+        List<String> missing = EnumSet.allOf(type).stream()
+                .filter(constant -> !notOptions.contains(constant) && options.indexOf(option.apply(constant)) < 0)
+                .map(Enum::name)
+                .toList();
+        if (!missing.isEmpty()) {
+            drift.put(driftKey, missing);
+            log.warn("⚠️ Enum drift: {} constant(s) of {} are not options of {}: {}", missing.size(), type.getSimpleName(), key, missing);
+        }
+    }
+
+    private static Map<String, Options> register(BrowserContext context) {
+        context.onClose(cache::remove);
+        return new ConcurrentHashMap<>();
+    }
+}
@@ -0,0 +1,218 @@
+package com.websanity.utils;
+
+import com.microsoft.playwright.Locator;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Predicate;
+
+/**
+ * Contents of an HTML table read in a single round trip (one Locator.evaluate)
+ *
+ * Reading a table cell by cell costs one Playwright call per cell; a snapshot reads headers, the text,
+ * CSS class, image alt/title and link title of every cell, the data-* attributes and id of every row and the state
+ * of the row checkbox at once. Rows containing only th cells are treated as headers and DataTables' "No data
+ * available" placeholder row is skipped, so rows() are the data rows only.
+ *
+ * A snapshot does not change when the page does - take a new one after every search/refresh.
+ */
+public final class TableSnapshot {
+
+    private static final String READ_TABLE_SCRIPT = """
+            (table, rowSelector) => {
+                const text = element => (element.textContent || '').trim();
+                const allRows = Array.from(table.querySelectorAll('tr'));
+                const headerRow = allRows.find(row => row.querySelector('th') && !row.querySelector('td'));
+                const headers = headerRow ? Array.from(headerRow.querySelectorAll('th')).map(text) : [];
+                const dataRows = rowSelector ? Array.from(table.querySelectorAll(rowSelector)) : allRows;
+                const rows = dataRows
+                    .filter(row => row.querySelector('td') && !row.querySelector('td.dataTables_empty'))
+                    .map(row => {
+                        const checkbox = row.querySelector("input[type='checkbox']");
+                        return {
+                            id: row.id || '',
+                            data: Object.assign({}, row.dataset),
+                            checked: checkbox ? checkbox.checked : null,
+                            cells: Array.from(row.querySelectorAll('td')).map(cell => {
+                                const image = cell.querySelector('img');
+                                const link = cell.querySelector('a');
+                                return {
+                                    text: text(cell),
+                                    className: cell.className || '',
+                                    imageAlt: image ? (image.getAttribute('alt') || '') : null,
+                                    imageTitle: image ? (image.getAttribute('title') || '') : null,
+                                    linkTitle: link ? link.getAttribute('title') : null
+                                };
+                            })
+                        };
+                    });
+                return {headers, rows};
+            }
+            """;
+
+    private final List<String> headers;
+    private final List<Row> rows;
+
+    private TableSnapshot(List<String> headers, List<Row> rows) {
+        this.headers = headers;
+        this.rows = rows;
+    }
+
+    /**
+     * Read the whole table the locator points to (e.g. frameLocator(...).locator("#personTable"))
+     */
+    public static TableSnapshot of(Locator table) {
+        return of(table, null);
+    }
+
+    /**
+     * Read the table with data rows selected by a CSS selector relative to the table
+     * (e.g. "tbody tr.rowEntryFolder" when the table also contains layout rows)
+     */
+    @SuppressWarnings("unchecked")
+    public static TableSnapshot of(Locator table, String rowSelector) {
+        Map<String, Object> result = (Map<String, Object>) table.evaluate(READ_TABLE_SCRIPT, rowSelector);
+
+        List<String> headers = (List<String>) result.get("headers");
+        List<Row> rows = new ArrayList<>();
+        for (Object rowObject : (List<Object>) result.get("rows")) {
+            Map<String, Object> row = (Map<String, Object>) rowObject;
+            List<Cell> cells = new ArrayList<>();
+            for (Object cellObject : (List<Object>) row.get("cells")) {
+                Map<String, Object> cell = (Map<String, Object>) cellObject;
+                cells.add(new Cell((String) cell.get("text"), (String) cell.get("className"), (String) cell.get("imageAlt"),
+                        (String) cell.get("imageTitle"), (String) cell.get("linkTitle")));
+            }
+            rows.add(new Row(rows.size(), (String) row.get("id"), (Map<String, String>) row.get("data"),
+                    (Boolean) row.get("checked"), List.copyOf(cells), headers));
+        }
+        return new TableSnapshot(List.copyOf(headers), Collections.unmodifiableList(rows));
+    }
+
+    public List<String> headers() {
+        return headers;
+    }
+
+    /**
+     * Data rows (header and "No data available" rows excluded)
+     */
+    public List<Row> rows() {
+        return rows;
+    }
+
+    public int size() {
+        return rows.size();
+    }
+
+    public boolean isEmpty() {
+        return rows.isEmpty();
+    }
+
+    /**
+     * Data row by 0-based index
+     * @throws IndexOutOfBoundsException if the table has fewer rows
+     */
+    public Row row(int index) {
+        return rows.get(index);
+    }
+
+    /**
+     * Text of all cells of a column
+     */
+    public List<String> column(int cellIndex) {
+        return rows.stream().map(row -> row.cell(cellIndex)).toList();
+    }
+
+    public Optional<Row> findRow(Predicate<Row> condition) {
+        return rows.stream().filter(condition).findFirst();
+    }
+
+    /**
+     * First row whose cell text equals the value
+     */
+    public Optional<Row> findRow(int cellIndex, String value) {
+        return findRow(row -> value.equals(row.cell(cellIndex)));
+    }
+
+    /**
+     * First row with the given data-* attribute value (e.g. findRowByData("id", "123") for data-id="123")
+     */
+    public Optional<Row> findRowByData(String key, String value) {
+        return findRow(row -> value.equals(row.data().get(key)));
+    }
+
+    public record Cell(String text, String className, String imageAlt, String imageTitle, String linkTitle) {
+    }
+
+    /**
+     * One data row; index is the position among the data rows (Locator of the row: "tbody tr" nth(index) when
+     * the header is in thead)
+     */
+    public record Row(int index, String id, Map<String, String> data, Boolean checked, List<Cell> cells,
+                      List<String> headers) {
+
+        /**
+         * Trimmed text of a cell, or null if the row has fewer cells
+         */
+        public String cell(int cellIndex) {
+            return cellIndex < cells.size() ? cells.get(cellIndex).text() : null;
+        }
+
+        /**
+         * Trimmed text of the cell in the column with the given header
+         */
+        public String cell(String header) {
+            int cellIndex = headers.indexOf(header);
+            return cellIndex < 0 ? null : cell(cellIndex);
+        }
+
+        /**
+         * Text of the first cell with the given CSS class (e.g. "contactsName")
+         */
+        public String cellWithClass(String className) {
+            List<String> texts = cellsWithClass(className);
+            return texts.isEmpty() ? null : texts.get(0);
+        }
+
+        /**
+         * Text of all cells with the given CSS class, in column order (e.g. "phoneCell")
+         */
+        public List<String> cellsWithClass(String className) {
+            return cells.stream()
+                    .filter(cell -> List.of(cell.className().split("\\s+")).contains(className))
+                    .map(Cell::text)
+                    .toList();
+        }
+
+        /**
+         * Alt text of the image in a cell (status/type icons), or null if the cell has no image
+         */
+        public String imageAlt(int cellIndex) {
+            return cellIndex < cells.size() ? cells.get(cellIndex).imageAlt() : null;
+        }
+
+        /**
+         * Title of the image in a cell (e.g. the user status icon), or null if the cell has no image
+         */
+        public String imageTitle(int cellIndex) {
+            return cellIndex < cells.size() ? cells.get(cellIndex).imageTitle() : null;
+        }
+
+        /**
+         * Title attribute of the first link in a cell (full value of a shortened link text), or null if there is none
+         */
+        public String linkTitle(int cellIndex) {
+            return cellIndex < cells.size() ? cells.get(cellIndex).linkTitle() : null;
+        }
+
+        /**
+         * @return true if the row checkbox is checked (false if the row has no checkbox)
+         */
+        public boolean isChecked() {
+            return Boolean.TRUE.equals(checked);
+        }
+    }
+}
@@ -0,0 +1,207 @@
+package com.websanity.utils;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Per-test accounting of where the time goes: fixed sleeps, condition waits and the rest (browser actions)
+ *
+ * BaseTest starts the accounting before each test and attaches the breakdown to the Allure result after it.
+ * Sleeps are counted by TestTimings.sleep (used by TestUtils.sleep and EmailHelper), waits by the
+ * condition-based waits of BasePage. Each entry is booked on the calling class and method, so the report
+ * ranks page objects by the time they spent sleeping/waiting. Direct page.waitForTimeout calls are not counted.
+ *
+ * Accounting is per thread: steps running on ParallelPages branch threads are not included.
+ *
+ * Configuration (system properties):
+ * - sleep.budget.ms      - slept time allowed per test (default: 5000)
+ * - sleep.budget.enforce - what to do when a test exceeds the budget: warn (default) or fail
+ */
+@Slf4j
+public final class TestTimings {
+
+    private static final long SLEEP_BUDGET_MS = Long.getLong("sleep.budget.ms", 5000);
+    private static final boolean FAIL_OVER_BUDGET = System.getProperty("sleep.budget.enforce", "warn").trim().equalsIgnoreCase("fail");
+
+    private static final ThreadLocal<Timings> current = ThreadLocal.withInitial(Timings::new);
+
+    // Slept time of the whole run by calling class (ranking of the worst sleepers)
+    private static final Map<String, LongAdder> sleptBySourceTotal = new ConcurrentHashMap<>();
+
+    private TestTimings() {
+    }
+
+    /**
+     * Start accounting for the test running on this thread (previous numbers are dropped)
+     */
+    public static void start() {
+        current.set(new Timings());
+    }
+
+    /**
+     * Sleep and book the time as slept
+     */
+    public static void sleep(long milliseconds) throws InterruptedException {
+        long start = System.nanoTime();
+        try {
+            Thread.sleep(milliseconds);
+        } finally {
+            recordSleep(getCaller(), elapsedMs(start));
+        }
+    }
+
+    /**
+     * Book time slept by other means (e.g. page.waitForTimeout)
+     */
+    public static void recordSleep(String source, long milliseconds) {
+        current.get().slept.merge(source, milliseconds, Long::sum);
+        sleptBySourceTotal.computeIfAbsent(source, key -> new LongAdder()).add(milliseconds);
+    }
+
+    /**
+     * Run a condition wait and book its duration as waited
+     */
+    public static <T> T measureWait(Supplier<T> wait) {
+        long start = System.nanoTime();
+        try {
+            return wait.get();
+        } finally {
+            current.get().waited.merge(getCaller(), elapsedMs(start), Long::sum);
+        }
+    }
+
+    public static void measureWait(Runnable wait) {
+        measureWait(() -> {
+            wait.run();
+            return null;
+        });
+    }
+
+    /**
+     * Stop accounting for the current test
+     * @return breakdown of the test
+     */
+    public static Report finish(String testName) {
+        Timings timings = current.get();
+        current.remove();
+        Report report = new Report(testName, elapsedMs(timings.start), Map.copyOf(timings.slept), Map.copyOf(timings.waited));
+        log.info("⏱️ {}: total {} ms, slept {} ms, waited {} ms, actions {} ms",
+                testName, report.totalMs(), report.sleptMs(), report.waitedMs(), report.actionMs());
+        return report;
+    }
+
+    public static long getSleepBudgetMs() {
+        return SLEEP_BUDGET_MS;
+    }
+
+    /**
+     * Check the slept time of a test against sleep.budget.ms
+     * @throws AssertionError if the budget is exceeded and sleep.budget.enforce=fail
+     */
+    public static void checkBudget(Report report) {
+        if (report.sleptMs() <= SLEEP_BUDGET_MS) {
+            return;
+        }
+        String message = String.format("%s slept %d ms, sleep budget is %d ms (top: %s)",
+                report.testName(), report.sleptMs(), SLEEP_BUDGET_MS, report.topSleeper());
+        if (FAIL_OVER_BUDGET) {
+            throw new AssertionError(message);
+        }
+        log.warn("⏱️ {}", message);
+    }
+
+    /**
+     * Slept time of the run so far by calling class and method, the biggest first
+     */
+    public static String getSleepRanking() {
+        StringBuilder ranking = new StringBuilder();
+        sleptBySourceTotal.entrySet().stream()
+                .sorted(Comparator.comparingLong((Map.Entry<String, LongAdder> entry) -> entry.getValue().sum()).reversed())
+                .forEach(entry -> ranking.append(String.format("  %8d ms  %s%n", entry.getValue().sum(), entry.getKey())));
+        return ranking.toString();
+    }
+
+    /**
+     * First frame outside the timing/wait helpers, e.g. "FindUsersPage.clickSearchButton"
+     */
+    private static String getCaller() {
+        return StackWalker.getInstance().walk(frames -> frames
+                .filter(frame -> !isHelper(frame.getClassName()))
+                .findFirst()
+                .map(frame -> frame.getClassName().substring(frame.getClassName().lastIndexOf('.') + 1)
+                        + "." + frame.getMethodName())
+                .orElse("unknown"));
+    }
+
+    private static boolean isHelper(String className) {
+        return className.equals(TestTimings.class.getName())
+                || className.equals(TestUtils.class.getName())
+                || className.equals("com.websanity.BasePage");
+    }
+
+    private static long elapsedMs(long startNanos) {
+        return (System.nanoTime() - startNanos) / 1_000_000;
+    }
+
+    private static class Timings {
+        private final long start = System.nanoTime();
+        private final Map<String, Long> slept = new HashMap<>();
+        private final Map<String, Long> waited = new HashMap<>();
+    }
+
+    /**
+     * Time breakdown of one test; action time is what is left after sleeps and waits
+     */
+    public record Report(String testName, long totalMs, Map<String, Long> slept, Map<String, Long> waited) {
+
+        public long sleptMs() {
+            return slept.values().stream().mapToLong(Long::longValue).sum();
+        }
+
+        public long waitedMs() {
+            return waited.values().stream().mapToLong(Long::longValue).sum();
+        }
+
+        public long actionMs() {
+            return Math.max(0, totalMs - sleptMs() - waitedMs());
+        }
+
+        String topSleeper() {
+            return slept.entrySet().stream()
+                    .max(Map.Entry.comparingByValue())
+                    .map(entry -> entry.getKey() + " " + entry.getValue() + " ms")
+                    .orElse("-");
+        }
+
+        /**
+         * Text for the Allure attachment
+         */
+        @Override
+        public String toString() {
+            StringBuilder text = new StringBuilder()
+                    .append("Total:   ").append(totalMs).append(" ms\n")
+                    .append("Slept:   ").append(sleptMs()).append(" ms (budget ").append(SLEEP_BUDGET_MS).append(" ms)\n")
+                    .append("Waited:  ").append(waitedMs()).append(" ms\n")
+                    .append("Actions: ").append(actionMs()).append(" ms\n");
+            appendRanking(text, "Slept by", slept);
+            appendRanking(text, "Waited by", waited);
+            return text.toString();
+        }
+
+        private static void appendRanking(StringBuilder text, String title, Map<String, Long> bySource) {
+            if (bySource.isEmpty()) {
+                return;
+            }
+            text.append('\n').append(title).append(":\n");
+            bySource.entrySet().stream()
+                    .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
+                    .forEach(entry -> text.append(String.format("  %8d ms  %s%n", entry.getValue(), entry.getKey())));
+        }
+    }
+}
@@ -27,11 +27,12 @@ public class TestUtils {
     }
 
     /**
-     * Wait for a specific amount of time (use sparingly)
+     * Wait for a specific amount of time (use sparingly - counted against the per-test sleep budget, see TestTimings)
+     * Prefer waiting for a condition (see the condition-based waits in BasePage)
      */
     public static void sleep(long milliseconds) {
         try {
-            Thread.sleep(milliseconds);
+            TestTimings.sleep(milliseconds);
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
         }
@@ -3,6 +3,7 @@ package com.websanity;
 import com.websanity.adminPortalPages.LogInPage;
 import com.websanity.adminPortalPages.MenuPage;
 import com.websanity.adminPortalPages.UserManagementPage;
+import com.websanity.utils.AuthStateCache;
 import lombok.extern.slf4j.Slf4j;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeAll;
@@ -17,13 +18,53 @@ import org.junit.jupiter.api.TestInstance;
 @TestInstance(TestInstance.Lifecycle.PER_CLASS)
 public abstract class AdminPortalBaseTest extends BaseTest {
 
-    protected static MenuPage menuPage;
+    protected MenuPage menuPage;
+
+    // Host of the Auth0 login pages - landing here means the session was rejected
+    private static final String AUTH_HOST = "auth.telemessage.com";
+
+    /**
+     * Open admin portal logged in: reuse the MFA-verified session from the encrypted session vault
+     * while the server accepts it, otherwise perform full login with email MFA and store the new session.
+     * NOTE: may recreate context and page - create page objects AFTER calling this method.
+     *
+     * @return Menu page of the logged-in admin portal
+     */
+    protected MenuPage loginToAdminPortal() {
+        AuthStateCache sessionVault = AuthStateCache.forAdminPortal();
+
+        String cachedState = sessionVault.getValidState();
+        if (cachedState != null) {
+            openContext(cachedState);
+            if (sessionVault.probe(context, null)) {
+                MenuPage restoredMenuPage = PageObjects.get(page, MenuPage.class);
+                // Prewarmed context is already on the landing page
+                if (!page.url().equals(sessionVault.getLandingUrl())) {
+                    restoredMenuPage.navigate(sessionVault.getLandingUrl());
+                }
+                page.waitForLoadState();
+                if (!page.url().contains(AUTH_HOST)) {
+                    log.info("♻️ Reusing MFA-verified admin portal session - skipping login and email MFA");
+                    return restoredMenuPage;
+                }
+            }
+            log.info("🔐 Cached admin portal session was rejected - logging in with MFA");
+            sessionVault.invalidate();
+            openContext();
+        }
+
+        MenuPage loggedInMenuPage = PageObjects.get(page, LogInPage.class).loginToAdminPortalWithAutoUser();
+
+        // Capture cookies and local storage right after MFA succeeded
+        sessionVault.save(context, page.url());
+        return loggedInMenuPage;
+    }
 
     /**
      * Cleanup after all tests are completed
      */
     @AfterAll
-    static void tearDownAll() {
+    void tearDownAll() {
         log.info("🧹 Closing Admin Portal session after all tests...");
     }
 }
@@ -1,63 +1,162 @@
 package com.websanity;
 
 import com.microsoft.playwright.*;
+import com.microsoft.playwright.options.HarContentPolicy;
+import com.microsoft.playwright.options.HarMode;
+import com.websanity.utils.BrowserPool;
+import com.websanity.utils.ContextPrewarmer;
+import com.websanity.utils.HarReplayer;
+import com.websanity.utils.NetworkMode;
+import com.websanity.utils.ParallelPages;
+import com.websanity.utils.RequestBlocker;
 import com.websanity.utils.ScreenshotOnFailureExtension;
+import com.websanity.utils.SelectOptions;
+import com.websanity.utils.TestTimings;
+import io.qameta.allure.Allure;
+import lombok.extern.slf4j.Slf4j;
 import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.TestInfo;
+import org.junit.jupiter.api.TestInstance;
 import org.junit.jupiter.api.extension.ExtendWith;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Base test class holding the Playwright runtime of a test class
+ * Browser, context and page are owned by the test instance (PER_CLASS lifecycle) and are used
+ * only from the worker thread executing the class, so test classes can run in parallel
+ * (junit.jupiter.execution.parallel.enabled=true, see junit-platform.properties)
+ *
+ * With -Dnetwork.mode=record the traffic of each test class is saved to a HAR file,
+ * with -Dnetwork.mode=replay it is served from that HAR without touching the network (see HarReplayer)
+ */
+@Slf4j
 @ExtendWith(ScreenshotOnFailureExtension.class)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
 public abstract class BaseTest {
-    protected static Playwright playwright;
-    protected static Browser browser;
-    protected static BrowserContext context;
-    protected static Page page;
+    protected Browser browser;
+    protected BrowserContext context;
+    protected Page page;
+
+    // Context taken from ContextPrewarmer and the storage state it was created with
+    private ContextPrewarmer.Prewarmed prewarmed;
+    private String prewarmedState;
 
     @BeforeAll
-    static void launchBrowser() {
-        playwright = Playwright.create();
+    void launchBrowser() {
+        // Context prepared in the background while the previous class was running (see ContextPrewarmer)
+        prewarmed = ContextPrewarmer.take(getClass());
+        if (prewarmed != null) {
+            browser = prewarmed.browser();
+            page = prewarmed.page();
+            context = page.context();
+            prewarmedState = prewarmed.storageState();
+            return;
+        }
 
-        // Check if running in Docker mode (isLocalRun=false means Docker)
-        String isLocalRun = System.getProperty("isLocalRun", "true");
-        boolean headless = isLocalRun.equals("false"); // Docker = headless, Local = headed
+        // Browser is shared across test classes (launched once per JVM), each class gets a fresh context
+        browser = BrowserPool.getInstance().acquire();
 
-        System.out.println("Browser headless mode: " + headless + " (isLocalRun=" + isLocalRun + ")");
+        openContext();
+    }
 
-        BrowserType.LaunchOptions launchOptions = new BrowserType.LaunchOptions()
-                .setHeadless(headless)
-                .setSlowMo(headless ? 0 : 50); // No slowMo in Docker
+    /**
+     * (Re)create a clean browser context and page for the current test class
+     */
+    protected void openContext() {
+        prewarmedState = null;
+        createContext(new Browser.NewContextOptions());
+    }
 
-        // Add args to disable automation detection and for Docker stability
-        java.util.List<String> args = new java.util.ArrayList<>();
-        args.add("--disable-blink-features=AutomationControlled"); // Mask automation
-        args.add("--disable-dev-shm-usage");      // Overcome limited resource problems
-        args.add("--no-sandbox");                  // Required for Docker
-        args.add("--disable-setuid-sandbox");      // Additional sandbox disable
-        args.add("--disable-web-security");        // Allow cross-origin requests
-        args.add("--disable-features=IsolateOrigins,site-per-process"); // Disable isolation
+    /**
+     * (Re)create the browser context and page restoring a saved storage state file
+     * Keeps the prewarmed context if it was created with the current content of the file
+     * @param storageStatePath saved storage state (cookies + local storage)
+     */
+    protected void openContext(Path storageStatePath) {
+        if (usePrewarmedContext(prewarmedState == null ? null : readState(storageStatePath))) {
+            return;
+        }
+        createContext(new Browser.NewContextOptions().setStorageStatePath(storageStatePath));
+    }
 
-        if (headless) {
-            args.add("--disable-gpu");                 // Disable GPU hardware acceleration
-            args.add("--disable-software-rasterizer"); // Prevent software rendering crashes
-            args.add("--disable-features=VizDisplayCompositor"); // Stability fix
-            launchOptions.setChannel("chromium"); // Use regular chromium channel
-        } else {
-            launchOptions.setChannel("chrome"); // Use installed Chrome for local runs
+    /**
+     * (Re)create the browser context and page restoring an in-memory storage state
+     * Keeps the prewarmed context if it was created with the same state
+     * @param storageState storage state JSON (cookies + local storage)
+     */
+    protected void openContext(String storageState) {
+        if (usePrewarmedContext(storageState)) {
+            return;
         }
+        createContext(new Browser.NewContextOptions().setStorageState(storageState));
+    }
 
-        launchOptions.setArgs(args);
+    private boolean usePrewarmedContext(String storageState) {
+        boolean reuse = prewarmedState != null && prewarmedState.equals(storageState);
+        prewarmedState = null;
+        if (reuse) {
+            log.info("🔥 Using prewarmed context with restored session");
+        }
+        return reuse;
+    }
 
-        browser = playwright.chromium().launch(launchOptions);
+    private static String readState(Path storageStatePath) {
+        try {
+            return Files.readString(storageStatePath);
+        } catch (IOException e) {
+            return null;
+        }
+    }
 
+    private void createContext(Browser.NewContextOptions contextOptions) {
+        if (context != null) {
+            context.close();
+        }
+        page = newPage(browser, getClass(), contextOptions);
+        context = page.context();
+    }
+
+    /**
+     * Create a context (options to mask automation, HAR record/replay, request blocking) and its page
+     * for the given test class. Also used by ContextPrewarmer on its own thread and browser.
+     */
+    public static Page newPage(Browser browser, Class<?> testClass, Browser.NewContextOptions contextOptions) {
         // Create context with options to mask automation
-        context = browser.newContext(new Browser.NewContextOptions()
+        contextOptions
                 .setViewportSize(1920, 1080)
                 .setIgnoreHTTPSErrors(true)
                 .setBypassCSP(true)
                 .setJavaScriptEnabled(true)
                 .setUserAgent("Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/131.0.0.0 Safari/537.36")
                 .setLocale("en-US")
-                .setTimezoneId("America/New_York"));
+                .setTimezoneId("America/New_York");
+
+        NetworkMode networkMode = NetworkMode.current();
+        Path harPath = NetworkMode.getHarPath(testClass.getSimpleName());
+        if (networkMode == NetworkMode.RECORD) {
+            // HAR is written when the context is closed; a recreated context (re-login) overwrites it
+            createHarDirectory(harPath);
+            contextOptions
+                    .setRecordHarPath(harPath)
+                    .setRecordHarMode(HarMode.FULL)
+                    .setRecordHarContent(HarContentPolicy.EMBED);
+        }
+
+        BrowserContext context = browser.newContext(contextOptions);
+
+        if (networkMode == NetworkMode.REPLAY) {
+            // Installed before the request blocker so blocked requests never reach the replay
+            HarReplayer.load(harPath).install(context);
+        }
 
         // Set extra HTTP headers that a real browser would send
         context.setExtraHTTPHeaders(java.util.Map.of(
@@ -67,7 +166,11 @@ public abstract class BaseTest {
                 "Upgrade-Insecure-Requests", "1"
         ));
 
-        page = context.newPage();
+        if (RequestBlocker.isEnabled()) {
+            createRequestBlocker(testClass).install(context);
+        }
+
+        Page page = context.newPage();
 
         // Add init scripts to mask automation properties
         page.addInitScript("" +
@@ -76,19 +179,107 @@ public abstract class BaseTest {
                 "Object.defineProperty(navigator, 'languages', {get: () => ['en-US', 'en']});" +
                 "window.chrome = {runtime: {}};" +
                 "Object.defineProperty(navigator, 'permissions', {get: () => ({query: () => Promise.resolve({state: 'granted'})})});");
+        return page;
+    }
+
+    private static void createHarDirectory(Path harPath) {
+        try {
+            Files.createDirectories(harPath.getParent());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not create HAR directory " + harPath.getParent(), e);
+        }
     }
 
+    /**
+     * Request blocking rules of the application a test class belongs to (see RequestBlocker)
+     * Used only when blocking is enabled (headless runs or -Dnetwork.block.enabled=true)
+     */
+    private static RequestBlocker createRequestBlocker(Class<?> testClass) {
+        if (AdminPortalBaseTest.class.isAssignableFrom(testClass)) {
+            return RequestBlocker.forAdminPortal();
+        }
+        if (TeleadminBaseTest.class.isAssignableFrom(testClass)) {
+            return RequestBlocker.forTeleadmin();
+        }
+        return RequestBlocker.defaults();
+    }
+
+    @BeforeEach
+    void startTimings() {
+        TestTimings.start();
+    }
+
+    /**
+     * Attach the sleep/wait/action time breakdown of the test to the Allure report
+     * and check it against the sleep budget (see TestTimings)
+     */
+    @AfterEach
+    void attachTimings(TestInfo testInfo) {
+        TestTimings.Report report = TestTimings.finish(getClass().getSimpleName() + "." + testInfo.getDisplayName());
+        Allure.addAttachment("Time breakdown", "text/plain", report.toString());
+        TestTimings.checkBudget(report);
+    }
+
+    /**
+     * Attach requests blocked during the test to the Allure report
+     */
+    @AfterEach
+    void attachBlockedRequests() {
+        RequestBlocker blocker = RequestBlocker.of(context);
+        if (blocker != null) {
+            Allure.addAttachment("Blocked requests", "text/plain", blocker.drainSummary());
+        }
+    }
+
+    /**
+     * Start independent steps concurrently, each on its own page of the logged-in session (see ParallelPages)
+     * Await every branch, e.g. in the test that reports it
+     */
+    protected ParallelPages.Batch startInParallelPages(ParallelPages.Branch... branches) {
+        return ParallelPages.start(getClass(), page, branches);
+    }
+
+    /**
+     * Page of the current test class (used by extensions, e.g. screenshot on failure)
+     */
+    public Page getPage() {
+        return page;
+    }
+
+    /**
+     * Log the run's slept time by calling page object method, the biggest first
+     */
+    @AfterAll
+    void logSleepRanking() {
+        String ranking = TestTimings.getSleepRanking();
+        if (!ranking.isEmpty()) {
+            log.info("⏱️ Slept time by caller (run so far):\n{}", ranking);
+        }
+    }
+
+    @AfterAll
+    void logEnumDrift() {
+        Map<String, List<String>> drift = SelectOptions.getDriftReport();
+        if (!drift.isEmpty()) {
+            StringBuilder report = new StringBuilder();
+            drift.forEach((select, constants) -> report.append("\n  ").append(select).append(": ").append(constants));
+            log.warn("⚠️ Enum constants missing from select boxes (run so far):{}", report);
+        }
+    }
 
     @AfterAll
-    static void closeBrowser() {
+    void closeBrowser() {
         if (context != null) {
             context.close();
+            context = null;
         }
-        if (browser != null) {
-            browser.close();
-        }
-        if (playwright != null) {
-            playwright.close();
+        if (prewarmed != null) {
+            // Prewarm runtime goes back to ContextPrewarmer for the next class
+            ContextPrewarmer.release(prewarmed);
+            prewarmed = null;
+        } else if (browser != null) {
+            // Browser stays alive in the pool for the next test class
+            BrowserPool.getInstance().release(browser);
         }
     }
 }
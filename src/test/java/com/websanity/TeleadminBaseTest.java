@@ -0,0 +1,62 @@
+package com.websanity;
+
+import com.websanity.teleadminPages.FindUsersPage;
+import com.websanity.teleadminPages.LogInPage;
+import com.websanity.utils.AuthStateCache;
+import lombok.extern.slf4j.Slf4j;
+
+import java.nio.file.Path;
+
+/**
+ * Base test class for Teleadmin tests
+ * Restores a cached teleadmin session when possible and logs in only when it has expired
+ */
+@Slf4j
+public abstract class TeleadminBaseTest extends BaseTest {
+
+    private static final Object LOGIN_LOCK = new Object();
+
+    /**
+     * Open teleadmin logged in: restore cached storage state if the server still accepts it,
+     * otherwise perform a full login and cache the new state for later classes/containers/reruns.
+     * NOTE: may recreate context and page - create page objects AFTER calling this method.
+     *
+     * @return Find Users page (loaded)
+     */
+    protected FindUsersPage loginToTeleadmin() {
+        // Classes running in parallel log in one at a time, so only the first one performs a full login
+        synchronized (LOGIN_LOCK) {
+            return restoreOrLogin();
+        }
+    }
+
+    private FindUsersPage restoreOrLogin() {
+        AuthStateCache authCache = AuthStateCache.forTeleadmin();
+
+        Path cachedState = authCache.getValidStatePath();
+        if (cachedState != null) {
+            openContext(cachedState);
+            if (authCache.probe(context, LogInPage.LOGIN_PAGE_MARKER)) {
+                log.info("♻️ Reusing cached teleadmin session - skipping login");
+                FindUsersPage findUsersPage = PageObjects.get(page, FindUsersPage.class);
+                // Prewarmed context is already on the landing page
+                if (!page.url().equals(authCache.getLandingUrl())) {
+                    findUsersPage.navigate(authCache.getLandingUrl());
+                }
+                findUsersPage.waitForFindUsersPageToLoad();
+                return findUsersPage;
+            }
+            log.info("🔐 Cached teleadmin session was rejected - logging in again");
+            authCache.invalidate();
+            openContext();
+        }
+
+        FindUsersPage findUsersPage = PageObjects.get(page, LogInPage.class)
+                .open()
+                .logInToTeleadmin();
+        findUsersPage.waitForFindUsersPageToLoad();
+
+        authCache.save(context, page.url());
+        return findUsersPage;
+    }
+}
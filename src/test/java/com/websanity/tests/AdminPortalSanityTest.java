@@ -1,20 +1,27 @@
 package com.websanity.tests;
 
+import com.microsoft.playwright.Page;
+import com.microsoft.playwright.TimeoutError;
 import com.websanity.AdminPortalBaseTest;
 import com.websanity.adminPortalPages.*;
 import com.websanity.enums.Country;
 import com.websanity.enums.Language;
+import com.websanity.enums.MessengerAppSetting;
 import com.websanity.enums.TimeZone;
 import com.websanity.enums.UserTypes;
 import com.websanity.models.ContactParams;
 import com.websanity.models.UserParams;
+import com.websanity.utils.AdaptiveTimeouts;
+import com.websanity.utils.CheckboxMatrix;
 import com.websanity.utils.ExcelFileGenerator;
+import com.websanity.utils.TableSnapshot;
 import com.websanity.utils.TestUsers;
 import io.qameta.allure.*;
 import lombok.extern.slf4j.Slf4j;
 import org.junit.jupiter.api.*;
 
 import java.util.List;
+import java.util.Map;
 
 /**
  * Admin Portal tests with single login session
@@ -34,9 +41,9 @@ public class AdminPortalSanityTest extends AdminPortalBaseTest {
     private ArchiveManagementPage archiveManagement;
     private MessengerAppSettingsPage messengerAppSettingsPage;
     private MessageSettingsPage messageSettingsPage;
-    private static List<UserParams> usersForUpload;
-    private static String lffFileName;
-    private static String dffFileName;
+    private List<UserParams> usersForUpload;
+    private String lffFileName;
+    private String dffFileName;
 
     private static final String randnum = String.format("%07d", System.currentTimeMillis() % 10000000);
 
@@ -53,7 +60,7 @@ public class AdminPortalSanityTest extends AdminPortalBaseTest {
             .build();
 
     @BeforeAll
-    public static void setupBeforeAll() {
+    public void setupBeforeAll() {
         log.info("Setting up Admin Portal Bulk Actions tests - performing login");
 
         // Generate Excel files
@@ -61,10 +68,8 @@ public class AdminPortalSanityTest extends AdminPortalBaseTest {
         lffFileName = ExcelFileGenerator.generateExcelFileForBulkUpload(usersForUpload);
         dffFileName = ExcelFileGenerator.generateExcelFileForDFF(usersForUpload);
 
-        LogInPage loginPage = new LogInPage(page);
-
-        // Perform automatic login with MFA
-        menuPage = loginPage.loginToAdminPortalWithAutoUser()
+        // Perform automatic login with MFA (reuses verified session from the vault if still valid)
+        menuPage = loginToAdminPortal()
                 .closePopUpsAfterLogin();
 
         log.info("Login completed successfully");
@@ -81,13 +86,7 @@ public class AdminPortalSanityTest extends AdminPortalBaseTest {
 
         userManagementPage = menuPage.clickUserManagement()
                 .clickAddUser()
-                .selectServiceLevel(userParams.getUserType())
-                .fillFirstName(userParams.getFirstName())
-                .fillLastName(userParams.getLastName())
-                .fillMobilePhone(userParams.getMobileCountryCode(), userParams.getMobileArea() + userParams.getMobilePhone())
-                .fillEmail(userParams.getEmail())
-                .fillUsername(userParams.getUsername())
-                .fillPassword(userParams.getPassword())
+                .fillAll(userParams)
                 .clickSaveBtnAndWaitSummaryPopUp();
 
         log.info("Check Summary Pop Up");
@@ -178,17 +177,15 @@ public class AdminPortalSanityTest extends AdminPortalBaseTest {
         Assertions.assertEquals("Your message has been sent.\n" +
                 "Click here to view message delivery progress.", composeMessagePage.getSuccessMsgText(), "Text of the success message is not correct");
 
-        page.waitForTimeout(20000); // Wait for 20 seconds to ensure message appears in Sent Items
-
-        sentItemsPage = menuPage.clickSentItems()
-                .waitForMessagesListToLoad();
+        sentItemsPage = openSentItemsWhenDelivered(subject);
 
         log.info("Verify Sent Items for a sent message");
-        Assertions.assertEquals("Text", sentItemsPage.getFirstMessageType(), "Message type is not correct");
-        Assertions.assertEquals("Message delivered successfully - Click for detailed delivery information", sentItemsPage.getFirstMessageStatus(), "Status of the message is not correct");
-        Assertions.assertTrue(sentItemsPage.getFirstMessageRecipient().contains(to), "Recipient of the message is not correct. Actual: " + sentItemsPage.getFirstMessageRecipient());
-        Assertions.assertEquals(subject, sentItemsPage.getFirstMessageText(), "Text of the message is not correct");
-        Assertions.assertNotNull(sentItemsPage.getFirstMessageDate(), "Sent date of the message should not be null or empty");
+        TableSnapshot.Row firstMessage = sentItemsPage.getMessagesSnapshot().row(0);
+        Assertions.assertEquals("Text", firstMessage.imageAlt(1), "Message type is not correct");
+        Assertions.assertEquals("Message delivered successfully - Click for detailed delivery information", firstMessage.imageAlt(3), "Status of the message is not correct");
+        Assertions.assertTrue(firstMessage.cell(4).contains(to), "Recipient of the message is not correct. Actual: " + firstMessage.cell(4));
+        Assertions.assertEquals(subject, firstMessage.cell(5), "Text of the message is not correct");
+        Assertions.assertNotNull(firstMessage.cell(7), "Sent date of the message should not be null or empty");
 
         sentItemsPage.clickFirstMessage()
                 .waitForMessageDetailsToLoad();
@@ -250,19 +247,7 @@ public class AdminPortalSanityTest extends AdminPortalBaseTest {
         myContactsPage = menuPage.clickMyContacts()
                 .clickNewBtn()
                 .clickNewContact()
-                .fillFirstName(contactParams.getFirstName())
-                .fillLastName(contactParams.getLastName())
-                .fillJobTitle(contactParams.getJobTitle())
-                .selectMobileCountry(contactParams.getMobileCountry())
-                .fillMobileTelephone(contactParams.getMobileTelephone())
-                .selectHomeCountry(contactParams.getHomeCountry())
-                .fillHomeTelephone(contactParams.getHomeTelephone())
-                .selectBusinessCountry(contactParams.getBusinessCountry())
-                .fillBusinessTelephone(contactParams.getBusinessTelephone())
-                .fillBusinessExt(contactParams.getBusinessExt())
-                .fillCommunicationEmail(contactParams.getCommunicationEmail())
-                .fillCompany(contactParams.getCompany())
-                .fillDepartment(contactParams.getDepartment())
+                .fillAll(contactParams)
                 .clickSaveBtn();
 
         log.info("Verify success message after creating contact");
@@ -274,23 +259,25 @@ public class AdminPortalSanityTest extends AdminPortalBaseTest {
                 .fillSearchInp(contactParams.getFirstName())
                 .clickSearchBtn();
 
-        // Verify contact data in table
-        Assertions.assertEquals(contactParams.getFirstName() + " " + contactParams.getLastName(), myContactsPage.getFirstContactName(), "Contact name in table should match");
-        Assertions.assertEquals(contactParams.getDepartment(), myContactsPage.getFirstContactDepartment(), "Department in table should match");
-        Assertions.assertEquals(contactParams.getCommunicationEmail(), myContactsPage.getFirstContactEmail(), "Email in table should match");
+        // Verify contact data in table (phone cells: mobile, home, business, fax)
+        TableSnapshot.Row contactRow = myContactsPage.getContactsSnapshot().row(0);
+        List<String> contactPhones = contactRow.cellsWithClass("phoneCell");
+        Assertions.assertEquals(contactParams.getFirstName() + " " + contactParams.getLastName(), contactRow.cellWithClass("contactsName"), "Contact name in table should match");
+        Assertions.assertEquals(contactParams.getDepartment(), contactRow.cellWithClass("department"), "Department in table should match");
+        Assertions.assertEquals(contactParams.getCommunicationEmail(), contactRow.cellWithClass("emailCell"), "Email in table should match");
 
         // Verify mobile phone (format: CountryCode-Area-Number)
         String expectedMobile = contactParams.getMobileCountry().getDialingCode().substring(1) +
                 "-" + contactParams.getMobileTelephone().substring(0, 2) +
                 "-" + contactParams.getMobileTelephone().substring(2);
-        Assertions.assertEquals(expectedMobile, myContactsPage.getFirstContactMobile(),
+        Assertions.assertEquals(expectedMobile, contactPhones.get(0),
                 "Mobile phone in table should match");
 
         // Verify home phone
         String expectedHome = contactParams.getHomeCountry().getDialingCode().substring(1) +
                 "-" + contactParams.getHomeTelephone().substring(0, 3) +
                 "-" + contactParams.getHomeTelephone().substring(3);
-        Assertions.assertEquals(expectedHome, myContactsPage.getFirstContactHome(),
+        Assertions.assertEquals(expectedHome, contactPhones.get(1),
                 "Home phone in table should match");
 
         // Verify business phone with extension
@@ -298,7 +285,7 @@ public class AdminPortalSanityTest extends AdminPortalBaseTest {
                 "-" + contactParams.getBusinessTelephone().substring(0, 3) +
                 "-" + contactParams.getBusinessTelephone().substring(3) +
                 " Ext. " + contactParams.getBusinessExt();
-        Assertions.assertEquals(expectedBusiness, myContactsPage.getFirstContactBusiness(),
+        Assertions.assertEquals(expectedBusiness, contactPhones.get(2),
                 "Business phone in table should match");
 
         log.info("Delete contact");
@@ -331,10 +318,11 @@ public class AdminPortalSanityTest extends AdminPortalBaseTest {
         Assertions.assertTrue(archiveManagement.verifyAllHeadersOfArchivePlansTable(), "All table headers should match expected values");
 
         log.info("Verifying first row cells contain expected data...");
-        Assertions.assertEquals("WhatsApp Phone Capture", archiveManagement.getSourceFromFirstRow(), "Source column should be 'WhatsApp Phone Capture'");
-        Assertions.assertEquals("Generic SMTP Archiver", archiveManagement.getDestinationFromFirstRow(), "Destination column should be 'Generic SMTP Archiver'");
-        Assertions.assertEquals("yanflotskysmarsh@gmail.com", archiveManagement.getEmailFromFirstRow(), "Email column should be 'yanflotskysmarsh@gmail.com'");
-        Assertions.assertEquals("0", archiveManagement.getNumberOfAssignedUsersFromFirstRow(), "Number of Assigned Users column should be '1'");
+        TableSnapshot.Row planRow = archiveManagement.getArchivePlansSnapshot().row(0);
+        Assertions.assertEquals("WhatsApp Phone Capture", planRow.cell(0), "Source column should be 'WhatsApp Phone Capture'");
+        Assertions.assertEquals("Generic SMTP Archiver", planRow.cell(1), "Destination column should be 'Generic SMTP Archiver'");
+        Assertions.assertEquals("yanflotskysmarsh@gmail.com", planRow.cell(2), "Email column should be 'yanflotskysmarsh@gmail.com'");
+        Assertions.assertEquals("0", planRow.cell(4), "Number of Assigned Users column should be '1'");
 
         log.info("Verifying Assign and Unassign buttons exist...");
         Assertions.assertTrue(archiveManagement.verifyActionButtonsExist(), "Both Assign and Unassign buttons should exist");
@@ -348,11 +336,12 @@ public class AdminPortalSanityTest extends AdminPortalBaseTest {
                 .clickSearchButton();
 
         log.info("Verifying 'Assign Users' table data'");
-        Assertions.assertEquals(userParams.getFirstName(), archiveManagement.getFirstNameFromAssignActionFirstRow(), "First Name in Assign Action table should match");
-        Assertions.assertEquals(userParams.getLastName(), archiveManagement.getLastNameFromAssignActionFirstRow(), "Last Name in Assign Action table should match");
-        Assertions.assertEquals(userParams.getUsername(), archiveManagement.getUsernameFromAssignActionFirstRow(), "Username in Assign Action table should match");
-        Assertions.assertEquals(userParams.getEmail(), archiveManagement.getEmailFromAssignActionFirstRow(), "Email in Assign Action table should match");
-        Assertions.assertEquals(userParams.getMobileCountryCode().getDialingCode().substring(1) + userParams.getMobileArea() + userParams.getMobilePhone(), archiveManagement.getMobileFromAssignActionFirstRow(), "Mobile Number in Assign Action table should match");
+        TableSnapshot.Row assignRow = archiveManagement.getAssignActionUsersSnapshot().row(0);
+        Assertions.assertEquals(userParams.getFirstName(), assignRow.cell(1), "First Name in Assign Action table should match");
+        Assertions.assertEquals(userParams.getLastName(), assignRow.cell(2), "Last Name in Assign Action table should match");
+        Assertions.assertEquals(userParams.getUsername(), assignRow.cell(3), "Username in Assign Action table should match");
+        Assertions.assertEquals(userParams.getEmail(), assignRow.cell(4), "Email in Assign Action table should match");
+        Assertions.assertEquals(userParams.getMobileCountryCode().getDialingCode().substring(1) + userParams.getMobileArea() + userParams.getMobilePhone(), assignRow.cell(5), "Mobile Number in Assign Action table should match");
 
         archiveManagement.clickAssignActionFirstRowCheckbox()
                 .clickAssignUsersButton();
@@ -380,11 +369,12 @@ public class AdminPortalSanityTest extends AdminPortalBaseTest {
                 .clickSearchButton();
 
         log.info("Verifying 'Assign Users' table data'");
-        Assertions.assertEquals(userParams.getFirstName(), archiveManagement.getFirstNameFromUnassignActionFirstRow(), "First Name in Unassign Action table should match");
-        Assertions.assertEquals(userParams.getLastName(), archiveManagement.getLastNameFromUnassignActionFirstRow(), "Last Name in Unassign Action table should match");
-        Assertions.assertEquals(userParams.getUsername(), archiveManagement.getUsernameFromUnassignActionFirstRow(), "Username in Unassign Action table should match");
-        Assertions.assertEquals(userParams.getEmail(), archiveManagement.getEmailFromUnassignActionFirstRow(), "Email in Unassign Action table should match");
-        Assertions.assertEquals(userParams.getMobileCountryCode().getDialingCode().substring(1) + userParams.getMobileArea() + userParams.getMobilePhone(), archiveManagement.getMobileFromUnassignActionFirstRow(), "Mobile Number in Unassign Action table should match");
+        TableSnapshot.Row unassignRow = archiveManagement.getUnassignActionUsersSnapshot().row(0);
+        Assertions.assertEquals(userParams.getFirstName(), unassignRow.cell(1), "First Name in Unassign Action table should match");
+        Assertions.assertEquals(userParams.getLastName(), unassignRow.cell(2), "Last Name in Unassign Action table should match");
+        Assertions.assertEquals(userParams.getUsername(), unassignRow.cell(3), "Username in Unassign Action table should match");
+        Assertions.assertEquals(userParams.getEmail(), unassignRow.cell(4), "Email in Unassign Action table should match");
+        Assertions.assertEquals(userParams.getMobileCountryCode().getDialingCode().substring(1) + userParams.getMobileArea() + userParams.getMobilePhone(), unassignRow.cell(5), "Mobile Number in Unassign Action table should match");
 
         archiveManagement.clickUnassignActionFirstRowCheckbox()
                 .clickUnassignUsersButton();
@@ -415,21 +405,17 @@ public class AdminPortalSanityTest extends AdminPortalBaseTest {
 
         log.info("Messenger App Settings - Security Options");
 
+        Map<MessengerAppSetting, Boolean> allEnabled = CheckboxMatrix.all(MessengerAppSetting.class, true);
+        Map<MessengerAppSetting, Boolean> allDisabled = CheckboxMatrix.all(MessengerAppSetting.class, false);
+
         messengerAppSettingsPage = menuPage.clickSettings()
                 .clickMessengerAppSettings()
                 .disableAllCheckboxes();
 
-        messengerAppSettingsPage
-                .clickDisableScreenCapture()
-                .clickDisableCopy()
-                .clickDisableShareMedia()
-                .clickDisableNotificationPreview()
-                .clickDisableAttachments()
-                .clickDisableLocalContacts()
-                .clickDisableNativePhoneDialer()
-                .clickDisableBackUpAndRestore()
-                .clickDisableDistributionOfNewVersions()
-                .clickSave();
+        CheckboxMatrix.Result<MessengerAppSetting> enabling = messengerAppSettingsPage.applySettings(allEnabled);
+        Assertions.assertEquals(allDisabled, enabling.before(), "All checkboxes should be unchecked before enabling them");
+        Assertions.assertEquals(allEnabled, enabling.after(), "All checkboxes should be checked after clicking them");
+        messengerAppSettingsPage.clickSave();
 
         log.info("Check success message is displayed");
         Assertions.assertTrue(messengerAppSettingsPage.isSuccessMessageVisible(), "Success message is not visible after saving Messenger App Settings");
@@ -438,28 +424,12 @@ public class AdminPortalSanityTest extends AdminPortalBaseTest {
         log.info("Reopen Messenger App Settings page and check that all checked checkboxes are enabled");
         messengerAppSettingsPage = menuPage.clickSettings().clickMessengerAppSettings();
 
-        Assertions.assertTrue(messengerAppSettingsPage.isDisableScreenCaptureChecked(), "Disable Screen Capture (Android only) is not enabled");
-        Assertions.assertTrue(messengerAppSettingsPage.isDisableCopyChecked(), "Disable Copy is not enabled");
-        Assertions.assertTrue(messengerAppSettingsPage.isDisableShareMediaChecked(), "Disable Share Media is not enabled");
-        Assertions.assertTrue(messengerAppSettingsPage.isDisableNotificationPreviewChecked(), "Disable Notification Preview is not enabled");
-        Assertions.assertTrue(messengerAppSettingsPage.isDisableAttachmentsChecked(), "Disable Attachments is not enabled");
-        Assertions.assertTrue(messengerAppSettingsPage.isDisableLocalContactsChecked(), "Disable Local Contacts is not enabled");
-        Assertions.assertTrue(messengerAppSettingsPage.isDisableNativePhoneDialerChecked(), "Disable Native Phone Dialer is not enabled");
-        Assertions.assertTrue(messengerAppSettingsPage.isDisableBackUpAndRestoreChecked(), "Disable Back Up and Restore is not enabled");
-        Assertions.assertTrue(messengerAppSettingsPage.isDisableDistributionOfNewVersionsChecked(), "Disable Distribution of New Versions is not enabled");
+        Assertions.assertEquals(allEnabled, messengerAppSettingsPage.getSettings(), "Not all security options are enabled after saving");
 
         log.info("Uncheck all checkboxes and Save");
-        messengerAppSettingsPage
-                .clickDisableScreenCapture()
-                .clickDisableCopy()
-                .clickDisableShareMedia()
-                .clickDisableNotificationPreview()
-                .clickDisableAttachments()
-                .clickDisableLocalContacts()
-                .clickDisableNativePhoneDialer()
-                .clickDisableBackUpAndRestore()
-                .clickDisableDistributionOfNewVersions()
-                .clickSave();
+        CheckboxMatrix.Result<MessengerAppSetting> disabling = messengerAppSettingsPage.applySettings(allDisabled);
+        Assertions.assertEquals(allDisabled, disabling.after(), "All checkboxes should be unchecked after clicking them");
+        messengerAppSettingsPage.clickSave();
 
         log.info("Check success message is displayed");
         Assertions.assertTrue(messengerAppSettingsPage.isSuccessMessageVisible(), "Success message is not visible after saving Messenger App Settings");
@@ -468,15 +438,7 @@ public class AdminPortalSanityTest extends AdminPortalBaseTest {
         log.info("Reopen Messenger App Settings page and check that all checked checkboxes are enabled");
         messengerAppSettingsPage = menuPage.clickSettings().clickMessengerAppSettings();
 
-        Assertions.assertFalse(messengerAppSettingsPage.isDisableScreenCaptureChecked(), "Disable Screen Capture (Android only) is still enabled");
-        Assertions.assertFalse(messengerAppSettingsPage.isDisableCopyChecked(), "Disable Copy is still enabled");
-        Assertions.assertFalse(messengerAppSettingsPage.isDisableShareMediaChecked(), "Disable Share Media is still enabled");
-        Assertions.assertFalse(messengerAppSettingsPage.isDisableNotificationPreviewChecked(), "Disable Notification Preview is still enabled");
-        Assertions.assertFalse(messengerAppSettingsPage.isDisableAttachmentsChecked(), "Disable Attachments is still enabled");
-        Assertions.assertFalse(messengerAppSettingsPage.isDisableLocalContactsChecked(), "Disable Local Contacts is still enabled");
-        Assertions.assertFalse(messengerAppSettingsPage.isDisableNativePhoneDialerChecked(), "Disable Native Phone Dialer is still enabled");
-        Assertions.assertFalse(messengerAppSettingsPage.isDisableBackUpAndRestoreChecked(), "Disable Back Up and Restore is still enabled");
-        Assertions.assertFalse(messengerAppSettingsPage.isDisableDistributionOfNewVersionsChecked(), "Disable Distribution of New Versions is still enabled");
+        Assertions.assertEquals(allDisabled, messengerAppSettingsPage.getSettings(), "Some security options are still enabled after saving");
 
         log.info("✅ Test completed successfully");
 
@@ -549,12 +511,7 @@ public class AdminPortalSanityTest extends AdminPortalBaseTest {
                 .fillSearchInp(userParams.getUsername())
                 .clickSearchBtn()
                 .clickFirstUserUsername()
-                .fillFirstName(userParamsForUpd.getFirstName())
-                .fillLastName(userParamsForUpd.getLastName())
-                .selectLanguage(userParamsForUpd.getLanguage())
-                .selectCountry(userParamsForUpd.getCountry())
-                .selectTimeZone(userParamsForUpd.getTimeZone())
-                .fillEmail(userParamsForUpd.getEmail())
+                .fillAll(userParamsForUpd)
                 .clickSaveBtn();
 
         log.info("Search for edited user and verify data in table");
@@ -571,9 +528,7 @@ public class AdminPortalSanityTest extends AdminPortalBaseTest {
                 .clickSearchBtn()
                 .clickFirstUserUsername();
 
-        Assertions.assertEquals(userParamsForUpd.getLanguage(), userManagementPage.getSelectedLanguage(), "Language selected is not correct");
-        Assertions.assertEquals(userParamsForUpd.getCountry(), userManagementPage.getSelectedCountry(), "Country selected is not correct");
-        Assertions.assertEquals(userParamsForUpd.getTimeZone(), userManagementPage.getSelectedTimeZone(), "TimeZone selected is not correct");
+        userManagementPage.getUserFormSnapshot().assertMatches(userParamsForUpd);
 
         // Update userParams with new values for next tests
         userParams.setFirstName(userParamsForUpd.getFirstName());
@@ -667,6 +622,37 @@ public class AdminPortalSanityTest extends AdminPortalBaseTest {
 
     }
 
+    /**
+     * Delivery status is updated asynchronously - reopen Sent Items until the message is delivered
+     * (deadline learned from previous deliveries, see AdaptiveTimeouts; each reopen waits for the list to load)
+     * @return Sent Items as last opened - the caller's assertions report a message that was not delivered in time
+     */
+    private SentItemsPage openSentItemsWhenDelivered(String subject) {
+        SentItemsPage[] sentItems = new SentItemsPage[1];
+        try {
+            AdaptiveTimeouts.run("admin.sentItems.delivery", 60000, timeoutMs -> page.waitForCondition(() -> {
+                sentItems[0] = menuPage.clickSentItems().waitForMessagesListToLoad();
+                if (isFirstMessageDelivered(sentItems[0], subject)) {
+                    return true;
+                }
+                log.info("Message '{}' is not delivered yet, reopening Sent Items", subject);
+                return false;
+            }, new Page.WaitForConditionOptions().setTimeout(timeoutMs)));
+        } catch (TimeoutError e) {
+            log.warn("Message '{}' was not delivered within the deadline", subject);
+        }
+        return sentItems[0];
+    }
+
+    private boolean isFirstMessageDelivered(SentItemsPage sentItems, String subject) {
+        TableSnapshot snapshot = sentItems.getMessagesSnapshot();
+        if (snapshot.isEmpty()) {
+            return false;
+        }
+        String status = snapshot.row(0).imageAlt(3);
+        return subject.equals(snapshot.row(0).cell(5)) && status != null && status.startsWith("Message delivered");
+    }
+
     private void verifyRadioButtonSelection(Runnable clickAction, java.util.function.BooleanSupplier selectionCheck, String assertionMessage) {
 
         messageSettingsPage.waitForSuccessMsgNotVisible();
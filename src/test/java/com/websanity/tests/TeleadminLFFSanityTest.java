@@ -1,6 +1,7 @@
 package com.websanity.tests;
 
-import com.websanity.BaseTest;
+import com.websanity.PageObjects;
+import com.websanity.TeleadminBaseTest;
 import com.websanity.enums.*;
 import com.websanity.models.UserParams;
 import com.websanity.teleadminPages.*;
@@ -21,33 +22,28 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 @TestInstance(TestInstance.Lifecycle.PER_CLASS)
 @Epic("TeleAdmin LFF Tests")
 @Feature("LFF (Load From File) functionality")
-public class TeleadminLFFSanityTest extends BaseTest {
-
-    private static LogInPage logInPage;
-    private static MenuPage menuPage;
-    private static FindUsersPage findUsersPage;
-    private static LFFPage lffPage;
-    private static UFFPage uffPage;
-    private static DFFPage dffPage;
-    private static UserParams manager;
-    private static List<UserParams> usersForLff;
-    private static List<UserParams> userParamsForUff;
-    private static String lffFileName;
-    private static String dffFileName;
-    private static String uffFileName;
+public class TeleadminLFFSanityTest extends TeleadminBaseTest {
+
+    private MenuPage menuPage;
+    private FindUsersPage findUsersPage;
+    private LFFPage lffPage;
+    private UFFPage uffPage;
+    private DFFPage dffPage;
+    private UserParams manager;
+    private List<UserParams> usersForLff;
+    private List<UserParams> userParamsForUff;
+    private String lffFileName;
+    private String dffFileName;
+    private String uffFileName;
 
     @BeforeAll
-    static void setUpAll() {
+    void setUpAll() {
         log.info("🔧 Setting up Teleadmin LFF session - performing login once for all tests...");
 
         log.info("=========================================================================");
         log.info("🔧 GENERAL SERVER CACHE BUG https://smarsh.atlassian.net/browse/SST-36674");
         log.info("=========================================================================");
 
-        // Initialize page objects
-        logInPage = new LogInPage(page);
-        menuPage = new MenuPage(page);
-
         // Get LFF Manager from TestUsers class
         manager = TestUsers.getLffTeleadminManager();
 
@@ -59,11 +55,11 @@ public class TeleadminLFFSanityTest extends BaseTest {
         dffFileName = ExcelFileGenerator.generateExcelFileForDFF(usersForLff);
         uffFileName = ExcelFileGenerator.generateExcelFileForUFF(usersForLff, userParamsForUff);
 
-        // Login once for all tests
-        logInPage
-                .open()
-                .logInToTeleadmin()
-                .waitForFindUsersPageToLoad();
+        // Login once for all tests (reuses cached session if still valid)
+        findUsersPage = loginToTeleadmin();
+
+        // Initialize page objects (after login - context may have been recreated)
+        menuPage = PageObjects.get(page, MenuPage.class);
 
 
         log.info("✅ Login completed successfully, session will be kept open for all tests");
@@ -71,7 +67,7 @@ public class TeleadminLFFSanityTest extends BaseTest {
     }
 
     @AfterAll
-    static void tearDownAll() {
+    void tearDownAll() {
         log.info("🧹 Closing Teleadmin LFF session after all tests...");
     }
 
@@ -86,9 +82,6 @@ public class TeleadminLFFSanityTest extends BaseTest {
             log.debug("Closed extra tab, remaining tabs: {}", page.context().pages().size());
         }
 
-        // Just wait a bit for any animations to finish
-        page.waitForTimeout(500);
-
         log.debug("✅ Cleanup complete - ready for next test");
         log.info("▶️ Starting test: {}", testInfo.getDisplayName());
     }
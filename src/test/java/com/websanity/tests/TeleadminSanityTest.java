@@ -1,14 +1,23 @@
 package com.websanity.tests;
 
-import com.websanity.BaseTest;
+import com.microsoft.playwright.Page;
+import com.websanity.PageObjects;
+import com.websanity.TeleadminBaseTest;
 import com.websanity.enums.*;
 import com.websanity.models.UserParams;
 import com.websanity.teleadminPages.*;
 import com.websanity.utils.APIs;
+import com.websanity.utils.CheckboxMatrix;
+import com.websanity.utils.ParallelPages;
+import com.websanity.utils.TableSnapshot;
 import io.qameta.allure.*;
 import lombok.extern.slf4j.Slf4j;
 import org.junit.jupiter.api.*;
 
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -18,34 +27,30 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 @TestInstance(TestInstance.Lifecycle.PER_CLASS)
 @Epic("TeleAdmin Sanity Tests")
 @Feature("Account Settings/Applicatoin Settings functionality")
-public class TeleadminSanityTest extends BaseTest {
+public class TeleadminSanityTest extends TeleadminBaseTest {
 
-    private static LogInPage logInPage;
-    private static MenuPage menuPage;
-    private static FindUsersPage findUsersPage;
-    private static UpdateUserPage updateUserPage;
-    private static SignUpPage signUpPage;
-    private static CompanyArchiveManagementPage companyArchivePage;
-    private static ApplicationsSettingPage applicationsSettingPage;
-    private static AdminsPortalSettingsPage adminsPortalPage;
+    private MenuPage menuPage;
+    private FindUsersPage findUsersPage;
+    private UpdateUserPage updateUserPage;
+    private SignUpPage signUpPage;
+    private CompanyArchiveManagementPage companyArchivePage;
+    private ApplicationsSettingPage applicationsSettingPage;
+    private AdminsPortalSettingsPage adminsPortalPage;
+    private ParallelPages.Batch signatureBranches;
 
-    private static UserParams user;
+    private UserParams user;
 
     @BeforeAll
-    static void setUpAll() {
+    void setUpAll() {
         log.info("🔧 Setting up Teleadmin session - performing login once for all tests...");
 
-        // Initialize page objects
-        logInPage = new LogInPage(page);
-        menuPage = new MenuPage(page);
-        findUsersPage = new FindUsersPage(page);
-        updateUserPage = new UpdateUserPage(page);
-        signUpPage = new SignUpPage(page);
+        // Login once for all tests (reuses cached session if still valid)
+        findUsersPage = loginToTeleadmin();
 
-        // Login once for all tests
-        logInPage.open()
-                .logInToTeleadmin()
-                .waitForFindUsersPageToLoad();
+        // Initialize page objects (after login - context may have been recreated)
+        menuPage = PageObjects.get(page, MenuPage.class);
+        updateUserPage = PageObjects.get(page, UpdateUserPage.class);
+        signUpPage = PageObjects.get(page, SignUpPage.class);
 
         log.info("✅ Login completed successfully, session will be kept open for all tests");
 
@@ -75,7 +80,7 @@ public class TeleadminSanityTest extends BaseTest {
     }
 
     @AfterAll
-    static void tearDownAll() {
+    void tearDownAll() {
         log.info("🧹 Closing Teleadmin session after all tests...");
     }
 
@@ -90,9 +95,6 @@ public class TeleadminSanityTest extends BaseTest {
             log.debug("Closed extra tab, remaining tabs: {}", page.context().pages().size());
         }
 
-        // Just wait a bit for any animations to finish
-        page.waitForTimeout(500);
-
         log.debug("✅ Cleanup complete - ready for next test");
     }
 
@@ -196,15 +198,7 @@ public class TeleadminSanityTest extends BaseTest {
                 "Update success message text should match");
 
         log.info("Verifying all updated field values");
-        assertEquals(paramsToUpdate.getFirstName(), updateUserPage.getFirstName(), "First name should match updated value");
-        assertEquals(paramsToUpdate.getLastName(), updateUserPage.getLastName(), "Last name should match updated value");
-        assertEquals(paramsToUpdate.getEmail(), updateUserPage.getEmail(), "Email should match updated value");
-        assertEquals(paramsToUpdate.getCountry().getCode(), updateUserPage.getSelectedCountryCode(), "Country should match updated value");
-        assertEquals(paramsToUpdate.getTimeZone().getValue(), updateUserPage.getSelectedTimeZone(), "Time zone should match updated value");
-        assertEquals(paramsToUpdate.getLanguage().getValue(), updateUserPage.getSelectedLanguage(), "Language should match updated value");
-        assertEquals(paramsToUpdate.getMobileCountryCode().getCode(), updateUserPage.getSelectedMobileCountryCode(), "Mobile country code should match updated value");
-        assertEquals(paramsToUpdate.getMobileArea(), updateUserPage.getMobileArea(), "Mobile area should match updated value");
-        assertEquals(paramsToUpdate.getMobilePhone(), updateUserPage.getMobile(), "Mobile phone should match updated value");
+        updateUserPage.getAccountInformationSnapshot().assertMatches(paramsToUpdate);
 
         user = user.toBuilder()
                 .firstName(paramsToUpdate.getFirstName())
@@ -230,7 +224,6 @@ public class TeleadminSanityTest extends BaseTest {
     void suspendAndActivateUser() {
 
         log.info("Starting test: Suspend and Activate user");
-        page.waitForTimeout(2000);
 
         String username = user.getUsername();
 
@@ -606,20 +599,22 @@ public class TeleadminSanityTest extends BaseTest {
                 .fillSourceDescription(sourceDescription)
                 .clickAddSourceButton();
 
+        TableSnapshot.Row sourceRow = companyArchivePage.getSourcePoliciesSnapshot().row(0);
+
         log.info("Verifying Source Type in the first row");
-        assertEquals("WHATSAPP_ARCHIVER", companyArchivePage.getFirstRowCellText(1),
+        assertEquals("WHATSAPP_ARCHIVER", sourceRow.cell(1),
                 "Source Type should be WHATSAPP_ARCHIVER");
 
         log.info("Verifying Network Type in the first row");
-        assertEquals("WHATSAPP_ARCHIVER", companyArchivePage.getFirstRowCellText(2),
+        assertEquals("WHATSAPP_ARCHIVER", sourceRow.cell(2),
                 "Network Type should be WHATSAPP_ARCHIVER");
 
         log.info("Verifying Description in the first row");
-        assertEquals(sourceDescription, companyArchivePage.getFirstRowCellText(3),
+        assertEquals(sourceDescription, sourceRow.cell(3),
                 "Description should match the entered description");
 
         // Get and store Source Policy ID
-        String sourcePolicyId = companyArchivePage.getFirstRowCellText(0);
+        String sourcePolicyId = sourceRow.cell(0);
         log.info("Source Policy ID: " + sourcePolicyId);
 
         //Create Policy
@@ -639,15 +634,17 @@ public class TeleadminSanityTest extends BaseTest {
         log.info("Verifying that policy was added to the policies table");
         assertTrue(companyArchivePage.isPoliciesTableVisible(), "Policies table should be visible");
 
+        TableSnapshot.Row policyRow = companyArchivePage.getPoliciesSnapshot().row(0);
+
         log.info("Verifying Storage Type in the first policy row");
-        String expectedStorageText = companyArchivePage.getFirstPolicyRowCellText(1);
+        String expectedStorageText = policyRow.cell(1);
         assertTrue(expectedStorageText.contains("GENERIC SMTP ARCHIVER"), "Storage Type should contain GENERIC SMTP ARCHIVER");
 
         log.info("Verifying Description in the first policy row");
-        assertEquals(storageDescription, companyArchivePage.getFirstPolicyRowCellText(2), "Description should match the entered storage description");
+        assertEquals(storageDescription, policyRow.cell(2), "Description should match the entered storage description");
 
         // Get and store Storage Policy ID
-        String storagePolicyId = companyArchivePage.getFirstPolicyRowCellText(0);
+        String storagePolicyId = policyRow.cell(0);
         log.info("Storage Policy ID: " + storagePolicyId);
 
         //Create Plan
@@ -662,21 +659,23 @@ public class TeleadminSanityTest extends BaseTest {
         log.info("Verifying that plan was added to the plans table");
         assertTrue(companyArchivePage.isPlansTableVisible(), "Plans table should be visible");
 
+        TableSnapshot.Row planRow = companyArchivePage.getPlansSnapshot().row(0);
+
         log.info("Verifying Description in the first plan row");
-        String actualPlanDescription = companyArchivePage.getFirstPlanRowCellText(1);
+        String actualPlanDescription = planRow.cell(1);
         assertTrue(actualPlanDescription.contains(planDescription), "Plan description should contain: " + planDescription);
 
         log.info("Verifying Source Policy in the first plan row");
-        assertEquals(sourcePolicyId, companyArchivePage.getFirstPlanRowCellText(2), "Source Policy should match the selected source policy ID");
+        assertEquals(sourcePolicyId, planRow.cell(2), "Source Policy should match the selected source policy ID");
 
         log.info("Verifying Archive Storage in the first plan row");
-        assertEquals("GENERIC_SMTP", companyArchivePage.getFirstPlanRowCellText(3), "Archive Storage should be GENERIC_SMTP");
+        assertEquals("GENERIC_SMTP", planRow.cell(3), "Archive Storage should be GENERIC_SMTP");
 
         log.info("Verifying Policy ID in the first plan row");
-        assertEquals(storagePolicyId, companyArchivePage.getFirstPlanRowCellText(4), "Policy ID should match the selected storage policy ID");
+        assertEquals(storagePolicyId, planRow.cell(4), "Policy ID should match the selected storage policy ID");
 
         // Get and log Plan ID
-        String planId = companyArchivePage.getFirstPlanRowCellText(0);
+        String planId = planRow.cell(0);
         log.info("Plan ID: " + planId);
 
         // Assign user to the plan
@@ -717,29 +716,23 @@ public class TeleadminSanityTest extends BaseTest {
                 .clickCompanyAdminPortalSettingsButton();
 
         log.info("Verifying All checkboxes are NOT selected");
-        assertFalse(adminsPortalPage.isAllItemsCheckboxSelected(), "All Items checkbox should NOT be selected");
-        assertFalse(adminsPortalPage.isComposeCheckboxSelected(), "Compose checkbox should NOT be selected");
-        assertFalse(adminsPortalPage.isOutboxCheckboxSelected(), "Outbox checkbox should NOT be selected");
-        assertFalse(adminsPortalPage.isSentItemsCheckboxSelected(), "Sent Items checkbox should NOT be selected");
-        assertFalse(adminsPortalPage.isInboxCheckboxSelected(), "Inbox checkbox should NOT be selected");
-        assertFalse(adminsPortalPage.isAllSettingsCheckboxSelected(), "All Settings checkbox should NOT be selected");
-        assertFalse(adminsPortalPage.isMessengerAppSettingsCheckboxSelected(), "Messenger App Settings checkbox should NOT be selected");
-        assertFalse(adminsPortalPage.isAdvancedSettingsCheckboxSelected(), "Advanced Settings checkbox should NOT be selected");
-        assertFalse(adminsPortalPage.isMessageSettingsCheckboxSelected(), "Message Settings checkbox should NOT be selected");
-        assertTrue(adminsPortalPage.isArchiveManagementCheckboxSelected(), "Archive Management checkbox SHOULD be selected");
-        assertFalse(adminsPortalPage.isDisplayMyContactsCheckboxSelected(), "Display My Contacts checkbox should NOT be selected");
-        assertFalse(adminsPortalPage.isDisplayGlobalContactsCheckboxSelected(), "Display Global Contacts checkbox should NOT be selected");
-        assertFalse(adminsPortalPage.isDisplayMessageQueryCheckboxSelected(), "Display Message Query checkbox should NOT be selected");
-
-        // Click on checkboxes to enable them
+        Map<AdminsPortalSetting, Boolean> defaults = CheckboxMatrix.all(AdminsPortalSetting.class, false);
+        defaults.put(AdminsPortalSetting.ARCHIVE_MANAGEMENT, true);
+        assertEquals(defaults, adminsPortalPage.getSettings(), "Only Archive Management checkbox SHOULD be selected");
+
+        // Click on checkboxes to enable them - "All Items" and "All Settings" select their items
         log.info("Clicking on checkboxes to enable them");
-        adminsPortalPage.clickAllItemsCheckbox()
-                .clickInboxCheckbox()
-                .clickAllSettingsCheckbox()
-                .clickDisplayMyContactsCheckbox()
-                .clickDisplayGlobalContactsCheckbox()
-                .clickDisplayMessageQueryCheckbox()
-                .clickSaveAdminPortalSettingsBtn();
+        Map<AdminsPortalSetting, Boolean> toClick = new EnumMap<>(AdminsPortalSetting.class);
+        for (AdminsPortalSetting setting : List.of(AdminsPortalSetting.ALL_ITEMS, AdminsPortalSetting.INBOX,
+                AdminsPortalSetting.ALL_SETTINGS, AdminsPortalSetting.DISPLAY_MY_CONTACTS,
+                AdminsPortalSetting.DISPLAY_GLOBAL_CONTACTS, AdminsPortalSetting.DISPLAY_MESSAGE_QUERY)) {
+            toClick.put(setting, true);
+        }
+        Map<AdminsPortalSetting, Boolean> allSelected = CheckboxMatrix.all(AdminsPortalSetting.class, true);
+        CheckboxMatrix.Result<AdminsPortalSetting> result = adminsPortalPage.applySettings(toClick);
+        assertEquals(defaults, result.before(), "Checkbox states before clicking should be the defaults");
+        assertEquals(allSelected, result.after(), "All checkboxes SHOULD be selected after clicking");
+        adminsPortalPage.clickSaveAdminPortalSettingsBtn();
 
         log.info("Verifying admin portal success message is visible");
         assertTrue(adminsPortalPage.isAdminPortalAlertSuccessVisible(), "Admin portal success message should be visible");
@@ -752,19 +745,7 @@ public class TeleadminSanityTest extends BaseTest {
         adminsPortalPage.refreshPage();
 
         log.info("Verifying All checkboxes ARE now selected");
-        assertTrue(adminsPortalPage.isAllItemsCheckboxSelected(), "All Items checkbox SHOULD be selected");
-        assertTrue(adminsPortalPage.isComposeCheckboxSelected(), "Compose checkbox SHOULD be selected");
-        assertTrue(adminsPortalPage.isOutboxCheckboxSelected(), "Outbox checkbox SHOULD be selected");
-        assertTrue(adminsPortalPage.isSentItemsCheckboxSelected(), "Sent Items checkbox SHOULD be selected");
-        assertTrue(adminsPortalPage.isInboxCheckboxSelected(), "Inbox checkbox SHOULD be selected");
-        assertTrue(adminsPortalPage.isAllSettingsCheckboxSelected(), "All Settings checkbox SHOULD be selected");
-        assertTrue(adminsPortalPage.isMessengerAppSettingsCheckboxSelected(), "Messenger App Settings checkbox SHOULD be selected");
-        assertTrue(adminsPortalPage.isAdvancedSettingsCheckboxSelected(), "Advanced Settings checkbox SHOULD be selected");
-        assertTrue(adminsPortalPage.isMessageSettingsCheckboxSelected(), "Message Settings checkbox SHOULD be selected");
-        assertTrue(adminsPortalPage.isArchiveManagementCheckboxSelected(), "Archive Management checkbox SHOULD be selected");
-        assertTrue(adminsPortalPage.isDisplayMyContactsCheckboxSelected(), "Display My Contacts checkbox SHOULD be selected");
-        assertTrue(adminsPortalPage.isDisplayGlobalContactsCheckboxSelected(), "Display Global Contacts checkbox SHOULD be selected");
-        assertTrue(adminsPortalPage.isDisplayMessageQueryCheckboxSelected(), "Display Message Query checkbox SHOULD be selected");
+        assertEquals(allSelected, adminsPortalPage.getSettings(), "All checkboxes SHOULD be selected after saving");
 
         log.info("✅ Test completed successfully");
 
@@ -779,40 +760,7 @@ public class TeleadminSanityTest extends BaseTest {
 
         log.info("Starting test: WPC Settings - Signature - User Level");
 
-        String username = user.getUsername();
-        SignatureType signatureType = SignatureType.FIRST_MESSAGE_THREAD;
-        SignatureTextInheritance signatureTextInheritance = SignatureTextInheritance.MANUAL;
-        String signatureText = "Auto signature text";
-
-        applicationsSettingPage = menuPage.clickFindUsersButton()
-                .searchUserByUsername(username)
-                .checkThatUserWasFoundAndClickOnHim(username, updateUserPage)
-                .clickWhatsAppPhoneCaptureSettingsButton()
-                .clickSignatureButton()
-                .searchSignatureUsers(username)
-                .selectSignatureType(signatureType)
-                .selectSignatureTextInheritance(signatureTextInheritance)
-                .fillSignatureText(signatureText)
-                .clickApplySignatureButton()
-                .clickConfirmActionButton()
-                .waitForSignatureSuccessAlert();
-
-        log.info("Verifying signature success alert is visible");
-        assertTrue(applicationsSettingPage.isSignatureSuccessAlertVisible(), "Signature success alert should be visible after confirming action");
-
-        log.info("Re-opening signature popup to verify saved values");
-        applicationsSettingPage
-                .clickSignatureButton()
-                .searchSignatureUsers(username);
-
-        log.info("Verifying signature type is selected: {}", signatureType.getDisplayName());
-        assertTrue(applicationsSettingPage.isSignatureTypeSelected(signatureType), "Signature type should be " + signatureType.getDisplayName());
-
-        log.info("Verifying signature text inheritance is selected: {}", signatureTextInheritance.getDisplayName());
-        assertTrue(applicationsSettingPage.isSignatureTextInheritanceSelected(signatureTextInheritance), "Signature text inheritance should be " + signatureTextInheritance.getDisplayName());
-
-        log.info("Verifying signature text content");
-        assertEquals(signatureText, applicationsSettingPage.getSignatureText(), "Signature text should match the previously entered text");
+        awaitSignatureBranch("WhatsApp");
 
         log.info("✅ Test completed successfully");
 
@@ -827,40 +775,7 @@ public class TeleadminSanityTest extends BaseTest {
 
         log.info("Starting test: Telegram Settings - Signature - User Level");
 
-        String username = user.getUsername();
-        SignatureType signatureType = SignatureType.FIRST_MESSAGE_THREAD;
-        SignatureTextInheritance signatureTextInheritance = SignatureTextInheritance.MANUAL;
-        String signatureText = "Auto signature text";
-
-        applicationsSettingPage = menuPage.clickFindUsersButton()
-                .searchUserByUsername(username)
-                .checkThatUserWasFoundAndClickOnHim(username, updateUserPage)
-                .clickTelegramCaptureSettingsButton()
-                .clickSignatureButton()
-                .searchSignatureUsers(username)
-                .selectSignatureType(signatureType)
-                .selectSignatureTextInheritance(signatureTextInheritance)
-                .fillSignatureText(signatureText)
-                .clickApplySignatureButton()
-                .clickConfirmActionButton()
-                .waitForSignatureSuccessAlert();
-
-        log.info("Verifying signature success alert is visible");
-        assertTrue(applicationsSettingPage.isSignatureSuccessAlertVisible(), "Signature success alert should be visible after confirming action");
-
-        log.info("Re-opening signature popup to verify saved values");
-        applicationsSettingPage
-                .clickSignatureButton()
-                .searchSignatureUsers(username);
-
-        log.info("Verifying signature type is selected: {}", signatureType.getDisplayName());
-        assertTrue(applicationsSettingPage.isSignatureTypeSelected(signatureType), "Signature type should be " + signatureType.getDisplayName());
-
-        log.info("Verifying signature text inheritance is selected: {}", signatureTextInheritance.getDisplayName());
-        assertTrue(applicationsSettingPage.isSignatureTextInheritanceSelected(signatureTextInheritance), "Signature text inheritance should be " + signatureTextInheritance.getDisplayName());
-
-        log.info("Verifying signature text content");
-        assertEquals(signatureText, applicationsSettingPage.getSignatureText(), "Signature text should match the previously entered text");
+        awaitSignatureBranch("Telegram");
 
         log.info("✅ Test completed successfully");
 
@@ -875,15 +790,49 @@ public class TeleadminSanityTest extends BaseTest {
 
         log.info("Starting test: Signal Settings - Signature - User Level");
 
-        String username = user.getUsername();
+        awaitSignatureBranch("Signal");
+
+        log.info("✅ Test completed successfully");
+
+    }
+
+    /**
+     * Wait for the signature branch of the WhatsApp/Telegram/Signal test
+     * The three settings are independent, so the first of these tests starts all three branches, each on its own
+     * page of the logged-in session (see ParallelPages); every test then reports its own branch
+     */
+    private void awaitSignatureBranch(String name) {
+        if (signatureBranches == null) {
+            String username = user.getUsername();
+            signatureBranches = startInParallelPages(
+                    new ParallelPages.Branch("WhatsApp", branchPage -> verifySignatureUserLevel(
+                            openUpdateUserPage(branchPage, username).clickWhatsAppPhoneCaptureSettingsButton(), username)),
+                    new ParallelPages.Branch("Telegram", branchPage -> verifySignatureUserLevel(
+                            openUpdateUserPage(branchPage, username).clickTelegramCaptureSettingsButton(), username)),
+                    new ParallelPages.Branch("Signal", branchPage -> verifySignatureUserLevel(
+                            openUpdateUserPage(branchPage, username).clickSignalCaptureSettingsButton(), username)));
+        }
+        signatureBranches.await(name);
+    }
+
+    /**
+     * Find the user and open the Update User page on the given page
+     */
+    private UpdateUserPage openUpdateUserPage(Page branchPage, String username) {
+        return PageObjects.get(branchPage, MenuPage.class).clickFindUsersButton()
+                .searchUserByUsername(username)
+                .checkThatUserWasFoundAndClickOnHim(username, PageObjects.get(branchPage, UpdateUserPage.class));
+    }
+
+    /**
+     * Apply user level signature in the opened application settings and verify the saved values
+     */
+    private void verifySignatureUserLevel(ApplicationsSettingPage settingsPage, String username) {
         SignatureType signatureType = SignatureType.FIRST_MESSAGE_THREAD;
         SignatureTextInheritance signatureTextInheritance = SignatureTextInheritance.MANUAL;
         String signatureText = "Auto signature text";
 
-        applicationsSettingPage = menuPage.clickFindUsersButton()
-                .searchUserByUsername(username)
-                .checkThatUserWasFoundAndClickOnHim(username, updateUserPage)
-                .clickSignalCaptureSettingsButton()
+        settingsPage
                 .clickSignatureButton()
                 .searchSignatureUsers(username)
                 .selectSignatureType(signatureType)
@@ -894,24 +843,21 @@ public class TeleadminSanityTest extends BaseTest {
                 .waitForSignatureSuccessAlert();
 
         log.info("Verifying signature success alert is visible");
-        assertTrue(applicationsSettingPage.isSignatureSuccessAlertVisible(), "Signature success alert should be visible after confirming action");
+        assertTrue(settingsPage.isSignatureSuccessAlertVisible(), "Signature success alert should be visible after confirming action");
 
         log.info("Re-opening signature popup to verify saved values");
-        applicationsSettingPage
+        settingsPage
                 .clickSignatureButton()
                 .searchSignatureUsers(username);
 
         log.info("Verifying signature type is selected: {}", signatureType.getDisplayName());
-        assertTrue(applicationsSettingPage.isSignatureTypeSelected(signatureType), "Signature type should be " + signatureType.getDisplayName());
+        assertTrue(settingsPage.isSignatureTypeSelected(signatureType), "Signature type should be " + signatureType.getDisplayName());
 
         log.info("Verifying signature text inheritance is selected: {}", signatureTextInheritance.getDisplayName());
-        assertTrue(applicationsSettingPage.isSignatureTextInheritanceSelected(signatureTextInheritance), "Signature text inheritance should be " + signatureTextInheritance.getDisplayName());
+        assertTrue(settingsPage.isSignatureTextInheritanceSelected(signatureTextInheritance), "Signature text inheritance should be " + signatureTextInheritance.getDisplayName());
 
         log.info("Verifying signature text content");
-        assertEquals(signatureText, applicationsSettingPage.getSignatureText(), "Signature text should match the previously entered text");
-
-        log.info("✅ Test completed successfully");
-
+        assertEquals(signatureText, settingsPage.getSignatureText(), "Signature text should match the previously entered text");
     }
 
     @Test
@@ -991,7 +937,8 @@ public class TeleadminSanityTest extends BaseTest {
         assertTrue(applicationsSettingPage.isSignatureSuccessAlertVisible(), "Signature success alert should be visible after confirming action");
         assertTrue(applicationsSettingPage.isRcsSupportCheckboxSelected(), "RCS Support checkbox should be checked");
 
-        page.waitForTimeout(8000);
+        // The alert of the first save must be gone before waiting for the alert of the second one
+        applicationsSettingPage.waitForSignatureSuccessAlertToDisappear();
 
         log.info("Uncheck RCS Support checkbox, save settings and verify success alert");
         applicationsSettingPage
@@ -13,6 +13,11 @@ import java.nio.file.Files;
  * - isLocalRun=true  → Tests run locally (sequential)
  * - isLocalRun=false → Tests run in Docker (parallel containers)
  *
+ * Optional -Drunner.mode overrides it:
+ * - runner.mode=parallel  → Test classes run in parallel inside ONE local JVM (headless)
+ * - runner.mode=benchmark → Runs Docker fan-out and in-JVM parallel one after another
+ *                           and prints a wall-clock comparison
+ *
  * Usage: Run this class as Java Application (not as JUnit test!)
  *        Right-click → Run 'TestsRunner.main()'
  */
@@ -86,8 +91,9 @@ public class TestsRunner {
 
         // If property is not set or is "true", run locally
         boolean runLocally = isLocalRun == null || !isLocalRun.equals("false");
+        String runnerMode = System.getProperty("runner.mode", "");
 
-        System.out.println("Execution Mode: " + (runLocally ? "LOCAL" : "DOCKER"));
+        System.out.println("Execution Mode: " + (!runnerMode.isEmpty() ? runnerMode.toUpperCase() : runLocally ? "LOCAL" : "DOCKER"));
         System.out.println("───────────────────────────────────────────────────────────");
 
         // Clean previous results before running tests
@@ -96,24 +102,61 @@ public class TestsRunner {
         // Clean LFF directory before generating new files
         cleanLFFDirectory();
 
-        if (!runLocally) {
+        if (runnerMode.equals("benchmark")) {
+            runBenchmark();
+        } else if (runnerMode.equals("parallel")) {
+            System.out.println("Running test classes in parallel inside one JVM...");
+            System.out.println("Tests: " + getTestClassNames());
+            System.out.println("───────────────────────────────────────────────────────────");
+
+            System.exit(runLocalTests(true));
+        } else if (!runLocally) {
             System.out.println("⚠ Docker mode detected!");
             System.out.println("Test classes will run in parallel Docker containers.");
             System.out.println("Make sure Docker Desktop is running.");
             System.out.println("───────────────────────────────────────────────────────────");
 
             // Run Docker Compose
-            runDockerTests();
+            System.exit(runDockerTests());
         } else {
             System.out.println("Running tests locally...");
             System.out.println("Tests: " + getTestClassNames());
             System.out.println("───────────────────────────────────────────────────────────");
 
             // Run tests locally via Maven
-            runLocalTests();
+            System.exit(runLocalTests(false));
         }
     }
 
+    /**
+     * Runs the suite twice - once as Docker container fan-out (one container per class)
+     * and once with JUnit parallel classes in a single headless JVM - and compares wall-clock time.
+     */
+    private static void runBenchmark() {
+        System.out.println("Benchmark: Docker container fan-out vs. parallel classes in one JVM");
+        System.out.println("───────────────────────────────────────────────────────────");
+
+        long start = System.currentTimeMillis();
+        int dockerExitCode = runDockerTests();
+        long dockerMs = System.currentTimeMillis() - start;
+
+        cleanLFFDirectory();
+
+        start = System.currentTimeMillis();
+        int parallelExitCode = runLocalTests(true);
+        long parallelMs = System.currentTimeMillis() - start;
+
+        System.out.println("═══════════════════════════════════════════════════════════");
+        System.out.println("   Benchmark results (" + TEST_CLASSES.length + " test classes)");
+        System.out.println("═══════════════════════════════════════════════════════════");
+        System.out.printf("  Docker fan-out  : %6.1f s (exit code %d)%n", dockerMs / 1000.0, dockerExitCode);
+        System.out.printf("  Parallel 1 JVM  : %6.1f s (exit code %d)%n", parallelMs / 1000.0, parallelExitCode);
+        System.out.printf("  Difference      : %+6.1f s%n", (parallelMs - dockerMs) / 1000.0);
+        System.out.println("═══════════════════════════════════════════════════════════");
+
+        System.exit(dockerExitCode != 0 || parallelExitCode != 0 ? 1 : 0);
+    }
+
     /**
      * Finds Maven command in the system.
      * Tries multiple locations:
@@ -187,7 +230,12 @@ public class TestsRunner {
         return null;
     }
 
-    private static void runLocalTests() {
+    /**
+     * Runs tests locally via Maven
+     * @param parallel run test classes concurrently inside one headless JVM
+     * @return Maven exit code
+     */
+    private static int runLocalTests(boolean parallel) {
         try {
             System.out.println("Starting local test execution...");
 
@@ -195,9 +243,15 @@ public class TestsRunner {
             String mvnCommand = findMavenCommand();
             System.out.println("Using Maven: " + mvnCommand);
 
-            ProcessBuilder pb = new ProcessBuilder(mvnCommand, "test",
-                "-Dtest=" + getTestClassNames(),
-                "-DisLocalRun=true");
+            ProcessBuilder pb = parallel
+                ? new ProcessBuilder(mvnCommand, "test",
+                    "-Dtest=" + getTestClassNames(),
+                    "-DisLocalRun=false", // headless, same browser setup as in Docker
+                    "-Djunit.jupiter.execution.parallel.enabled=true",
+                    "-Djunit.jupiter.execution.parallel.config.fixed.parallelism=" + TEST_CLASSES.length)
+                : new ProcessBuilder(mvnCommand, "test",
+                    "-Dtest=" + getTestClassNames(),
+                    "-DisLocalRun=true");
             pb.redirectErrorStream(true);
 
             Process process = pb.start();
@@ -216,16 +270,20 @@ public class TestsRunner {
             System.out.println("Local execution completed with exit code: " + exitCode);
             System.out.println("═══════════════════════════════════════════════════════════");
 
-            System.exit(exitCode);
+            return exitCode;
 
         } catch (IOException | InterruptedException e) {
             System.err.println("Error running local tests: " + e.getMessage());
             e.printStackTrace();
-            System.exit(1);
+            return 1;
         }
     }
 
-    private static void runDockerTests() {
+    /**
+     * Runs tests in parallel Docker containers (one container per test class)
+     * @return 0 if all containers succeeded, 1 otherwise
+     */
+    private static int runDockerTests() {
         try {
             System.out.println("Starting Docker containers...");
             System.out.println("Both containers will run until completion...");
@@ -266,14 +324,14 @@ public class TestsRunner {
             System.out.println("mvn allure:serve");
             System.out.println("═══════════════════════════════════════════════════════════");
 
-            // Exit the JVM with the actual test result status
-            System.exit(finalExitCode);
+            // Return the actual test result status
+            return finalExitCode;
 
         } catch (IOException | InterruptedException e) {
             System.err.println("Error running Docker tests: " + e.getMessage());
             System.err.println("Make sure Docker Desktop is running!");
             e.printStackTrace();
-            System.exit(1);
+            return 1;
         }
     }
 
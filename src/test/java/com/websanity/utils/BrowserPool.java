@@ -0,0 +1,244 @@
+package com.websanity.utils;
+
+import com.microsoft.playwright.Browser;
+import com.microsoft.playwright.BrowserType;
+import com.microsoft.playwright.Playwright;
+import com.microsoft.playwright.PlaywrightException;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Pool of launched Chromium browsers shared by all BaseTest subclasses.
+ *
+ * Playwright objects are not thread-safe, so every worker thread owns its own pool
+ * (own Playwright driver + browsers). In the default sequential run there is a single
+ * worker, i.e. the driver and Chromium are started once per JVM (lazily, on first acquire).
+ * With JUnit parallel class execution each worker thread reuses its own browser
+ * for all test classes it executes. Every test class only gets a fresh BrowserContext.
+ * All pools are closed by BrowserPoolSessionListener when the JUnit launcher session ends.
+ *
+ * Configuration (system properties):
+ * - browser.pool.size   - maximum number of browsers kept in each worker's pool (default: 1)
+ * - browser.ws.endpoint - WebSocket endpoint of a Playwright browser server (run-server / launchServer);
+ *                         when set, browsers are connected to instead of launched in this JVM
+ *
+ * Before a browser is handed out it is health-checked; a crashed or disconnected
+ * browser is closed and replaced by a freshly launched one.
+ */
+@Slf4j
+public class BrowserPool {
+
+    private static final int POOL_SIZE = Math.max(1, Integer.getInteger("browser.pool.size", 1));
+    private static final String WS_ENDPOINT = System.getProperty("browser.ws.endpoint", "").trim();
+
+    private static final ThreadLocal<BrowserPool> POOLS = ThreadLocal.withInitial(BrowserPool::new);
+    private static final Queue<BrowserPool> ALL_POOLS = new ConcurrentLinkedQueue<>();
+
+    private final String workerName = Thread.currentThread().getName();
+
+    private Playwright playwright;
+    private final Deque<Browser> idleBrowsers = new ArrayDeque<>();
+    private final List<Browser> allBrowsers = new ArrayList<>();
+
+    // Startup statistics
+    private long driverStartMs;
+    private long totalLaunchMs;
+    private int launches;
+    private int reuses;
+    private int replacements;
+
+    private BrowserPool() {
+        ALL_POOLS.add(this);
+    }
+
+    /**
+     * Get the pool confined to the current worker thread (created on first use)
+     */
+    public static BrowserPool getInstance() {
+        return POOLS.get();
+    }
+
+    /**
+     * Close all worker pools and log how much startup time they saved.
+     * Called once at the end of the test run, when no test is using the browsers anymore.
+     */
+    public static void shutdown() {
+        BrowserPool pool;
+        while ((pool = ALL_POOLS.poll()) != null) {
+            pool.close();
+        }
+    }
+
+    /**
+     * Acquire a healthy browser from the pool.
+     * Launches a new browser if the pool is not full yet.
+     * The pool is confined to one worker thread, so there is nobody to wait for when it is exhausted.
+     */
+    public synchronized Browser acquire() {
+        while (true) {
+            Browser browser = idleBrowsers.pollFirst();
+            if (browser != null) {
+                if (isHealthy(browser)) {
+                    reuses++;
+                    log.info("♻️ Reusing pooled browser (reuse #{}, ~{} ms startup saved)", reuses, getStartupCostMs());
+                    return browser;
+                }
+                log.warn("⚠️ Pooled browser failed health check - replacing it");
+                discard(browser);
+                replacements++;
+                continue;
+            }
+
+            if (allBrowsers.size() < POOL_SIZE) {
+                return launch();
+            }
+
+            throw new IllegalStateException("All " + POOL_SIZE + " pooled browser(s) of worker " + workerName
+                    + " are in use - increase browser.pool.size");
+        }
+    }
+
+    /**
+     * Return a browser to the pool. All contexts created by the caller should already be closed.
+     * Browsers that are no longer healthy are discarded so the next acquire() launches a new one.
+     */
+    public synchronized void release(Browser browser) {
+        if (browser == null || !allBrowsers.contains(browser)) {
+            return;
+        }
+        if (isHealthy(browser)) {
+            idleBrowsers.addLast(browser);
+        } else {
+            log.warn("⚠️ Released browser is not healthy - discarding it");
+            discard(browser);
+            replacements++;
+        }
+    }
+
+    /**
+     * Health check: browser process must still be connected and responding
+     */
+    private boolean isHealthy(Browser browser) {
+        try {
+            return browser.isConnected() && browser.version() != null;
+        } catch (PlaywrightException e) {
+            log.debug("Browser health check failed: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    private Browser launch() {
+        if (playwright == null) {
+            long start = System.currentTimeMillis();
+            playwright = Playwright.create();
+            driverStartMs = System.currentTimeMillis() - start;
+            log.info("🚀 Playwright driver started in {} ms [{}]", driverStartMs, workerName);
+        }
+
+        long start = System.currentTimeMillis();
+        Browser browser = launchOrConnect(playwright);
+        long launchMs = System.currentTimeMillis() - start;
+
+        launches++;
+        totalLaunchMs += launchMs;
+        allBrowsers.add(browser);
+
+        log.info("🚀 Chromium {} in {} ms (pool: {}/{})", WS_ENDPOINT.isEmpty() ? "launched" : "connected at " + WS_ENDPOINT,
+                launchMs, allBrowsers.size(), POOL_SIZE);
+        return browser;
+    }
+
+    private void discard(Browser browser) {
+        allBrowsers.remove(browser);
+        try {
+            browser.close();
+        } catch (PlaywrightException e) {
+            log.debug("Ignoring error while closing broken browser: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Average cost of a cold start (driver + Chromium launch) that each reuse avoids
+     */
+    private long getStartupCostMs() {
+        return launches == 0 ? 0 : driverStartMs + totalLaunchMs / launches;
+    }
+
+    private synchronized void close() {
+        long savedMs = reuses * getStartupCostMs();
+
+        for (Browser browser : allBrowsers) {
+            try {
+                browser.close();
+            } catch (PlaywrightException e) {
+                log.debug("Ignoring error while closing browser: {}", e.getMessage());
+            }
+        }
+        allBrowsers.clear();
+        idleBrowsers.clear();
+
+        if (playwright != null) {
+            playwright.close();
+            playwright = null;
+        }
+
+        log.info("═══════════════════════════════════════════════════════════");
+        log.info("Browser pool [{}] closed: {} launch(es), {} reuse(s), {} replacement(s)", workerName, launches, reuses, replacements);
+        log.info("Startup time saved by pooling: ~{} ms", savedMs);
+        log.info("═══════════════════════════════════════════════════════════");
+    }
+
+    /**
+     * Launch Chromium, or connect to the browser server when browser.ws.endpoint is set
+     * (also used by ContextPrewarmer for its own runtimes)
+     */
+    static Browser launchOrConnect(Playwright playwright) {
+        return WS_ENDPOINT.isEmpty()
+                ? playwright.chromium().launch(createLaunchOptions())
+                : playwright.chromium().connect(WS_ENDPOINT, new BrowserType.ConnectOptions().setTimeout(60000));
+    }
+
+    /**
+     * Launch options shared by all pooled browsers
+     * (headless in Docker, headed Chrome for local runs)
+     */
+    private static BrowserType.LaunchOptions createLaunchOptions() {
+        // Check if running in Docker mode (isLocalRun=false means Docker)
+        String isLocalRun = System.getProperty("isLocalRun", "true");
+        boolean headless = isLocalRun.equals("false"); // Docker = headless, Local = headed
+
+        System.out.println("Browser headless mode: " + headless + " (isLocalRun=" + isLocalRun + ")");
+
+        BrowserType.LaunchOptions launchOptions = new BrowserType.LaunchOptions()
+                .setHeadless(headless)
+                .setSlowMo(headless ? 0 : 50); // No slowMo in Docker
+
+        // Add args to disable automation detection and for Docker stability
+        // Keep the headless args in sync with docker/browser-server.json (remote browser server)
+        List<String> args = new ArrayList<>();
+        args.add("--disable-blink-features=AutomationControlled"); // Mask automation
+        args.add("--disable-dev-shm-usage");      // Overcome limited resource problems
+        args.add("--no-sandbox");                  // Required for Docker
+        args.add("--disable-setuid-sandbox");      // Additional sandbox disable
+        args.add("--disable-web-security");        // Allow cross-origin requests
+        args.add("--disable-features=IsolateOrigins,site-per-process"); // Disable isolation
+
+        if (headless) {
+            args.add("--disable-gpu");                 // Disable GPU hardware acceleration
+            args.add("--disable-software-rasterizer"); // Prevent software rendering crashes
+            args.add("--disable-features=VizDisplayCompositor"); // Stability fix
+            launchOptions.setChannel("chromium"); // Use regular chromium channel
+        } else {
+            launchOptions.setChannel("chrome"); // Use installed Chrome for local runs
+        }
+
+        launchOptions.setArgs(args);
+        return launchOptions;
+    }
+}
@@ -0,0 +1,19 @@
+package com.websanity.utils;
+
+import org.junit.platform.launcher.LauncherSession;
+import org.junit.platform.launcher.LauncherSessionListener;
+
+/**
+ * Ties the BrowserPool lifecycle to the JUnit launcher session:
+ * browsers live for the whole test run (all test classes in this JVM)
+ * and are closed once when the session ends.
+ *
+ * Registered via META-INF/services/org.junit.platform.launcher.LauncherSessionListener
+ */
+public class BrowserPoolSessionListener implements LauncherSessionListener {
+
+    @Override
+    public void launcherSessionClosed(LauncherSession session) {
+        BrowserPool.shutdown();
+    }
+}
@@ -0,0 +1,407 @@
+package com.websanity.utils;
+
+import com.microsoft.playwright.Browser;
+import com.microsoft.playwright.Page;
+import com.microsoft.playwright.Playwright;
+import com.microsoft.playwright.PlaywrightException;
+import com.microsoft.playwright.options.WaitUntilState;
+import com.websanity.AdminPortalBaseTest;
+import com.websanity.BaseTest;
+import com.websanity.TeleadminBaseTest;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.platform.engine.TestExecutionResult;
+import org.junit.platform.engine.support.descriptor.ClassSource;
+import org.junit.platform.launcher.TestExecutionListener;
+import org.junit.platform.launcher.TestIdentifier;
+import org.junit.platform.launcher.TestPlan;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Prepares the next test class's context in the background while the current class is running
+ *
+ * When a test class starts, a single background thread creates the context and page of the next class
+ * in the test plan (init scripts, HAR/request blocking, cached session restored) and navigates it to
+ * teleadmin.url / admin.portal.url (or the landing URL of a cached session). BaseTest.launchBrowser()
+ * takes it, so the next class starts hot. The cached session is compared by content when the class takes
+ * the context: if it was saved, replaced or invalidated after the prewarm started (typically by the previous
+ * class's login), a new context with the current session is created on the prewarmed runtime.
+ *
+ * Playwright objects are not thread-safe, so prewarming never touches the BrowserPool of the test thread:
+ * it uses its own Playwright runtimes (driver + browser), handed over to the test thread together with the
+ * context and returned by BaseTest.closeBrowser(). Every runtime is a Chromium instance on top of the
+ * BrowserPool browser: by default at most 2 exist (one used by the running class, one prewarming). Only one
+ * context is prewarmed at a time, and a prewarmed context that is not claimed by its class (class skipped,
+ * filtered or failed before @BeforeAll) is closed.
+ * Disabled for JUnit parallel execution - every worker already overlaps its setup with the other workers.
+ *
+ * Configuration (system properties):
+ * - context.prewarm                 - enable prewarming (default: true)
+ * - context.prewarm.timeout.seconds - how long a class waits for its unfinished prewarm (default: 60)
+ * - context.prewarm.runtimes        - max. prewarm runtimes (default: 2; 1 prewarms only while the running
+ *                                     class uses the pool browser, 0 disables prewarming)
+ *
+ * Registered via META-INF/services/org.junit.platform.launcher.TestExecutionListener
+ */
+@Slf4j
+public class ContextPrewarmer implements TestExecutionListener {
+
+    private static final int MAX_RUNTIMES = Integer.getInteger("context.prewarm.runtimes", 2);
+    private static final boolean ENABLED = Boolean.parseBoolean(System.getProperty("context.prewarm", "true")) && MAX_RUNTIMES > 0;
+    private static final long TIMEOUT_SECONDS = Long.getLong("context.prewarm.timeout.seconds", 60);
+
+    private static final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "context-prewarm");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // All fields below are guarded by lock
+    private static final Object lock = new Object();
+    private static final Deque<Prewarmed> idleRuntimes = new ArrayDeque<>();
+    private static final Map<Class<?>, Prewarm> pending = new HashMap<>();
+    private static List<Class<?>> classOrder = List.of();
+    private static int runtimeCount;
+    private static boolean active;
+
+    /**
+     * Context and page prepared for a test class, on a Playwright runtime owned by whoever holds this object
+     * @param storageState storage state JSON the context was created with, or null for a clean context
+     */
+    public record Prewarmed(Playwright playwright, Browser browser, Page page, String storageState) {
+    }
+
+    /**
+     * Prewarm of one test class (result is set by the prewarm thread)
+     */
+    private static class Prewarm {
+        private final Class<?> testClass;
+        private Future<?> future;
+        private Prewarmed result;
+        private boolean discarded;
+
+        private Prewarm(Class<?> testClass) {
+            this.testClass = testClass;
+        }
+    }
+
+    /**
+     * Context and page where the test class should start from
+     */
+    private record StartState(Browser.NewContextOptions options, String url, String storageState) {
+    }
+
+    @Override
+    public void testPlanExecutionStarted(TestPlan testPlan) {
+        boolean parallel = testPlan.getConfigurationParameters()
+                .getBoolean("junit.jupiter.execution.parallel.enabled").orElse(false);
+
+        List<Class<?>> classes = new ArrayList<>();
+        for (TestIdentifier root : testPlan.getRoots()) {
+            for (TestIdentifier identifier : testPlan.getDescendants(root)) {
+                getTestClass(identifier).filter(testClass -> !classes.contains(testClass)).ifPresent(classes::add);
+            }
+        }
+
+        synchronized (lock) {
+            classOrder = classes;
+            active = ENABLED && !parallel && classes.size() > 1;
+        }
+        if (ENABLED && parallel) {
+            log.info("🔥 Context prewarming disabled for parallel execution");
+        }
+    }
+
+    @Override
+    public void executionStarted(TestIdentifier testIdentifier) {
+        getTestClass(testIdentifier).ifPresent(testClass -> {
+            synchronized (lock) {
+                if (!active) {
+                    return;
+                }
+                // Prewarms for other classes will never be used now
+                pending.values().removeIf(prewarm -> {
+                    if (prewarm.testClass != testClass) {
+                        discard(prewarm);
+                        return true;
+                    }
+                    return false;
+                });
+
+                int index = classOrder.indexOf(testClass);
+                if (index >= 0 && index + 1 < classOrder.size()) {
+                    Class<?> nextClass = classOrder.get(index + 1);
+                    Prewarm prewarm = new Prewarm(nextClass);
+                    prewarm.future = executor.submit(() -> warmUp(prewarm));
+                    pending.put(nextClass, prewarm);
+                }
+            }
+        });
+    }
+
+    @Override
+    public void executionFinished(TestIdentifier testIdentifier, TestExecutionResult testExecutionResult) {
+        getTestClass(testIdentifier).ifPresent(testClass -> {
+            synchronized (lock) {
+                Prewarm unused = pending.remove(testClass);
+                if (unused != null) {
+                    discard(unused);
+                }
+            }
+        });
+    }
+
+    @Override
+    public void testPlanExecutionFinished(TestPlan testPlan) {
+        List<Prewarmed> runtimesToClose;
+        synchronized (lock) {
+            active = false;
+            pending.values().forEach(ContextPrewarmer::discard);
+            pending.clear();
+            runtimesToClose = new ArrayList<>(idleRuntimes);
+            idleRuntimes.clear();
+            runtimeCount -= runtimesToClose.size();
+        }
+        runtimesToClose.forEach(ContextPrewarmer::closeRuntime);
+    }
+
+    /**
+     * Take the context prewarmed for the test class (waits if it is still being prepared)
+     * @return prewarmed context or null if there is none - the class then creates its own
+     */
+    public static Prewarmed take(Class<?> testClass) {
+        Prewarm prewarm;
+        synchronized (lock) {
+            prewarm = pending.remove(testClass);
+        }
+        if (prewarm == null) {
+            return null;
+        }
+
+        try {
+            prewarm.future.get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (TimeoutException e) {
+            log.warn("⚠️ Prewarmed context for {} not ready within {} s - creating a new one", testClass.getSimpleName(), TIMEOUT_SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            log.warn("⚠️ Prewarming {} failed: {}", testClass.getSimpleName(), e.getMessage());
+        }
+
+        Prewarmed prewarmed;
+        synchronized (lock) {
+            prewarmed = prewarm.result;
+            if (prewarmed == null) {
+                discard(prewarm);
+                return null;
+            }
+            prewarm.result = null;
+        }
+        prewarmed = withCurrentState(testClass, prewarmed);
+        if (prewarmed == null) {
+            return null;
+        }
+        log.info("🔥 {} starts with a prewarmed context ({})", testClass.getSimpleName(), prewarmed.page().url());
+        return prewarmed;
+    }
+
+    /**
+     * Prewarmed context with the session cached now
+     * The start state is read when the previous class starts, before that class has logged in (again) and
+     * saved its session. If the cached session changed since - saved, replaced or invalidated, compared by
+     * content since the cache file keeps its path - the prewarmed context would be replaced by the class
+     * anyway: recreate it with the current state on the prewarmed runtime instead (the runtime is the slow part).
+     * @return context to start from, or null if it could not be recreated (the runtime is released)
+     */
+    private static Prewarmed withCurrentState(Class<?> testClass, Prewarmed prewarmed) {
+        StartState startState = getStartState(testClass);
+        if (Objects.equals(startState.storageState(), prewarmed.storageState())) {
+            return prewarmed;
+        }
+        log.info("🔥 Session changed after {} was prewarmed - recreating its context in the prewarmed runtime", testClass.getSimpleName());
+        closeContext(prewarmed);
+        try {
+            Page page = openStartPage(prewarmed.browser(), testClass, startState);
+            return new Prewarmed(prewarmed.playwright(), prewarmed.browser(), page, startState.storageState());
+        } catch (PlaywrightException e) {
+            // The class then creates its own context
+            log.warn("⚠️ Could not restore session in prewarmed context for {}: {}", testClass.getSimpleName(), e.getMessage());
+            release(prewarmed);
+            return null;
+        }
+    }
+
+    /**
+     * Return the runtime of a taken context after the test class closed the context
+     */
+    public static void release(Prewarmed prewarmed) {
+        boolean keep;
+        synchronized (lock) {
+            keep = active && isConnected(prewarmed.browser());
+            if (keep) {
+                idleRuntimes.add(prewarmed);
+            } else {
+                runtimeCount--;
+            }
+        }
+        if (!keep) {
+            closeRuntime(prewarmed);
+        }
+    }
+
+    /**
+     * Runs on the prewarm thread
+     */
+    private static void warmUp(Prewarm prewarm) {
+        Prewarmed runtime;
+        synchronized (lock) {
+            if (prewarm.discarded) {
+                return;
+            }
+            runtime = idleRuntimes.poll();
+            if (runtime == null) {
+                if (runtimeCount >= MAX_RUNTIMES) {
+                    log.info("🔥 Prewarm runtime limit ({}) reached - {} starts cold", MAX_RUNTIMES, prewarm.testClass.getSimpleName());
+                    return;
+                }
+                runtimeCount++;
+            }
+        }
+
+        long start = System.currentTimeMillis();
+        Prewarmed prewarmed = null;
+        try {
+            if (runtime == null) {
+                Playwright playwright = Playwright.create();
+                try {
+                    runtime = new Prewarmed(playwright, BrowserPool.launchOrConnect(playwright), null, null);
+                } catch (PlaywrightException e) {
+                    playwright.close();
+                    throw e;
+                }
+            }
+
+            StartState startState = getStartState(prewarm.testClass);
+            Page page = openStartPage(runtime.browser(), prewarm.testClass, startState);
+            prewarmed = new Prewarmed(runtime.playwright(), runtime.browser(), page, startState.storageState());
+
+            synchronized (lock) {
+                if (!prewarm.discarded) {
+                    prewarm.result = prewarmed;
+                    log.info("🔥 Prewarmed context for {} in {} ms", prewarm.testClass.getSimpleName(), System.currentTimeMillis() - start);
+                    return;
+                }
+            }
+        } catch (PlaywrightException e) {
+            log.warn("⚠️ Could not prewarm context for {}: {}", prewarm.testClass.getSimpleName(), e.getMessage());
+        }
+
+        // Discarded while prewarming, or prewarming failed
+        if (prewarmed != null) {
+            closeContext(prewarmed);
+            release(prewarmed);
+        } else if (runtime != null) {
+            release(runtime);
+        } else {
+            synchronized (lock) {
+                runtimeCount--;
+            }
+        }
+    }
+
+    /**
+     * Drop a prewarm that will not be used (caller holds lock)
+     * A prewarm that is still running closes its context itself when it finishes
+     */
+    private static void discard(Prewarm prewarm) {
+        prewarm.discarded = true;
+        prewarm.future.cancel(false);
+        if (prewarm.result != null) {
+            log.info("🔥 Prewarmed context for {} was not used - closing it", prewarm.testClass.getSimpleName());
+            closeContext(prewarm.result);
+            release(prewarm.result);
+            prewarm.result = null;
+        }
+    }
+
+    private static Page openStartPage(Browser browser, Class<?> testClass, StartState startState) {
+        Page page = BaseTest.newPage(browser, testClass, startState.options());
+        if (startState.url() != null) {
+            try {
+                page.navigate(startState.url(), new Page.NavigateOptions()
+                        .setWaitUntil(WaitUntilState.DOMCONTENTLOADED)
+                        .setTimeout(60000));
+            } catch (PlaywrightException e) {
+                page.context().close();
+                throw e;
+            }
+        }
+        return page;
+    }
+
+    private static StartState getStartState(Class<?> testClass) {
+        if (TeleadminBaseTest.class.isAssignableFrom(testClass)) {
+            AuthStateCache authCache = AuthStateCache.forTeleadmin();
+            // Content, not the path - the class compares it with the cache file when it restores the session
+            String cachedState = authCache.getValidState();
+            if (cachedState != null) {
+                return new StartState(new Browser.NewContextOptions().setStorageState(cachedState), authCache.getLandingUrl(), cachedState);
+            }
+            return new StartState(new Browser.NewContextOptions(), System.getProperty("teleadmin.url"), null);
+        }
+        if (AdminPortalBaseTest.class.isAssignableFrom(testClass)) {
+            AuthStateCache sessionVault = AuthStateCache.forAdminPortal();
+            String cachedState = sessionVault.getValidState();
+            if (cachedState != null) {
+                return new StartState(new Browser.NewContextOptions().setStorageState(cachedState), sessionVault.getLandingUrl(), cachedState);
+            }
+            return new StartState(new Browser.NewContextOptions(), System.getProperty("admin.portal.url"), null);
+        }
+        return new StartState(new Browser.NewContextOptions(), null, null);
+    }
+
+    private static Optional<Class<?>> getTestClass(TestIdentifier testIdentifier) {
+        return testIdentifier.getSource()
+                .filter(ClassSource.class::isInstance)
+                .<Class<?>>map(source -> ((ClassSource) source).getJavaClass())
+                .filter(BaseTest.class::isAssignableFrom);
+    }
+
+    private static boolean isConnected(Browser browser) {
+        try {
+            return browser.isConnected();
+        } catch (PlaywrightException e) {
+            return false;
+        }
+    }
+
+    private static void closeContext(Prewarmed prewarmed) {
+        try {
+            prewarmed.page().context().close();
+        } catch (PlaywrightException e) {
+            log.debug("Ignoring error while closing prewarmed context: {}", e.getMessage());
+        }
+    }
+
+    private static void closeRuntime(Prewarmed runtime) {
+        try {
+            runtime.browser().close();
+            runtime.playwright().close();
+        } catch (PlaywrightException e) {
+            log.debug("Ignoring error while closing prewarm runtime: {}", e.getMessage());
+        }
+    }
+}
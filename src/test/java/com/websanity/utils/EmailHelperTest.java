@@ -0,0 +1,100 @@
+package com.websanity.utils;
+
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.GreenMailUtil;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import javax.mail.Folder;
+import javax.mail.MessagingException;
+import javax.mail.Session;
+import javax.mail.Store;
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * EmailHelper.deleteAllEmails against a local GreenMail IMAP server (the non-Gmail STORE + EXPUNGE path)
+ */
+class EmailHelperTest {
+
+    private static final String ADDRESS = "mfa@localhost";
+    private static final String PASSWORD = "secret";
+
+    @RegisterExtension
+    static final GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP_IMAP);
+
+    @BeforeAll
+    static void pointPoolAtGreenMail() {
+        System.setProperty("imap.host", "localhost");
+        System.setProperty("imap.port", String.valueOf(ServerSetupTest.IMAP.getPort()));
+        System.setProperty("imap.ssl", "false");
+    }
+
+    @AfterAll
+    static void restorePool() {
+        System.clearProperty("imap.host");
+        System.clearProperty("imap.port");
+        System.clearProperty("imap.ssl");
+    }
+
+    @BeforeEach
+    void createUser() {
+        // The pool logs in with the email address
+        greenMail.setUser(ADDRESS, ADDRESS, PASSWORD);
+    }
+
+    @AfterEach
+    void closePool() {
+        // GreenMail is restarted for every test - drop the connection to the old server
+        ImapStorePool.closeAll();
+    }
+
+    @Test
+    void deletesAllEmails() throws Exception {
+        int count = 5;
+        for (int i = 1; i <= count; i++) {
+            GreenMailUtil.sendTextEmail(ADDRESS, "sender@localhost", "Message " + i, "Body " + i, ServerSetupTest.SMTP);
+        }
+        greenMail.waitForIncomingEmail(5000, count);
+        assertEquals(count, inboxMessageCount());
+
+        int deleted = EmailHelper.deleteAllEmails(ADDRESS, PASSWORD);
+
+        assertEquals(count, deleted);
+        assertEquals(0, inboxMessageCount());
+    }
+
+    @Test
+    void emptyInboxDeletesNothing() throws Exception {
+        assertEquals(0, EmailHelper.deleteAllEmails(ADDRESS, PASSWORD));
+        assertEquals(0, inboxMessageCount());
+    }
+
+    /**
+     * Message count read over a connection of its own, not the pooled store
+     */
+    private static int inboxMessageCount() throws MessagingException {
+        Properties props = new Properties();
+        props.put("mail.imap.host", "localhost");
+        props.put("mail.imap.port", String.valueOf(ServerSetupTest.IMAP.getPort()));
+        Store store = Session.getInstance(props).getStore("imap");
+        store.connect(ADDRESS, PASSWORD);
+        try {
+            Folder inbox = store.getFolder("INBOX");
+            inbox.open(Folder.READ_ONLY);
+            try {
+                return inbox.getMessageCount();
+            } finally {
+                inbox.close(false);
+            }
+        } finally {
+            store.close();
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package com.websanity.utils;
+
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.GreenMailUtil;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import javax.mail.Folder;
+import javax.mail.Message;
+import javax.mail.MessagingException;
+import javax.mail.Session;
+import javax.mail.Store;
+import javax.mail.UIDFolder;
+import java.util.Properties;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * MailWaiter against a local GreenMail IMAP server (no Gmail account needed)
+ */
+class MailWaiterTest {
+
+    private static final String ADDRESS = "mfa@localhost";
+    private static final String USER = "mfa";
+    private static final String PASSWORD = "secret";
+
+    @RegisterExtension
+    static final GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP_IMAP);
+
+    private final ScheduledExecutorService sender = Executors.newSingleThreadScheduledExecutor();
+    private Store store;
+    private Folder inbox;
+
+    @BeforeEach
+    void openInbox() throws MessagingException {
+        greenMail.setUser(ADDRESS, USER, PASSWORD);
+        Properties props = new Properties();
+        props.put("mail.imap.host", "localhost");
+        props.put("mail.imap.port", String.valueOf(ServerSetupTest.IMAP.getPort()));
+        store = Session.getInstance(props).getStore("imap");
+        store.connect(USER, PASSWORD);
+        inbox = store.getFolder("INBOX");
+        inbox.open(Folder.READ_ONLY);
+    }
+
+    @AfterEach
+    void closeInbox() throws MessagingException {
+        sender.shutdownNow();
+        if (inbox.isOpen()) {
+            inbox.close(false);
+        }
+        store.close();
+    }
+
+    @Test
+    void returnsAsSoonAsMessageArrives() throws Exception {
+        sendLater("Your verification code", "Your code is 123456", 1000);
+
+        long start = System.currentTimeMillis();
+        String subject = MailWaiter.await(inbox, 0, 20000, MailWaiterTest::firstSubject);
+
+        assertEquals("Your verification code", subject);
+        assertTrue(System.currentTimeMillis() - start < 10000, "Waited for the timeout instead of the message");
+    }
+
+    @Test
+    void fallsBackToPolling() throws Exception {
+        sendLater("Your verification code", "Your code is 123456", 500);
+
+        String subject = MailWaiter.await(inbox, 0, 20000, MailWaiterTest::firstSubject, MailWaiter.Mode.POLLING);
+
+        assertEquals("Your verification code", subject);
+    }
+
+    @Test
+    void findsMessageAlreadyInFolder() throws Exception {
+        // Delivered before the inbox is opened, so no listener ever reports it as a new message
+        inbox.close(false);
+        GreenMailUtil.sendTextEmail(ADDRESS, "noreply@localhost", "Login code", "654321", ServerSetupTest.SMTP);
+        assertTrue(greenMail.waitForIncomingEmail(5000, 1));
+        inbox.open(Folder.READ_ONLY);
+
+        assertNull(MailWaiter.await(inbox, 0, 500, MailWaiterTest::firstSubject), "Message was reported as a new one");
+        String subject = MailWaiter.await(inbox, 5, 1000, MailWaiterTest::firstSubject);
+
+        assertEquals("Login code", subject);
+    }
+
+    @Test
+    void ignoresMessagesBelowUidWatermark() throws Exception {
+        GreenMailUtil.sendTextEmail(ADDRESS, "noreply@localhost", "Old login code", "111111", ServerSetupTest.SMTP);
+        assertTrue(greenMail.waitForIncomingEmail(5000, 1));
+        long uidNext = ((UIDFolder) store.getFolder("INBOX")).getUIDNext();
+        sendLater("New login code", "222222", 500);
+
+        String subject = MailWaiter.awaitAfterUid(inbox, uidNext, 20000, MailWaiterTest::firstSubject);
+
+        assertEquals("New login code", subject);
+    }
+
+    @Test
+    void skipsMessagesThatDoNotMatch() throws Exception {
+        sendLater("Newsletter", "nothing to see", 300);
+        sendLater("Your verification code", "Your code is 123456", 1500);
+
+        String subject = MailWaiter.await(inbox, 0, 20000, messages -> {
+            for (Message message : messages) {
+                if (message.getSubject().contains("code")) {
+                    return message.getSubject();
+                }
+            }
+            return null;
+        });
+
+        assertEquals("Your verification code", subject);
+    }
+
+    @Test
+    void returnsNullOnTimeout() throws Exception {
+        assertNull(MailWaiter.await(inbox, 0, 1500, MailWaiterTest::firstSubject));
+    }
+
+    private void sendLater(String subject, String body, long delayMs) {
+        sender.schedule(() -> GreenMailUtil.sendTextEmail(ADDRESS, "noreply@localhost", subject, body, ServerSetupTest.SMTP),
+                delayMs, TimeUnit.MILLISECONDS);
+    }
+
+    private static String firstSubject(Message[] messages) throws MessagingException {
+        return messages.length == 0 ? null : messages[0].getSubject();
+    }
+}
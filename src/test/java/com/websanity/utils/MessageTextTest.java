@@ -0,0 +1,116 @@
+package com.websanity.utils;
+
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.user.GreenMailUser;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import com.sun.mail.imap.IMAPMessage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import javax.activation.DataHandler;
+import javax.mail.Flags;
+import javax.mail.Folder;
+import javax.mail.MessagingException;
+import javax.mail.Session;
+import javax.mail.Store;
+import javax.mail.internet.InternetAddress;
+import javax.mail.internet.MimeBodyPart;
+import javax.mail.internet.MimeMessage;
+import javax.mail.internet.MimeMultipart;
+import javax.mail.util.ByteArrayDataSource;
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * MessageText against a local GreenMail IMAP server
+ */
+class MessageTextTest {
+
+    private static final String ADDRESS = "mfa@localhost";
+
+    @RegisterExtension
+    static final GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP_IMAP);
+
+    private GreenMailUser user;
+    private Store store;
+    private Folder inbox;
+
+    @BeforeEach
+    void setUpUser() {
+        user = greenMail.setUser(ADDRESS, "mfa", "secret");
+    }
+
+    @AfterEach
+    void closeInbox() throws MessagingException {
+        if (inbox != null && inbox.isOpen()) {
+            inbox.close(false);
+        }
+        if (store != null) {
+            store.close();
+        }
+    }
+
+    @Test
+    void readsSinglePartMessage() throws Exception {
+        user.deliver(message("Your code is 123456", null));
+
+        assertEquals("Your code is 123456", MessageText.peek(firstMessage(), 1000).trim());
+    }
+
+    @Test
+    void readsOnlyPlainTextPartAndKeepsMessageUnread() throws Exception {
+        user.deliver(message("<p>Your code is <b>123456</b></p>", "Your code is 123456"));
+
+        IMAPMessage message = firstMessage();
+        assertEquals("Your code is 123456", MessageText.peek(message, 1000).trim());
+        assertFalse(message.isSet(Flags.Flag.SEEN));
+    }
+
+    @Test
+    void fetchesAtMostMaxBytes() throws Exception {
+        user.deliver(message("Your code is 123456\n" + ("x".repeat(70) + "\n").repeat(100), null));
+
+        String text = MessageText.peek(firstMessage(), 100);
+
+        assertTrue(text.startsWith("Your code is 123456"));
+        assertEquals(100, text.length());
+    }
+
+    private MimeMessage message(String html, String plainText) throws MessagingException {
+        MimeMessage message = new MimeMessage(Session.getInstance(new Properties()));
+        message.setFrom(new InternetAddress("noreply@localhost"));
+        message.setRecipients(MimeMessage.RecipientType.TO, ADDRESS);
+        message.setSubject("Your verification code");
+        if (plainText == null) {
+            message.setText(html, "UTF-8");
+            return message;
+        }
+        MimeBodyPart htmlPart = new MimeBodyPart();
+        htmlPart.setContent(html, "text/html; charset=UTF-8");
+        MimeBodyPart plainPart = new MimeBodyPart();
+        plainPart.setText(plainText, "UTF-8");
+        MimeBodyPart text = new MimeBodyPart();
+        text.setContent(new MimeMultipart("alternative", htmlPart, plainPart));
+        MimeBodyPart attachment = new MimeBodyPart();
+        attachment.setDataHandler(new DataHandler(new ByteArrayDataSource(new byte[10000], "application/octet-stream")));
+        attachment.setFileName("report.bin");
+        message.setContent(new MimeMultipart(text, attachment));
+        return message;
+    }
+
+    private IMAPMessage firstMessage() throws MessagingException {
+        Properties props = new Properties();
+        props.put("mail.imap.host", "localhost");
+        props.put("mail.imap.port", String.valueOf(ServerSetupTest.IMAP.getPort()));
+        store = Session.getInstance(props).getStore("imap");
+        store.connect("mfa", "secret");
+        inbox = store.getFolder("INBOX");
+        inbox.open(Folder.READ_ONLY);
+        return (IMAPMessage) inbox.getMessage(1);
+    }
+}
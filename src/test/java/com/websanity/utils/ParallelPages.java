@@ -0,0 +1,211 @@
+package com.websanity.utils;
+
+import com.microsoft.playwright.Browser;
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.Page;
+import com.microsoft.playwright.PlaywrightException;
+import com.microsoft.playwright.options.WaitUntilState;
+import com.websanity.BaseTest;
+import io.qameta.allure.Allure;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.ByteArrayInputStream;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Runs independent steps of one test class ("branches") concurrently, each on its own Page
+ *
+ * Every branch gets a context created from the storage state (session cookies) of the test's logged-in
+ * context, opened on the test page's current URL. Playwright objects are not thread-safe, so branches can't
+ * share the test's Playwright connection: every branch thread uses its own BrowserPool (driver + browser),
+ * started on the thread's first branch and reused by all later ones, like the pools of the JUnit workers.
+ * They are closed with the other pools when the test run ends (BrowserPoolSessionListener). Each branch
+ * thread therefore keeps one more Node driver and Chromium (a few hundred MB each) resident once it ran a
+ * branch - lower parallel.pages.threads or set parallel.pages=false on small machines.
+ *
+ * Branches are started together (start()) and awaited one by one (Batch.await()), so every branch can be
+ * reported by a test of its own: the result and a final screenshot of a branch are attached to the Allure
+ * report on the thread of the test that awaits it (Allure keeps the running test per thread).
+ *
+ * Configuration (system properties):
+ * - parallel.pages         - run branches concurrently (default: true); false runs each branch on the test
+ *                            page when it is awaited
+ * - parallel.pages.threads - number of branch threads (default: 3)
+ *
+ * Branches always run one by one on the test page in HAR record/replay mode (one HAR per test class).
+ */
+@Slf4j
+public class ParallelPages {
+
+    private static final boolean ENABLED = Boolean.parseBoolean(System.getProperty("parallel.pages", "true"));
+    private static final int THREADS = Math.max(1, Integer.getInteger("parallel.pages.threads", 3));
+
+    private static final AtomicInteger threadNumber = new AtomicInteger();
+    private static final ExecutorService executor = Executors.newFixedThreadPool(THREADS, runnable -> {
+        Thread thread = new Thread(runnable, "page-branch-" + threadNumber.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Independent step of a test that runs on its own page
+     */
+    public record Branch(String name, Consumer<Page> steps) {
+    }
+
+    private record BranchResult(String name, long durationMs, Throwable error, byte[] screenshot) {
+    }
+
+    private ParallelPages() {
+    }
+
+    /**
+     * Start branches on separate pages of the logged-in session
+     *
+     * @param testClass test class (context configuration: request blocking, HAR)
+     * @param page      logged-in page of the test; branches start on its current URL
+     * @return started branches - await each of them, e.g. from the test that reports it
+     */
+    public static Batch start(Class<?> testClass, Page page, Branch... branches) {
+        boolean concurrent = ENABLED && branches.length > 1 && NetworkMode.current() == NetworkMode.LIVE;
+        return new Batch(testClass, page, branches, concurrent);
+    }
+
+    /**
+     * Branches started together; in sequential mode each branch runs when it is awaited
+     */
+    public static final class Batch {
+        private final Page page;
+        private final String startUrl;
+        private final Map<String, Branch> branches = new LinkedHashMap<>();
+        private final Map<String, Future<BranchResult>> futures = new LinkedHashMap<>();
+        private final long startMs = System.currentTimeMillis();
+
+        private Batch(Class<?> testClass, Page page, Branch[] branches, boolean concurrent) {
+            this.page = page;
+            this.startUrl = page.url();
+            for (Branch branch : branches) {
+                this.branches.put(branch.name(), branch);
+            }
+            if (concurrent) {
+                String storageState = page.context().storageState();
+                for (Branch branch : branches) {
+                    futures.put(branch.name(), executor.submit(() -> runOnOwnPage(testClass, storageState, startUrl, branch)));
+                }
+                log.info("🔀 Started {} branch(es) on {} thread(s)", branches.length, Math.min(THREADS, branches.length));
+            }
+        }
+
+        /**
+         * Wait for the branch, attach its result to the running test and fail if the branch failed
+         * @throws AssertionError if the branch failed
+         */
+        public void await(String name) {
+            Branch branch = branches.get(name);
+            if (branch == null) {
+                throw new IllegalArgumentException("No branch '" + name + "' - branches: " + branches.keySet());
+            }
+            Future<BranchResult> future = futures.get(name);
+            BranchResult result = future == null ? runOnTestPage(page, startUrl, branch) : get(name, future);
+            log.info("🔀 Branch '{}' awaited {} ms after the start of its batch", name, System.currentTimeMillis() - startMs);
+            report(result);
+        }
+
+        private static BranchResult get(String name, Future<BranchResult> future) {
+            try {
+                return future.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return new BranchResult(name, 0, e, null);
+            } catch (ExecutionException e) {
+                return new BranchResult(name, 0, e.getCause(), null);
+            }
+        }
+    }
+
+    /**
+     * Runs on a branch thread, with the browser of the thread's own pool
+     */
+    private static BranchResult runOnOwnPage(Class<?> testClass, String storageState, String startUrl, Branch branch) {
+        long start = System.currentTimeMillis();
+        BrowserPool pool = BrowserPool.getInstance();
+        Browser browser = null;
+        Page branchPage = null;
+        try {
+            browser = pool.acquire();
+            branchPage = BaseTest.newPage(browser, testClass, new Browser.NewContextOptions().setStorageState(storageState));
+            branchPage.navigate(startUrl, new Page.NavigateOptions()
+                    .setWaitUntil(WaitUntilState.DOMCONTENTLOADED)
+                    .setTimeout(60000));
+            log.info("🔀 Branch '{}' started", branch.name());
+            branch.steps().accept(branchPage);
+            return new BranchResult(branch.name(), System.currentTimeMillis() - start, null, takeScreenshot(branchPage));
+        } catch (Throwable e) {
+            return new BranchResult(branch.name(), System.currentTimeMillis() - start, e, takeScreenshot(branchPage));
+        } finally {
+            if (branchPage != null) {
+                closeContext(branchPage.context());
+            }
+            pool.release(browser);
+        }
+    }
+
+    /**
+     * Runs the branch on the test thread and page
+     */
+    private static BranchResult runOnTestPage(Page page, String startUrl, Branch branch) {
+        long start = System.currentTimeMillis();
+        try {
+            if (!page.url().equals(startUrl)) {
+                page.navigate(startUrl);
+            }
+            branch.steps().accept(page);
+            return new BranchResult(branch.name(), System.currentTimeMillis() - start, null, takeScreenshot(page));
+        } catch (Throwable e) {
+            return new BranchResult(branch.name(), System.currentTimeMillis() - start, e, takeScreenshot(page));
+        }
+    }
+
+    /**
+     * Attach the branch result to Allure and fail if the branch failed
+     */
+    private static void report(BranchResult result) {
+        String status = result.error() == null ? "PASSED" : "FAILED";
+        log.info("🔀 Branch '{}' {} in {} ms", result.name(), status, result.durationMs());
+
+        if (result.screenshot() != null) {
+            Allure.addAttachment("Branch: " + result.name() + " (" + status + ", " + result.durationMs() + " ms)",
+                    "image/png", new ByteArrayInputStream(result.screenshot()), "png");
+        }
+        if (result.error() != null) {
+            throw new AssertionError("Branch '" + result.name() + "' failed: " + result.error().getMessage(), result.error());
+        }
+    }
+
+    private static byte[] takeScreenshot(Page page) {
+        if (page == null || page.isClosed()) {
+            return null;
+        }
+        try {
+            return page.screenshot(new Page.ScreenshotOptions().setFullPage(true));
+        } catch (PlaywrightException e) {
+            log.debug("Could not take branch screenshot: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private static void closeContext(BrowserContext context) {
+        try {
+            context.close();
+        } catch (PlaywrightException e) {
+            log.debug("Ignoring error while closing branch context: {}", e.getMessage());
+        }
+    }
+}
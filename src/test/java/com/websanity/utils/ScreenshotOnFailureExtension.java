@@ -1,6 +1,7 @@
 package com.websanity.utils;
 
 import com.microsoft.playwright.Page;
+import com.websanity.BaseTest;
 import io.qameta.allure.Allure;
 import org.junit.jupiter.api.extension.ExtensionContext;
 import org.junit.jupiter.api.extension.TestWatcher;
@@ -25,22 +26,8 @@ public class ScreenshotOnFailureExtension implements TestWatcher {
         if (testInstance == null) return;
 
         try {
-            // Use reflection to get the 'page' field from BaseTest
-            // Need to traverse up the class hierarchy to find the field
-            Page page = null;
-            Class<?> currentClass = testInstance.getClass();
-
-            while (currentClass != null && page == null) {
-                try {
-                    java.lang.reflect.Field pageField = currentClass.getDeclaredField("page");
-                    pageField.setAccessible(true);
-                    page = (Page) pageField.get(testInstance);
-                    break;
-                } catch (NoSuchFieldException e) {
-                    // Field not found in this class, try parent
-                    currentClass = currentClass.getSuperclass();
-                }
-            }
+            // Page is owned by the test instance (thread-confined runtime of BaseTest)
+            Page page = testInstance instanceof BaseTest baseTest ? baseTest.getPage() : null;
 
             if (page != null && !page.isClosed()) {
                 String testName = context.getTestMethod()